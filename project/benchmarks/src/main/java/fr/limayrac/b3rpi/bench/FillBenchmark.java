@@ -0,0 +1,60 @@
+/**
+ * "FillBenchmark" class measures the fill assistant on synthetic grids of 10x10 cells and more, on the bundled
+ * and on a synthetic lexicon. Each search stops at its first complete fill or at its time budget, so the score
+ * of a grid which cannot be filled in time is the budget.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.bench;
+
+import fr.limayrac.b3rpi.util.FillEngine;
+import fr.limayrac.b3rpi.util.ModeleGrille;
+import fr.limayrac.b3rpi.util.QueryEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FillBenchmark {
+
+	private static final long BUDGET_MILLIS = 10_000;
+	private static final int INNER_DEFINITION_PERIOD = 5;
+
+	@Param({Lexicons.BUNDLED, Lexicons.SYNTHETIC})
+	public String lexicon;
+
+	@Param({"10", "15", "20", "30"})
+	public int size;
+
+	private FillEngine engine;
+	private ModeleGrille grid;
+
+	@Setup
+	public void setUp() {
+		engine = new FillEngine(new QueryEngine(Lexicons.dictionary(lexicon)));
+		grid = Grids.square(size, INNER_DEFINITION_PERIOD);
+	}
+
+	@Benchmark
+	public FillEngine.Result fill() {
+		return engine.fill(grid, BUDGET_MILLIS, 1, null);
+	}
+}
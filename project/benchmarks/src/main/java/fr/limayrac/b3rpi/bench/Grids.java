@@ -0,0 +1,63 @@
+/**
+ * "Grids" class builds the synthetic grids of the benchmarks.
+ *
+ * The grids follow the usual mots fléchés layout: definition cells on the first row and the first column, and
+ * inside the grid on a regular diagonal pattern. Every definition cell defines the word on its right and the
+ * word below it, when they have at least two letters.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.bench;
+
+import fr.limayrac.b3rpi.util.Direction;
+import fr.limayrac.b3rpi.util.ModeleGrille;
+
+/**
+ * The grids of the benchmarks.
+ */
+public final class Grids {
+
+	private Grids() {
+	}
+
+	/**
+	 * Builds a square grid.
+	 *
+	 * @param size   The number of rows and columns.
+	 * @param period The period of the inner definition cells, 0 for none.
+	 * @return The grid, without letters.
+	 */
+	public static ModeleGrille square(int size, int period) {
+		ModeleGrille grid = new ModeleGrille(size, size);
+		grid.batch(() -> {
+			for (int row = 0; row < size; row++) {
+				for (int column = 0; column < size; column++) {
+					boolean inner = period > 0 && row > 0 && column > 0 && (row + 2 * column) % period == 0;
+					if (row == 0 || column == 0 || inner) {
+						grid.setDefinition(row, column, 0, "h", null);
+						grid.setDefinition(row, column, 1, "v", null);
+					}
+				}
+			}
+			// The words are known once all the definition cells are placed
+			for (int row = 0; row < size; row++) {
+				for (int column = 0; column < size; column++) {
+					if (grid.isDefinition(row, column)) {
+						direct(grid, row, column, 0, Direction.DROITE);
+						direct(grid, row, column, 1, Direction.BAS);
+					}
+				}
+			}
+		});
+		return grid;
+	}
+
+	private static void direct(ModeleGrille grid, int row, int column, int which, Direction direction) {
+		if (grid.slotLength(row, column, direction) >= 2) {
+			grid.setDefinition(row, column, which, grid.getDefinition(row, column, which), direction);
+		}
+	}
+}
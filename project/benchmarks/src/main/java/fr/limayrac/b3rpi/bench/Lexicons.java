@@ -0,0 +1,140 @@
+/**
+ * "Lexicons" class provides the word lists the benchmarks run against: the bundled French list, and synthetic
+ * lexicons of any size.
+ *
+ * A synthetic word is a chain of syllables drawn with French-like frequencies, so that the distribution of
+ * letters by position, which drives the size of the posting lists, looks like a real dictionary's. The
+ * generator is seeded: the same size always gives the same lexicon.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.bench;
+
+import fr.limayrac.b3rpi.util.Dictionary;
+import fr.limayrac.b3rpi.util.FileUtil;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The word lists of the benchmarks.
+ */
+public final class Lexicons {
+
+	/**
+	 * Name of the bundled list, and default size of the synthetic lexicon.
+	 */
+	public static final String BUNDLED = "bundled";
+	public static final String SYNTHETIC = "synthetic";
+	public static final int SYNTHETIC_SIZE = 300_000;
+
+	static final String RESOURCE = "/fr/limayrac/b3rpi/util/liste_francais.txt";
+
+	private static final String[] ONSETS = {"", "b", "c", "ch", "d", "f", "g", "j", "l", "m", "n", "p", "qu", "r", "s",
+			"t", "v", "br", "cr", "dr", "fr", "gr", "pr", "tr", "bl", "cl", "fl", "pl", "st"};
+	private static final int[] ONSET_WEIGHTS = {6, 3, 5, 2, 5, 2, 2, 1, 6, 4, 3, 5, 1, 5, 6, 6, 2, 1, 1, 1, 1, 1, 2, 2,
+			1, 1, 1, 1, 1};
+	private static final String[] VOWELS = {"a", "e", "i", "o", "u", "é", "ai", "ou", "eu", "au", "oi", "è"};
+	private static final int[] VOWEL_WEIGHTS = {9, 10, 7, 5, 4, 4, 2, 2, 1, 1, 1, 1};
+	private static final String[] CODAS = {"", "", "", "r", "s", "n", "l", "t", "x", "m"};
+
+	private static final Map<String, List<String>> WORDS = new ConcurrentHashMap<>();
+	private static final Map<String, Dictionary> DICTIONARIES = new ConcurrentHashMap<>();
+
+	private Lexicons() {
+	}
+
+	/**
+	 * Returns the words of a lexicon, read or generated once.
+	 *
+	 * @param name {@link #BUNDLED} or {@link #SYNTHETIC}.
+	 * @return The words.
+	 */
+	public static List<String> words(String name) {
+		return WORDS.computeIfAbsent(name, key -> BUNDLED.equals(key) ? bundled() : synthetic(SYNTHETIC_SIZE, 42));
+	}
+
+	/**
+	 * Returns the dictionary of a lexicon, built once.
+	 *
+	 * @param name {@link #BUNDLED} or {@link #SYNTHETIC}.
+	 * @return The dictionary.
+	 */
+	public static Dictionary dictionary(String name) {
+		return DICTIONARIES.computeIfAbsent(name, key -> Dictionary.of(words(key)));
+	}
+
+	/**
+	 * Reads the bundled French word list.
+	 *
+	 * @return The words, as in the file.
+	 */
+	public static List<String> bundled() {
+		List<String> words = new ArrayList<>();
+		try (InputStream in = FileUtil.class.getResourceAsStream(RESOURCE);
+			 BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				words.add(line.trim());
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return words;
+	}
+
+	/**
+	 * Generates a lexicon of distinct words of 2 to 15 letters.
+	 *
+	 * @param count The number of words.
+	 * @param seed  The seed of the generator.
+	 * @return The words, in generation order.
+	 */
+	public static List<String> synthetic(int count, long seed) {
+		Random random = new Random(seed);
+		Set<String> words = new HashSet<>(count * 2);
+		List<String> list = new ArrayList<>(count);
+		StringBuilder word = new StringBuilder();
+		while (list.size() < count) {
+			word.setLength(0);
+			int syllables = 1 + random.nextInt(3) + random.nextInt(3);
+			for (int i = 0; i < syllables; i++) {
+				word.append(pick(ONSETS, ONSET_WEIGHTS, random)).append(pick(VOWELS, VOWEL_WEIGHTS, random));
+			}
+			word.append(CODAS[random.nextInt(CODAS.length)]);
+			if (word.length() >= 2 && word.length() <= 15 && words.add(word.toString())) {
+				list.add(word.toString());
+			}
+		}
+		return list;
+	}
+
+	private static String pick(String[] values, int[] weights, Random random) {
+		int total = 0;
+		for (int weight : weights) {
+			total += weight;
+		}
+		int draw = random.nextInt(total);
+		for (int i = 0; i < values.length; i++) {
+			draw -= weights[i];
+			if (draw < 0) {
+				return values[i];
+			}
+		}
+		return values[values.length - 1];
+	}
+}
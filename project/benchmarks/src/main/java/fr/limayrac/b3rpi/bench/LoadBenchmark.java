@@ -0,0 +1,86 @@
+/**
+ * "LoadBenchmark" class measures the opening of the dictionary: the whole "FileUtil" start-up, the building of
+ * the graph and the index from a word list, and the mapping of a compiled dictionary file.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.bench;
+
+import fr.limayrac.b3rpi.util.Dictionary;
+import fr.limayrac.b3rpi.util.DictionaryFile;
+import fr.limayrac.b3rpi.util.FileUtil;
+import fr.limayrac.b3rpi.util.LiveDictionary;
+import fr.limayrac.b3rpi.util.QueryEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LoadBenchmark {
+
+	private static final long[] STAMP = {1, 1};
+
+	@Param({Lexicons.BUNDLED, Lexicons.SYNTHETIC})
+	public String lexicon;
+
+	private List<String> words;
+	private Path compiled;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		words = Lexicons.words(lexicon);
+		compiled = Files.createTempFile("motsfleches", ".dict");
+		DictionaryFile.write(compiled, Dictionary.of(words), STAMP);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(compiled);
+	}
+
+	/**
+	 * The start-up of the application: the dictionary service opens the bundled dictionary, mapped or read from
+	 * the text list depending on the compiled file found. The shared service is only opened once per process, so
+	 * a dictionary of its own is opened each time.
+	 */
+	@Benchmark
+	public QueryEngine fileUtil() {
+		try (LiveDictionary dictionary = new LiveDictionary(FileUtil.class.getResource(Lexicons.RESOURCE))) {
+			return dictionary.whenReady().join();
+		}
+	}
+
+	@Benchmark
+	public Dictionary build() {
+		return Dictionary.of(words);
+	}
+
+	@Benchmark
+	public Dictionary map() throws IOException {
+		return DictionaryFile.map(compiled, STAMP);
+	}
+}
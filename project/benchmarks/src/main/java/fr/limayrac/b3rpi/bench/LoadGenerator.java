@@ -0,0 +1,136 @@
+/**
+ * "LoadGenerator" class measures the throughput of the headless server ("QueryServer") under many clients.
+ *
+ * Each client is a thread sending requests one after the other, as a browser tab would: pattern queries, counts,
+ * and the candidates of a grid slot. The clients share the connection pool of one HTTP client. Without a URL, a
+ * server is started in the same process on a free port, so the measure needs no other service. At the end, the
+ * number of requests per second and the latency percentiles are printed.
+ *
+ * Usage: java -cp benchmarks.jar fr.limayrac.b3rpi.bench.LoadGenerator [clients] [seconds] [url]
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.bench;
+
+import fr.limayrac.b3rpi.util.DictionaryService;
+import fr.limayrac.b3rpi.util.FileUtil;
+import fr.limayrac.b3rpi.util.Metrics;
+import fr.limayrac.b3rpi.util.QueryServer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The load generator of the headless server.
+ */
+public final class LoadGenerator {
+
+	private static final int DEFAULT_CLIENTS = 64;
+	private static final int DEFAULT_SECONDS = 10;
+
+	/**
+	 * The requests sent in turn by every client; "{grille}" is the grid of the client.
+	 */
+	private static final String[] REQUESTS = {
+			"/api/mots?motif=A&min=1&max=8&limit=50",
+			"/api/mots?motif=%3F%3FR%3F%3F&limit=50",
+			"/api/compte?motif=%3F%3F%3F%3F%3F",
+			"/api/mots?motif=CA&min=2&max=10&offset=20&limit=20",
+			"/api/grilles/{grille}/candidats?ligne=0&colonne=0&sens=DROITE&lettre=b&limit=50",
+			"/api/compte?motif=P%3F%3FE&min=4&max=12",
+	};
+
+	private LoadGenerator() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		int clients = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CLIENTS;
+		int seconds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SECONDS;
+		QueryServer server = null;
+		String url;
+		if (args.length > 2) {
+			url = args[2];
+		} else {
+			DictionaryService service = new DictionaryService(FileUtil.class.getResource(Lexicons.RESOURCE));
+			service.whenReady().join();
+			server = new QueryServer(service, 0);
+			server.start();
+			url = "http://localhost:" + server.getPort();
+		}
+		Metrics.Histogram latency = Metrics.histogram("load.latency");
+		LongAdder errors = new LongAdder();
+		HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+		List<Thread> threads = new ArrayList<>();
+		for (int c = 0; c < clients; c++) {
+			int client = c;
+			Thread thread = new Thread(() -> run(http, url, client, deadline, latency, errors), "client-" + c);
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		if (server != null) {
+			server.close();
+		}
+		System.out.printf("%d clients, %d s : %d requêtes (%.0f/s), %d erreurs%n", clients, seconds,
+				latency.getCount(), latency.getCount() / (double) seconds, errors.sum());
+		System.out.println("Latence : " + latency);
+	}
+
+	/**
+	 * Sends requests until the deadline; the client first creates its grid, with a definition in its corner. A
+	 * request which fails is counted as an error, and the client goes on with the next one.
+	 */
+	private static void run(HttpClient http, String url, int client, long deadline, Metrics.Histogram latency,
+							LongAdder errors) {
+		String grid = null;
+		try {
+			for (int i = client; System.nanoTime() < deadline; i++) {
+				try {
+					if (grid == null) {
+						grid = createGrid(http, url);
+						continue;
+					}
+					long start = System.nanoTime();
+					HttpResponse<String> response = send(http, "GET", url + REQUESTS[i % REQUESTS.length].replace("{grille}", grid));
+					latency.recordSince(start);
+					if (response.statusCode() != 200) {
+						errors.increment();
+					}
+				} catch (IOException e) {
+					errors.increment();
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static String createGrid(HttpClient http, String url) throws IOException, InterruptedException {
+		HttpResponse<String> created = send(http, "POST", url + "/api/grilles?lignes=8&colonnes=8");
+		if (created.statusCode() != 201) {
+			throw new IOException("Création de la grille impossible : " + created.statusCode());
+		}
+		String grid = created.body().replaceAll("^\\{\"id\":(\\d+),.*$", "$1");
+		send(http, "POST", url + "/api/grilles/" + grid + "/definition?ligne=0&colonne=0&texte=D&sens=DROITE");
+		return grid;
+	}
+
+	private static HttpResponse<String> send(HttpClient http, String method, String uri)
+			throws IOException, InterruptedException {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(uri)).method(method, HttpRequest.BodyPublishers.noBody())
+				.build();
+		return http.send(request, HttpResponse.BodyHandlers.ofString());
+	}
+}
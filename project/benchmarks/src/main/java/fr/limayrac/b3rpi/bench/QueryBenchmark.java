@@ -0,0 +1,79 @@
+/**
+ * "QueryBenchmark" class measures the pattern queries at several selectivities, from a single fixed letter to
+ * patterns matching a handful of words, on the bundled and on a synthetic lexicon.
+ *
+ * A pattern ending with "*" accepts any length from the length of the pattern up to 15 letters; the other ones
+ * have an exact length.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.bench;
+
+import fr.limayrac.b3rpi.util.QueryEngine;
+import fr.limayrac.b3rpi.util.WordPattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryBenchmark {
+
+	private static final int MAX_LENGTH = 15;
+
+	@Param({Lexicons.BUNDLED, Lexicons.SYNTHETIC})
+	public String lexicon;
+
+	@Param({"A*", "CA*", "?????", "??R??", "A???E", "?E?A?E", "CH?T????"})
+	public String pattern;
+
+	private QueryEngine engine;
+	private WordPattern compiled;
+
+	@Setup
+	public void setUp() {
+		engine = new QueryEngine(Lexicons.dictionary(lexicon));
+		if (pattern.endsWith("*")) {
+			String fixed = pattern.substring(0, pattern.length() - 1);
+			compiled = WordPattern.compile(fixed, fixed.length(), MAX_LENGTH);
+		} else {
+			compiled = WordPattern.compile(pattern);
+		}
+	}
+
+	@Benchmark
+	public int[] findIds() {
+		return engine.findIds(compiled);
+	}
+
+	@Benchmark
+	public int count() {
+		return engine.count(compiled);
+	}
+
+	/**
+	 * The query with the display forms of the words, as the word dialog needs them.
+	 */
+	@Benchmark
+	public List<String> find() {
+		return engine.find(compiled);
+	}
+}
@@ -0,0 +1,99 @@
+/**
+ * "SearchBenchmark" class measures "FileUtil.printWordsStartingWith", the search behind the word dialog, for
+ * each direction of a word, in a 10x10 grid whose slots already hold a few letters, from one thread and from
+ * 32 threads sharing the dictionary; and the ranking of its candidates by their crossings ("CrossingRanker"), in
+ * the same grid with a definition at the head of every row and column.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.bench;
+
+import fr.limayrac.b3rpi.util.CrossingRanker;
+import fr.limayrac.b3rpi.util.Direction;
+import fr.limayrac.b3rpi.util.FileUtil;
+import fr.limayrac.b3rpi.util.ModeleGrille;
+import fr.limayrac.b3rpi.util.QueryResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+	private static final int ROW = 2;
+	private static final int COLUMN = 2;
+
+	@Param({"BAS", "DROITE", "BAS-DROITE", "DROITE-BAS"})
+	public String direction;
+
+	private FileUtil fileUtil;
+	private ModeleGrille grid;
+	private int size;
+	private ModeleGrille crossedGrid;
+	private QueryResult candidates;
+	private CrossingRanker ranker;
+
+	@Setup
+	public void setUp() {
+		fileUtil = new FileUtil();
+		fileUtil.whenReady().join();
+		grid = new ModeleGrille(10, 10);
+		grid.setDefinition(ROW, COLUMN, 0, "Définition", Direction.fromLabel(direction));
+		// A crossing letter in the third cell of every direction
+		for (Direction dir : Direction.values()) {
+			grid.setLetter(dir.row(ROW, 2), dir.column(COLUMN, 2), 'R');
+		}
+		size = grid.slotLength(ROW, COLUMN, Direction.fromLabel(direction));
+
+		crossedGrid = new ModeleGrille(10, 10);
+		for (int i = 1; i < 10; i++) {
+			crossedGrid.setDefinition(0, i, 0, "Colonne " + i, Direction.BAS);
+			crossedGrid.setDefinition(i, 0, 0, "Ligne " + i, Direction.DROITE);
+		}
+		crossedGrid.setDefinition(ROW, COLUMN, 0, "Définition", null);
+		candidates = fileUtil.printWordsStartingWith("", size, ROW, COLUMN, direction, crossedGrid);
+		ranker = new CrossingRanker(fileUtil.getDictionary().current());
+	}
+
+	@Benchmark
+	public List<String> printWordsStartingWith() {
+		return fileUtil.printWordsStartingWith("A", size, ROW, COLUMN, direction, grid).words();
+	}
+
+	/**
+	 * The same search run by 32 threads at once on the shared dictionary, as many editing sessions would.
+	 */
+	@Benchmark
+	@Threads(32)
+	public List<String> concurrentSessions() {
+		return fileUtil.printWordsStartingWith("A", size, ROW, COLUMN, direction, grid).words();
+	}
+
+	/**
+	 * Ranks the candidates of the slot, from any letter, by the fills they leave to the slots crossing it.
+	 */
+	@Benchmark
+	public int[] rankCandidates() {
+		return ranker.rank(crossedGrid, ROW, COLUMN, Direction.fromLabel(direction), candidates);
+	}
+}
@@ -0,0 +1,192 @@
+/**
+ * "AutocompleteSession" class narrows a list of candidate words as the user types a prefix, one keystroke at a time.
+ *
+ * The session keeps a cursor in the dictionary graph for every typed letter. Typing one more letter descends one
+ * edge from the current node and narrows the previous range of candidates by binary search, instead of rescanning
+ * the dictionary; erasing a letter simply pops back to the range cached for the shorter prefix.
+ *
+ * The candidates are either the whole dictionary, whose keys starting with a prefix form a contiguous range of
+ * identifiers, or a sorted array of key identifiers such as the result of a pattern query.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An incremental prefix filter over dictionary keys.
+ */
+public class AutocompleteSession {
+
+	private final Dictionary dictionary;
+	private final Dawg words;
+
+	/**
+	 * Sorted key identifiers of the candidates, null for the whole dictionary.
+	 */
+	private final int[] candidates;
+
+	/**
+	 * For each typed letter (index 0 being the empty prefix): the graph node reached (-1 when no key has the
+	 * prefix), the rank of the first key below it, and the range [from, to) of candidates having the prefix,
+	 * as key identifiers or as positions in {@link #candidates}.
+	 */
+	private int[] nodes = new int[16];
+	private int[] ranks = new int[16];
+	private int[] from = new int[16];
+	private int[] to = new int[16];
+	private char[] prefix = new char[16];
+	private int depth;
+
+	/**
+	 * Creates a session over the whole dictionary.
+	 *
+	 * @param dictionary The dictionary.
+	 */
+	public AutocompleteSession(Dictionary dictionary) {
+		this(dictionary, null);
+	}
+
+	/**
+	 * Creates a session over the given candidates.
+	 *
+	 * @param dictionary The dictionary.
+	 * @param candidates The sorted key identifiers of the candidates, null for the whole dictionary.
+	 */
+	public AutocompleteSession(Dictionary dictionary, int[] candidates) {
+		this.dictionary = dictionary;
+		this.words = dictionary.getWords();
+		this.candidates = candidates;
+		nodes[0] = Dawg.ROOT;
+		to[0] = candidates == null ? words.size() : candidates.length;
+	}
+
+	/**
+	 * Extends the prefix by one letter, narrowing the current range.
+	 *
+	 * @param c The typed letter; it is folded like the dictionary keys.
+	 */
+	public void type(char c) {
+		if (depth + 1 == nodes.length) {
+			int capacity = nodes.length * 2;
+			nodes = Arrays.copyOf(nodes, capacity);
+			ranks = Arrays.copyOf(ranks, capacity);
+			from = Arrays.copyOf(from, capacity);
+			to = Arrays.copyOf(to, capacity);
+			prefix = Arrays.copyOf(prefix, capacity);
+		}
+		char letter = WordFolding.fold(c);
+		int node = nodes[depth];
+		int child = node < 0 ? -1 : words.child(node, letter);
+		prefix[depth] = letter;
+		depth++;
+		if (child < 0) {
+			nodes[depth] = -1;
+			from[depth] = from[depth - 1];
+			to[depth] = from[depth - 1];
+			return;
+		}
+		int rank = ranks[depth - 1] + words.rankBefore(node, letter);
+		int end = rank + words.wordCount(child);
+		nodes[depth] = child;
+		ranks[depth] = rank;
+		if (candidates == null) {
+			from[depth] = rank;
+			to[depth] = end;
+		} else {
+			from[depth] = lowerBound(candidates, from[depth - 1], to[depth - 1], rank);
+			to[depth] = lowerBound(candidates, from[depth], to[depth - 1], end);
+		}
+	}
+
+	/**
+	 * Removes the last letter of the prefix, going back to the range cached for the shorter prefix.
+	 */
+	public void backspace() {
+		if (depth > 0) {
+			depth--;
+		}
+	}
+
+	/**
+	 * Sets the whole prefix, for example the text of a field: the letters shared with the current prefix
+	 * are kept, the others are erased or typed.
+	 *
+	 * @param text The new prefix.
+	 */
+	public void setPrefix(String text) {
+		String key = WordFolding.fold(text);
+		int common = 0;
+		while (common < depth && common < key.length() && prefix[common] == key.charAt(common)) {
+			common++;
+		}
+		depth = common;
+		for (int i = common; i < key.length(); i++) {
+			type(key.charAt(i));
+		}
+	}
+
+	/**
+	 * Returns the current prefix, folded.
+	 *
+	 * @return The prefix.
+	 */
+	public String getPrefix() {
+		return new String(prefix, 0, depth);
+	}
+
+	/**
+	 * Returns the number of candidate keys having the current prefix.
+	 *
+	 * @return The number of keys.
+	 */
+	public int size() {
+		return to[depth] - from[depth];
+	}
+
+	/**
+	 * Returns the i-th candidate key having the current prefix.
+	 *
+	 * @param i The position in the current range.
+	 * @return The key identifier.
+	 */
+	public int keyAt(int i) {
+		return candidates == null ? from[depth] + i : candidates[from[depth] + i];
+	}
+
+	/**
+	 * Returns the display forms of the candidates having the current prefix, in dictionary order.
+	 *
+	 * @return The suggestions.
+	 */
+	public String[] suggestions() {
+		List<String> suggestions = new ArrayList<>(size());
+		for (int i = 0; i < size(); i++) {
+			dictionary.addDisplayForms(keyAt(i), suggestions);
+		}
+		return suggestions.toArray(new String[0]);
+	}
+
+	/**
+	 * Returns the index of the first value greater than or equal to the given value in a sorted slice.
+	 */
+	private static int lowerBound(int[] values, int from, int to, int value) {
+		int low = from;
+		int high = to;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (values[mid] < value) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+}
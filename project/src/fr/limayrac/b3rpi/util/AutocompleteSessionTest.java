@@ -0,0 +1,39 @@
+package fr.limayrac.b3rpi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AutocompleteSessionTest {
+
+    private final Dictionary dictionary = Dictionary.of(List.of("abord", "aborder", "arbre", "arc", "autre", "bar"));
+
+    @Test
+    void typeAndBackspace() {
+        AutocompleteSession session = new AutocompleteSession(dictionary);
+        assertEquals(6, session.size());
+        session.type('a');
+        session.type('r');
+        assertArrayEquals(new String[]{"arbre", "arc"}, session.suggestions());
+        session.type('z');
+        assertEquals(0, session.size());
+        session.backspace();
+        session.backspace();
+        assertEquals(5, session.size());
+        assertEquals("A", session.getPrefix());
+    }
+
+    @Test
+    void setPrefixOverCandidates() {
+        // ABORD, ARC, BAR
+        AutocompleteSession session = new AutocompleteSession(dictionary, new int[]{0, 3, 5});
+        session.setPrefix("a");
+        assertArrayEquals(new String[]{"abord", "arc"}, session.suggestions());
+        session.setPrefix("Ab");
+        assertArrayEquals(new String[]{"abord"}, session.suggestions());
+        session.setPrefix("");
+        assertEquals(3, session.size());
+    }
+}
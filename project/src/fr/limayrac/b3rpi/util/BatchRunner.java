@@ -0,0 +1,323 @@
+/**
+ * "BatchRunner" class is the batch mode of the application: it checks, and optionally fills, every grid of a
+ * directory, without any window, to prepare a whole issue of puzzles at once.
+ *
+ * The grids are text files (see "GrilleTexte") with the ".grille" extension. Each grid is a task of a
+ * work-stealing pool, which also runs the fill searches (see "FillEngine"), so the grids are spread over all the
+ * cores and a long search does not hold back the others. The directory is read as the tasks are submitted, a
+ * bounded number of grids being in progress at once, and the report of a grid is written as soon as it is done:
+ * the memory used does not grow with the number of grids.
+ *
+ * A grid is checked slot by slot: a full slot must hold a word of the dictionary, and a slot with empty cells must
+ * still have at least one candidate word.
+ *
+ * Usage: BatchRunner répertoire [--remplir[=ms]] [--sortie=répertoire] [--threads=n]
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The batch check and fill of a directory of grids.
+ */
+public class BatchRunner {
+
+	/**
+	 * Extension of the grid files.
+	 */
+	public static final String EXTENSION = ".grille";
+
+	/**
+	 * Default time budget of the fill of a grid.
+	 */
+	public static final long DEFAULT_FILL_BUDGET_MILLIS = 2000;
+
+	/**
+	 * Number of grids in progress per thread of the pool.
+	 */
+	private static final int GRIDS_PER_THREAD = 4;
+
+	private static final Metrics.Histogram GRID_TIME = Metrics.histogram("batch.grid");
+
+	private final QueryEngine engine;
+	private final int threads;
+	private final long fillBudgetMillis;
+	private final Path output;
+
+	/**
+	 * The outcome of a grid.
+	 */
+	public enum Status {
+		/** Every slot is consistent with the dictionary. */
+		VALIDE,
+		/** A slot holds an unknown word or has no candidate left. */
+		INVALIDE,
+		/** The file is not a valid grid. */
+		ILLISIBLE
+	}
+
+	/**
+	 * The report of one grid.
+	 */
+	public static final class Report {
+
+		private final Path file;
+		private final Status status;
+		private final int slots;
+		private final int problems;
+		private final FillEngine.Status fill;
+		private final long elapsedMillis;
+		private final String detail;
+
+		private Report(Path file, Status status, int slots, int problems, FillEngine.Status fill, long elapsedMillis,
+					   String detail) {
+			this.file = file;
+			this.status = status;
+			this.slots = slots;
+			this.problems = problems;
+			this.fill = fill;
+			this.elapsedMillis = elapsedMillis;
+			this.detail = detail;
+		}
+
+		public Path getFile() {
+			return file;
+		}
+
+		public Status getStatus() {
+			return status;
+		}
+
+		public int getProblems() {
+			return problems;
+		}
+
+		/**
+		 * Returns the outcome of the fill.
+		 *
+		 * @return The status of the fill, null if the grid was not filled.
+		 */
+		public FillEngine.Status getFill() {
+			return fill;
+		}
+
+		/**
+		 * Returns the report as a line of tab-separated values: file, status, slots, problems, fill, milliseconds
+		 * and the first problem found.
+		 */
+		@Override
+		public String toString() {
+			return file.getFileName() + "\t" + status + "\t" + slots + "\t" + problems + "\t" + (fill == null ? "-" : fill)
+					+ "\t" + elapsedMillis + "\t" + (detail == null ? "" : detail);
+		}
+	}
+
+	/**
+	 * The totals of a run.
+	 */
+	public static final class Summary {
+
+		private int grids;
+		private int valid;
+		private int filled;
+		private long elapsedMillis;
+
+		public int getGrids() {
+			return grids;
+		}
+
+		public int getValid() {
+			return valid;
+		}
+
+		public int getFilled() {
+			return filled;
+		}
+
+		@Override
+		public String toString() {
+			return grids + " grilles, " + valid + " valides, " + filled + " remplies en " + elapsedMillis + " ms";
+		}
+	}
+
+	/**
+	 * Constructor of the BatchRunner class.
+	 *
+	 * @param engine           The query engine of the dictionary.
+	 * @param threads          The number of threads of the pool.
+	 * @param fillBudgetMillis The time budget of the fill of a valid grid, 0 to only check the grids.
+	 * @param output           The directory receiving the filled grids, null not to write them.
+	 */
+	public BatchRunner(QueryEngine engine, int threads, long fillBudgetMillis, Path output) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("Nombre de threads invalide : " + threads);
+		}
+		this.engine = engine;
+		this.threads = threads;
+		this.fillBudgetMillis = fillBudgetMillis;
+		this.output = output;
+	}
+
+	/**
+	 * Checks, and fills if asked, the grids of a directory, writing the report of each grid as soon as it is done.
+	 *
+	 * @param directory The directory of the grid files.
+	 * @param reports   The destination of the reports, one line per grid, in the order the grids are done.
+	 * @return The totals.
+	 * @throws IOException If the directory or the reports cannot be read or written.
+	 */
+	public Summary run(Path directory, Writer reports) throws IOException {
+		long start = System.nanoTime();
+		if (output != null) {
+			Files.createDirectories(output);
+		}
+		Summary summary = new Summary();
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+			FillEngine fillEngine = new FillEngine(engine, pool);
+			CompletionService<Report> completion = new ExecutorCompletionService<>(pool);
+			int inProgress = 0;
+			for (Path file : files) {
+				completion.submit(() -> process(file, fillEngine));
+				if (++inProgress == threads * GRIDS_PER_THREAD) {
+					write(completion, reports, summary);
+					inProgress--;
+				}
+			}
+			for (; inProgress > 0; inProgress--) {
+				write(completion, reports, summary);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Traitement interrompu", e);
+		} finally {
+			pool.shutdownNow();
+		}
+		summary.elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+		return summary;
+	}
+
+	/**
+	 * Waits for the next grid done, and writes its report.
+	 */
+	private static void write(CompletionService<Report> completion, Writer reports, Summary summary)
+			throws IOException, InterruptedException {
+		Report report;
+		try {
+			report = completion.take().get();
+		} catch (ExecutionException e) {
+			throw new IOException("Erreur pendant le traitement d'une grille", e.getCause());
+		}
+		summary.grids++;
+		if (report.status == Status.VALIDE) {
+			summary.valid++;
+		}
+		if (report.fill == FillEngine.Status.SOLVED) {
+			summary.filled++;
+		}
+		reports.write(report + System.lineSeparator());
+		reports.flush();
+	}
+
+	/**
+	 * Reads, checks and fills one grid.
+	 */
+	private Report process(Path file, FillEngine fillEngine) throws IOException {
+		long start = System.nanoTime();
+		ModeleGrille grid;
+		try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			grid = GrilleTexte.read(reader);
+		} catch (IOException e) {
+			return new Report(file, Status.ILLISIBLE, 0, 1, null, elapsedMillis(start), e.getMessage());
+		}
+		List<Slot> slots = grid.slots();
+		char[] pattern = new char[Math.max(grid.getRows(), grid.getColumns())];
+		int problems = 0;
+		String detail = null;
+		for (Slot slot : slots) {
+			boolean full = true;
+			for (int i = 0; i < slot.length(); i++) {
+				char letter = grid.getLetter(slot.cell(i) / grid.getColumns(), slot.cell(i) % grid.getColumns());
+				pattern[i] = letter == ModeleGrille.EMPTY ? WordPattern.ANY : letter;
+				full &= letter != ModeleGrille.EMPTY;
+			}
+			if (engine.count(WordPattern.compile(pattern, slot.length(), slot.length(), slot.length())) == 0) {
+				problems++;
+				if (detail == null) {
+					detail = (full ? "mot inconnu « " + new String(pattern, 0, slot.length()) + " »" : "aucun mot possible")
+							+ " en " + slot.getRow() + ", " + slot.getColumn() + " (" + slot.getDirection().getLabel() + ")";
+				}
+			}
+		}
+		Status status = problems == 0 ? Status.VALIDE : Status.INVALIDE;
+		FillEngine.Status fill = null;
+		if (status == Status.VALIDE && fillBudgetMillis > 0) {
+			FillEngine.Result result = fillEngine.fill(grid, slots, fillBudgetMillis, 1, null);
+			fill = result.getStatus();
+			if (fill == FillEngine.Status.SOLVED && output != null) {
+				result.getBest().apply(grid);
+				try (Writer writer = Files.newBufferedWriter(output.resolve(file.getFileName()), StandardCharsets.UTF_8)) {
+					GrilleTexte.write(grid, writer);
+				}
+			}
+		}
+		return new Report(file, status, slots.size(), problems, fill, elapsedMillis(start), detail);
+	}
+
+	private static long elapsedMillis(long start) {
+		return GRID_TIME.recordSince(start) / 1_000_000;
+	}
+
+	/**
+	 * Starts the batch mode; the reports are written to the standard output, the totals to the error output.
+	 *
+	 * @param args The directory of the grids, then the options.
+	 * @throws IOException If the directory cannot be read.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length == 0) {
+			System.err.println("Usage : BatchRunner répertoire [--remplir[=ms]] [--sortie=répertoire] [--threads=n]");
+			System.exit(2);
+		}
+		long fillBudget = 0;
+		Path output = null;
+		int threads = Runtime.getRuntime().availableProcessors();
+		for (int i = 1; i < args.length; i++) {
+			if (args[i].equals("--remplir")) {
+				fillBudget = DEFAULT_FILL_BUDGET_MILLIS;
+			} else if (args[i].startsWith("--remplir=")) {
+				fillBudget = Long.parseLong(args[i].substring("--remplir=".length()));
+			} else if (args[i].startsWith("--sortie=")) {
+				output = Paths.get(args[i].substring("--sortie=".length()));
+			} else if (args[i].startsWith("--threads=")) {
+				threads = Integer.parseInt(args[i].substring("--threads=".length()));
+			} else {
+				System.err.println("Option inconnue : " + args[i]);
+				System.exit(2);
+			}
+		}
+		Metrics.install();
+		BatchRunner runner = new BatchRunner(DictionaryService.shared().current(), threads, fillBudget, output);
+		Writer reports = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+		Summary summary = runner.run(Paths.get(args[0]), reports);
+		System.err.println(summary);
+	}
+}
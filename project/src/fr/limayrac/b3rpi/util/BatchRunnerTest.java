@@ -0,0 +1,56 @@
+package fr.limayrac.b3rpi.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchRunnerTest {
+
+    @TempDir
+    Path directory;
+
+    private final QueryEngine engine = new QueryEngine(Dictionary.of(List.of("ou", "va", "il", "arc")));
+
+    @Test
+    void run() throws Exception {
+        Files.writeString(directory.resolve("libre.grille"), "#D . .\n#D . .\n");
+        Files.writeString(directory.resolve("inconnu.grille"), "#D Z Z\n#D . .\n");
+        Files.writeString(directory.resolve("illisible.grille"), "#D . .\n#D\n");
+        Files.writeString(directory.resolve("ignore.txt"), "#D . .\n");
+        Path output = directory.resolve("remplies");
+        StringWriter reports = new StringWriter();
+
+        BatchRunner.Summary summary = new BatchRunner(engine, 2, 1000, output).run(directory, reports);
+        assertEquals(3, summary.getGrids());
+        assertEquals(1, summary.getValid());
+        assertEquals(1, summary.getFilled());
+
+        List<String> lines = Arrays.asList(reports.toString().split(System.lineSeparator()));
+        assertEquals(3, lines.size());
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("libre.grille\tVALIDE\t2\t0\tSOLVED\t")));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("inconnu.grille\tINVALIDE\t2\t1\t-\t")
+                && line.endsWith("mot inconnu « ZZ » en 0, 0 (DROITE)")));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("illisible.grille\tILLISIBLE\t")));
+
+        ModeleGrille filled = GrilleTexte.read(Files.newBufferedReader(output.resolve("libre.grille")));
+        assertNotEquals(ModeleGrille.EMPTY, filled.getLetter(0, 1));
+        assertFalse(Files.exists(output.resolve("inconnu.grille")));
+    }
+
+    @Test
+    void checkOnly() throws Exception {
+        Files.writeString(directory.resolve("libre.grille"), "#D . .\n");
+        StringWriter reports = new StringWriter();
+        BatchRunner.Summary summary = new BatchRunner(engine, 1, 0, null).run(directory, reports);
+        assertEquals(1, summary.getValid());
+        assertEquals(0, summary.getFilled());
+        assertTrue(reports.toString().startsWith("libre.grille\tVALIDE\t1\t0\t-\t"));
+    }
+}
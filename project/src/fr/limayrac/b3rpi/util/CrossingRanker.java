@@ -0,0 +1,213 @@
+/**
+ * "CrossingRanker" class orders the candidate words of a slot by the room they leave to the slots crossing it,
+ * so the word suggestion dialog proposes first the words which do not lead the grid into a dead end.
+ *
+ * Placing a word sets one letter in each crossing slot; the fills left to that slot are the words of its exact
+ * length which agree with its letters and with the new one. A candidate is scored by the fewest fills it leaves to
+ * one of its crossings (0 when it makes a crossing impossible), ties being broken by the product of the fills
+ * of all its crossings, then by dictionary order. The crossings beyond the end of a shorter candidate keep their
+ * current fills.
+ *
+ * The score of a candidate only depends on its letters on the crossed cells, so the fills are counted once per
+ * crossing and per letter, in small tables, before any candidate is scored: for a crossing with no other letter,
+ * the count is the size of a (length, position, letter) list of the word index, otherwise it is a pattern count.
+ * Scoring a candidate is then a table lookup per crossing; the scores are packed with the position of the
+ * candidate in one long, sorted as a primitive array, and a large list of candidates is scored in parallel.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * The crossing-aware ranking of the candidates of a slot.
+ */
+public class CrossingRanker {
+
+	/**
+	 * Number of candidates from which they are scored in parallel.
+	 */
+	static final int PARALLEL_THRESHOLD = 4096;
+
+	/**
+	 * Bits of the packed sort keys: the fewest fills (capped), the product of the fills in steps of 1/64 of its
+	 * logarithm (capped), and the position of the candidate.
+	 */
+	private static final int MINIMUM_BITS = 22;
+	private static final int PRODUCT_BITS = 21;
+	private static final int POSITION_BITS = 20;
+
+	/**
+	 * Maximum number of candidates ranked; larger lists are left in dictionary order.
+	 */
+	public static final int MAX_CANDIDATES = 1 << POSITION_BITS;
+
+	private static final Metrics.Histogram RANK_TIME = Metrics.histogram("suggestions.rank");
+
+	private final QueryEngine engine;
+
+	/**
+	 * A slot crossing the ranked slot, and the fills it has left for each letter on the shared cell.
+	 */
+	private static final class Crossing {
+
+		/**
+		 * The position of the shared cell in the ranked slot.
+		 */
+		private final int position;
+
+		/**
+		 * The fills for the letters from {@link #first}, and when the shared cell stays empty.
+		 */
+		private char first;
+		private int[] fills;
+		private int unchanged;
+
+		private Crossing(int position) {
+			this.position = position;
+		}
+
+		private int fills(String key) {
+			return position < key.length() ? fills[key.charAt(position) - first] : unchanged;
+		}
+	}
+
+	/**
+	 * Constructor of the CrossingRanker class.
+	 *
+	 * @param engine The query engine of the dictionary the candidates come from.
+	 */
+	public CrossingRanker(QueryEngine engine) {
+		this.engine = engine;
+	}
+
+	/**
+	 * Ranks the candidates of a slot.
+	 *
+	 * @param grid       The grid model.
+	 * @param row        The row of the definition cell of the slot.
+	 * @param column     The column of the definition cell of the slot.
+	 * @param direction  The direction of the word.
+	 * @param candidates The result of the query of the candidates; its keys may be shorter than the slot.
+	 * @return The key identifiers of the candidates, best first.
+	 */
+	public int[] rank(ModeleGrille grid, int row, int column, Direction direction, QueryResult candidates) {
+		int size = candidates.size();
+		if (size > MAX_CANDIDATES) {
+			return candidates.toArray();
+		}
+		long start = System.nanoTime();
+		Dawg words = candidates.getDictionary().getWords();
+		String[] keys = new String[size];
+		range(size).forEach(i -> keys[i] = words.wordAt(candidates.idAt(i)));
+
+		List<Crossing> crossings = crossings(grid, row, column, direction, keys);
+		long[] scores = new long[size];
+		range(size).forEach(i -> {
+			int minimum = Integer.MAX_VALUE;
+			double product = 0;
+			for (Crossing crossing : crossings) {
+				int fills = crossing.fills(keys[i]);
+				minimum = Math.min(minimum, fills);
+				product += fills == 0 ? 0 : Math.log(fills);
+			}
+			// Best first: the sort is ascending, so the scores are inverted
+			long packedMinimum = (1L << MINIMUM_BITS) - 1 - Math.min(minimum, (1 << MINIMUM_BITS) - 1);
+			long packedProduct = (1L << PRODUCT_BITS) - 1 - Math.min((long) (product * 64), (1 << PRODUCT_BITS) - 1);
+			scores[i] = packedMinimum << (PRODUCT_BITS + POSITION_BITS) | packedProduct << POSITION_BITS | i;
+		});
+		if (size >= PARALLEL_THRESHOLD) {
+			Arrays.parallelSort(scores);
+		} else {
+			Arrays.sort(scores);
+		}
+
+		int[] ranked = new int[size];
+		for (int i = 0; i < size; i++) {
+			ranked[i] = candidates.idAt((int) (scores[i] & (MAX_CANDIDATES - 1)));
+		}
+		long nanos = RANK_TIME.recordSince(start);
+		if (Metrics.tracing()) {
+			Metrics.trace("Classement de %d mots sur %d croisements en %d µs", size, crossings.size(), nanos / 1_000);
+		}
+		return ranked;
+	}
+
+	/**
+	 * Finds the slots crossing the empty cells of the ranked slot, and counts their fills for each letter the
+	 * candidates have on the shared cells.
+	 */
+	private List<Crossing> crossings(ModeleGrille grid, int row, int column, Direction direction, String[] keys) {
+		int columns = grid.getColumns();
+		int length = grid.slotLength(row, column, direction);
+		Map<Integer, Integer> positions = new HashMap<>();
+		for (int i = 0; i < length; i++) {
+			int r = direction.row(row, i);
+			int c = direction.column(column, i);
+			if (grid.getLetter(r, c) == ModeleGrille.EMPTY) {
+				positions.put(r * columns + c, i);
+			}
+		}
+		WordIndex index = engine.getDictionary().getIndex();
+		List<Crossing> crossings = new ArrayList<>();
+		char[] pattern = new char[Math.max(grid.getRows(), columns)];
+		for (Slot slot : grid.slots()) {
+			if (slot.getRow() == row && slot.getColumn() == column && slot.getDirection() == direction) {
+				continue;
+			}
+			for (int p = 0; p < slot.length(); p++) {
+				Integer position = positions.get(slot.cell(p));
+				if (position == null) {
+					continue;
+				}
+				boolean constrained = false;
+				for (int j = 0; j < slot.length(); j++) {
+					char letter = grid.getLetter(slot.cell(j) / columns, slot.cell(j) % columns);
+					pattern[j] = letter == ModeleGrille.EMPTY ? WordPattern.ANY : letter;
+					constrained |= letter != ModeleGrille.EMPTY;
+				}
+				WordPattern unchanged = WordPattern.compile(pattern, slot.length(), slot.length(), slot.length());
+				Crossing crossing = new Crossing(position);
+				crossing.unchanged = constrained ? engine.count(unchanged) : index.countOfLength(slot.length());
+
+				// The table covers the letters of the candidates on the shared cell
+				char first = Character.MAX_VALUE;
+				char last = 0;
+				for (String key : keys) {
+					if (position < key.length()) {
+						first = (char) Math.min(first, key.charAt(position));
+						last = (char) Math.max(last, key.charAt(position));
+					}
+				}
+				crossing.first = first;
+				crossing.fills = new int[Math.max(0, last - first + 1)];
+				Arrays.fill(crossing.fills, -1);
+				for (String key : keys) {
+					if (position < key.length() && crossing.fills[key.charAt(position) - first] < 0) {
+						char letter = key.charAt(position);
+						pattern[p] = letter;
+						crossing.fills[letter - first] = constrained
+								? engine.count(WordPattern.compile(pattern, slot.length(), slot.length(), slot.length()))
+								: index.count(slot.length(), p, letter);
+					}
+				}
+				crossings.add(crossing);
+			}
+		}
+		return crossings;
+	}
+
+	private static IntStream range(int size) {
+		IntStream range = IntStream.range(0, size);
+		return size >= PARALLEL_THRESHOLD ? range.parallel() : range;
+	}
+}
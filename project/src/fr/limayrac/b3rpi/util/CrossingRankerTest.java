@@ -0,0 +1,59 @@
+package fr.limayrac.b3rpi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrossingRankerTest {
+
+    private final QueryEngine engine = new QueryEngine(Dictionary.of(List.of("ami", "arc", "are", "cre", "ire", "mer", "rer", "rue")));
+
+    private static ModeleGrille grid() {
+        ModeleGrille grid = new ModeleGrille(4, 4);
+        grid.setDefinition(0, 0, 0, "", null);
+        for (int i = 1; i < 4; i++) {
+            grid.setDefinition(0, i, 0, "v" + i, Direction.BAS);
+        }
+        grid.setDefinition(1, 0, 0, "h", null);
+        return grid;
+    }
+
+    private List<String> rank(ModeleGrille grid, QueryResult candidates) {
+        int[] ranked = new CrossingRanker(engine).rank(grid, 1, 0, Direction.DROITE, candidates);
+        return IntStream.of(ranked).mapToObj(engine.getDictionary().getWords()::wordAt).collect(Collectors.toList());
+    }
+
+    @Test
+    void fewestFillsFirstThenProduct() {
+        QueryResult candidates = engine.query(WordPattern.compile("", 3, 3));
+        // A leaves 3 words to its crossing, C, I and M one, R two, E and U none
+        assertEquals(List.of("ARC", "AMI", "ARE", "RER", "CRE", "IRE", "MER", "RUE"), rank(grid(), candidates));
+    }
+
+    @Test
+    void crossingLettersAreCounted() {
+        ModeleGrille grid = grid();
+        grid.setLetter(3, 1, 'E');
+        QueryResult candidates = engine.query(WordPattern.compile("", 3, 3));
+        // Down the first column, only ARE, CRE, IRE and RUE end with an E: M leaves no word there, R only one
+        assertEquals(List.of("ARC", "AMI", "ARE", "CRE", "IRE", "MER", "RER", "RUE"), rank(grid, candidates));
+    }
+
+    @Test
+    void largeListsAreRankedInParallel() {
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < CrossingRanker.PARALLEL_THRESHOLD * 2; i++) {
+            words.add("" + (char) ('a' + i % 26) + (char) ('a' + i / 26 % 26) + (char) ('a' + i / 676 % 26));
+        }
+        QueryEngine large = new QueryEngine(Dictionary.of(words));
+        QueryResult candidates = large.query(WordPattern.compile("", 3, 3));
+        int[] ranked = new CrossingRanker(large).rank(grid(), 1, 0, Direction.DROITE, candidates);
+        assertEquals(candidates.size(), ranked.length);
+        assertEquals(candidates.size(), IntStream.of(ranked).distinct().count());
+    }
+}
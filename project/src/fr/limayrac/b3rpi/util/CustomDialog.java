@@ -1,8 +1,10 @@
 /**
  * A custom class to display a word selection dialog box.
- * This class extends JDialog and uses a JComboBox to display the proposed words.
+ * This class extends JDialog and uses a JList to display the proposed words.
+ * The words of the dictionary are read on demand by a lazy list model, only for the visible rows.
  *
  * The dialog box allows the user to select a word from a given list of words.
+ * A filter field above the list narrows the proposed words as the user types their beginning.
  * The selected word can be retrieved using the getSelectedWord() method.
  *
  * @version 1.0
@@ -13,23 +15,42 @@
 package fr.limayrac.b3rpi.util;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.util.ArrayList;
 
 public class CustomDialog extends JDialog {
 
     /**
-     * The JComboBox used to display the proposed words.
+     * Number of rows of the list visible without scrolling.
      */
-    public JComboBox<String> comboBox;
+    private static final int VISIBLE_ROWS = 12;
+
+    /**
+     * The JList used to display the proposed words.
+     */
+    public JList<String> wordList;
 
     /**
      * The list of proposed words.
      */
     private ArrayList<String> words;
 
+    /**
+     * The field used to filter the proposed words by their beginning.
+     */
+    private JTextField filterField;
+
+    /**
+     * The lazy model narrowing the proposed words, null when the words do not come from the dictionary.
+     */
+    private SuggestionListModel suggestions;
+
     /**
      * Constructor of the CustomDialog class.
      *
@@ -44,10 +65,37 @@ public class CustomDialog extends JDialog {
 
     /**
      * Initializes the components of the dialog box.
-     * Creates the JComboBox with the proposed words and the close button.
+     * Creates the JList with the proposed words and the close button.
+     * The cells have a fixed size, so the list never measures the rows it does not display.
      */
     private void initComponents() {
-        comboBox = new JComboBox<>(words.toArray(new String[0]));
+        wordList = new JList<>(words.toArray(new String[0]));
+        wordList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        wordList.setPrototypeCellValue("MMMMMMMMMMMMMMMMMMMM");
+        wordList.setVisibleRowCount(VISIBLE_ROWS);
+        wordList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    dispose();
+                }
+            }
+        });
+
+        filterField = new JTextField();
+        filterField.getDocument().addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) {
+                filter();
+            }
+
+            public void removeUpdate(DocumentEvent e) {
+                filter();
+            }
+
+            public void changedUpdate(DocumentEvent e) {
+                filter();
+            }
+        });
 
         JButton closeButton = new JButton("OK");
         closeButton.addActionListener(new ActionListener() {
@@ -57,18 +105,83 @@ public class CustomDialog extends JDialog {
         });
 
         setLayout(new BorderLayout());
-        add(comboBox, BorderLayout.CENTER);
+        add(filterField, BorderLayout.NORTH);
+        add(new JScrollPane(wordList), BorderLayout.CENTER);
         add(closeButton, BorderLayout.SOUTH);
         pack();
         setLocationRelativeTo(null);
     }
 
+    /**
+     * Proposes the given dictionary words, clearing the filter.
+     * The list reads them from the dictionary as it displays them; nothing is copied here.
+     *
+     * @param dictionary The dictionary the words come from.
+     * @param wordIds    The sorted key identifiers of the words.
+     */
+    public void setCandidates(Dictionary dictionary, int[] wordIds) {
+        suggestions = null;
+        filterField.setText("");
+        suggestions = new SuggestionListModel(dictionary, new AutocompleteSession(dictionary, wordIds));
+        wordList.setModel(suggestions);
+        selectFirst();
+    }
+
+    /**
+     * Proposes the words of a query result, clearing the filter. The identifiers of the result are shared,
+     * not copied.
+     *
+     * @param result The result of the query.
+     */
+    public void setCandidates(QueryResult result) {
+        setCandidates(result.getDictionary(), result.ids());
+    }
+
+    /**
+     * Proposes the words of a query result in the order of a ranking, best first, clearing the filter. The
+     * filter keeps the order of the ranking.
+     *
+     * @param result The result of the query.
+     * @param ranked The key identifiers of the result, best first (see "CrossingRanker").
+     */
+    public void setCandidates(QueryResult result, int[] ranked) {
+        suggestions = null;
+        filterField.setText("");
+        Dictionary dictionary = result.getDictionary();
+        suggestions = new SuggestionListModel(dictionary, new AutocompleteSession(dictionary, result.ids()), ranked);
+        wordList.setModel(suggestions);
+        selectFirst();
+    }
+
+    /**
+     * Narrows the proposed words to the ones starting with the text of the filter field.
+     * The session only refines the previous range, and the list model tells the list of the new size, without
+     * reading any word.
+     */
+    private void filter() {
+        if (suggestions != null) {
+            suggestions.setPrefix(filterField.getText());
+            selectFirst();
+        }
+    }
+
+    private void selectFirst() {
+        if (wordList.getModel().getSize() > 0) {
+            wordList.setSelectedIndex(0);
+            wordList.ensureIndexIsVisible(0);
+        }
+    }
+
     /**
      * Retrieves the word selected by the user.
      *
-     * @return The word selected in the JComboBox.
+     * @return The word selected in the JList, null if there is none.
      */
     public String getSelectedWord() {
-        return (String) comboBox.getSelectedItem();
+        int index = wordList.getSelectedIndex();
+        if (index < 0) {
+            return null;
+        }
+        return suggestions != null ? suggestions.wordAt(index) : wordList.getModel().getElementAt(index);
     }
 }
@@ -0,0 +1,433 @@
+/**
+ * "Dawg" class stores the dictionary as a minimized directed acyclic word graph (DAWG).
+ *
+ * The graph is built from the sorted word list with the incremental algorithm of Daciuk et al.: common prefixes
+ * and common suffixes are shared, which suits French and its many inflected forms. Once built, the graph is
+ * flattened into a few primitive arrays, so the whole dictionary costs a handful of objects. The arrays are
+ * accessed through NIO buffers so that a compiled dictionary file can be read in place (see "DictionaryFile").
+ *
+ * Every node also records the number of words reachable from it, which numbers the words in sorted order:
+ * the identifier of a word is its rank in the dictionary, and the words starting with a given prefix form
+ * a contiguous range of identifiers found by a single descent of the graph.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable minimized DAWG with word ranks.
+ */
+public class Dawg {
+
+	/**
+	 * Index of the root node.
+	 */
+	public static final int ROOT = 0;
+
+	/**
+	 * For each node, the number of words reachable from it (shifted left by one) and, in the low bit,
+	 * whether the path to the node is itself a word.
+	 */
+	private final IntBuffer nodeInfo;
+
+	/**
+	 * For each node, the index of its first edge; the last entry is the total number of edges.
+	 */
+	private final IntBuffer firstEdge;
+
+	/**
+	 * Edge labels, sorted within each node.
+	 */
+	private final CharBuffer edgeLabels;
+
+	/**
+	 * Edge targets.
+	 */
+	private final IntBuffer edgeTargets;
+
+	/**
+	 * Builds the graph from a list of words sorted in String order, without duplicates.
+	 *
+	 * @param sortedWords The sorted, distinct words.
+	 */
+	public Dawg(List<String> sortedWords) {
+		Builder builder = new Builder();
+		for (String word : sortedWords) {
+			builder.add(word);
+		}
+		builder.minimize(0);
+
+		// Flatten the graph, numbering the nodes in topological order from the root
+		Map<BuildNode, Integer> numbers = new IdentityHashMap<>();
+		List<BuildNode> order = new ArrayList<>();
+		number(builder.root, numbers, order);
+		int edges = 0;
+		for (BuildNode node : order) {
+			edges += node.size;
+		}
+		int[] nodeInfo = new int[order.size()];
+		int[] firstEdge = new int[order.size() + 1];
+		char[] edgeLabels = new char[edges];
+		int[] edgeTargets = new int[edges];
+		int edge = 0;
+		for (int n = 0; n < order.size(); n++) {
+			BuildNode node = order.get(n);
+			firstEdge[n] = edge;
+			for (int i = 0; i < node.size; i++) {
+				edgeLabels[edge] = node.labels[i];
+				edgeTargets[edge++] = numbers.get(node.targets[i]);
+			}
+		}
+		firstEdge[order.size()] = edge;
+		for (int n = order.size() - 1; n >= 0; n--) {
+			// Children are always numbered after their parent, so they are counted first
+			int count = order.get(n).terminal ? 1 : 0;
+			for (int e = firstEdge[n]; e < firstEdge[n + 1]; e++) {
+				count += nodeInfo[edgeTargets[e]] >>> 1;
+			}
+			nodeInfo[n] = (count << 1) | (order.get(n).terminal ? 1 : 0);
+		}
+		this.nodeInfo = IntBuffer.wrap(nodeInfo);
+		this.firstEdge = IntBuffer.wrap(firstEdge);
+		this.edgeLabels = CharBuffer.wrap(edgeLabels);
+		this.edgeTargets = IntBuffer.wrap(edgeTargets);
+	}
+
+	/**
+	 * Creates a graph reading its arrays in place from the given buffers.
+	 */
+	private Dawg(IntBuffer nodeInfo, IntBuffer firstEdge, CharBuffer edgeLabels, IntBuffer edgeTargets) {
+		this.nodeInfo = nodeInfo;
+		this.firstEdge = firstEdge;
+		this.edgeLabels = edgeLabels;
+		this.edgeTargets = edgeTargets;
+	}
+
+	/**
+	 * Reads a graph written by {@link #write(DataOutputStream)} in place from the buffer, without copying it.
+	 * The buffer position is moved past the graph.
+	 *
+	 * @param buffer The buffer, typically a memory-mapped dictionary file.
+	 * @return The graph.
+	 * @throws IOException If the arrays do not fit in the rest of the buffer.
+	 */
+	static Dawg map(ByteBuffer buffer) throws IOException {
+		int nodes = DictionaryFile.count(buffer);
+		int edges = DictionaryFile.count(buffer);
+		IntBuffer nodeInfo = DictionaryFile.ints(buffer, nodes);
+		IntBuffer firstEdge = DictionaryFile.ints(buffer, nodes + 1);
+		IntBuffer edgeTargets = DictionaryFile.ints(buffer, edges);
+		CharBuffer edgeLabels = DictionaryFile.chars(buffer, edges);
+		return new Dawg(nodeInfo, firstEdge, edgeLabels, edgeTargets);
+	}
+
+	/**
+	 * Writes the arrays of the graph, in the layout read by {@link #map(ByteBuffer)}.
+	 *
+	 * @param out The output stream.
+	 * @throws IOException If the graph cannot be written.
+	 */
+	void write(DataOutputStream out) throws IOException {
+		out.writeInt(nodeInfo.limit());
+		out.writeInt(edgeTargets.limit());
+		DictionaryFile.write(out, nodeInfo);
+		DictionaryFile.write(out, firstEdge);
+		DictionaryFile.write(out, edgeTargets);
+		DictionaryFile.write(out, edgeLabels);
+	}
+
+	/**
+	 * Numbers the nodes reachable from the given node so that every node comes after all of its parents.
+	 */
+	private static void number(BuildNode root, Map<BuildNode, Integer> numbers, List<BuildNode> order) {
+		// Reverse post-order of an iterative depth-first search is a topological order
+		List<BuildNode> postOrder = new ArrayList<>();
+		Map<BuildNode, Boolean> seen = new IdentityHashMap<>();
+		ArrayList<BuildNode> stack = new ArrayList<>();
+		ArrayList<Integer> next = new ArrayList<>();
+		stack.add(root);
+		next.add(0);
+		seen.put(root, Boolean.TRUE);
+		while (!stack.isEmpty()) {
+			int top = stack.size() - 1;
+			BuildNode node = stack.get(top);
+			int i = next.get(top);
+			if (i < node.size) {
+				next.set(top, i + 1);
+				BuildNode child = node.targets[i];
+				if (seen.put(child, Boolean.TRUE) == null) {
+					stack.add(child);
+					next.add(0);
+				}
+			} else {
+				postOrder.add(node);
+				stack.remove(top);
+				next.remove(top);
+			}
+		}
+		for (int i = postOrder.size() - 1; i >= 0; i--) {
+			numbers.put(postOrder.get(i), order.size());
+			order.add(postOrder.get(i));
+		}
+	}
+
+	/**
+	 * Returns the number of words in the dictionary.
+	 *
+	 * @return The number of words.
+	 */
+	public int size() {
+		return nodeInfo.get(ROOT) >>> 1;
+	}
+
+	/**
+	 * Returns the number of nodes of the graph.
+	 *
+	 * @return The number of nodes.
+	 */
+	public int nodeCount() {
+		return nodeInfo.limit();
+	}
+
+	/**
+	 * Returns the node reached from the given node through the edge labelled c.
+	 *
+	 * @param node The node.
+	 * @param c    The edge label.
+	 * @return The target node, -1 if there is no such edge.
+	 */
+	public int child(int node, char c) {
+		int e = edge(node, c);
+		return e < 0 ? -1 : edgeTargets.get(e);
+	}
+
+	/**
+	 * Returns the number of words reachable from the given node.
+	 *
+	 * @param node The node.
+	 * @return The number of words below the node, itself included.
+	 */
+	public int wordCount(int node) {
+		return nodeInfo.get(node) >>> 1;
+	}
+
+	/**
+	 * Returns the number of words reachable from the given node that sort before the words going through
+	 * the edge labelled c.
+	 *
+	 * @param node The node.
+	 * @param c    The edge label.
+	 * @return The rank offset of the edge within the node.
+	 */
+	public int rankBefore(int node, char c) {
+		int rank = nodeInfo.get(node) & 1;
+		for (int e = firstEdge.get(node); e < firstEdge.get(node + 1) && edgeLabels.get(e) < c; e++) {
+			rank += nodeInfo.get(edgeTargets.get(e)) >>> 1;
+		}
+		return rank;
+	}
+
+	/**
+	 * Returns the identifier (rank) of a word.
+	 *
+	 * @param word The word.
+	 * @return The identifier of the word, -1 if it is not in the dictionary.
+	 */
+	public int indexOf(CharSequence word) {
+		int node = ROOT;
+		int rank = 0;
+		for (int i = 0; i < word.length(); i++) {
+			char c = word.charAt(i);
+			int e = edge(node, c);
+			if (e < 0) {
+				return -1;
+			}
+			rank += rankBefore(node, c);
+			node = edgeTargets.get(e);
+		}
+		return (nodeInfo.get(node) & 1) == 1 ? rank : -1;
+	}
+
+	/**
+	 * Returns the range of identifiers of the words starting with the given prefix, in a single descent.
+	 *
+	 * @param prefix The prefix.
+	 * @return The range {first, end} (end exclusive), empty if no word starts with the prefix.
+	 */
+	public int[] prefixRange(CharSequence prefix) {
+		int node = ROOT;
+		int rank = 0;
+		for (int i = 0; i < prefix.length(); i++) {
+			char c = prefix.charAt(i);
+			int e = edge(node, c);
+			if (e < 0) {
+				return new int[]{0, 0};
+			}
+			rank += rankBefore(node, c);
+			node = edgeTargets.get(e);
+		}
+		return new int[]{rank, rank + wordCount(node)};
+	}
+
+	/**
+	 * Returns the word with the given identifier.
+	 *
+	 * @param id The identifier (rank) of the word.
+	 * @return The word.
+	 */
+	public String wordAt(int id) {
+		if (id < 0 || id >= size()) {
+			throw new IndexOutOfBoundsException("Mot inexistant : " + id);
+		}
+		StringBuilder word = new StringBuilder();
+		int node = ROOT;
+		int rank = id;
+		while (true) {
+			if ((nodeInfo.get(node) & 1) == 1) {
+				if (rank == 0) {
+					return word.toString();
+				}
+				rank--;
+			}
+			int e = firstEdge.get(node);
+			while (rank >= nodeInfo.get(edgeTargets.get(e)) >>> 1) {
+				rank -= nodeInfo.get(edgeTargets.get(e)) >>> 1;
+				e++;
+			}
+			word.append(edgeLabels.get(e));
+			node = edgeTargets.get(e);
+		}
+	}
+
+	/**
+	 * Returns the edge of the node labelled c, by binary search on the sorted labels.
+	 */
+	private int edge(int node, char c) {
+		int low = firstEdge.get(node);
+		int high = firstEdge.get(node + 1) - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (edgeLabels.get(mid) < c) {
+				low = mid + 1;
+			} else if (edgeLabels.get(mid) > c) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * A node of the graph while it is being built.
+	 */
+	private static final class BuildNode {
+		private boolean terminal;
+		private char[] labels = new char[0];
+		private BuildNode[] targets = new BuildNode[0];
+		private int size;
+		private int hash;
+
+		private void add(char label, BuildNode target) {
+			if (size == labels.length) {
+				labels = Arrays.copyOf(labels, Math.max(2, size * 2));
+				targets = Arrays.copyOf(targets, Math.max(2, size * 2));
+			}
+			labels[size] = label;
+			targets[size++] = target;
+		}
+
+		/**
+		 * Freezes the node once its children are final, so it can be used as a key of the register.
+		 */
+		private void freeze() {
+			int h = terminal ? 1 : 0;
+			for (int i = 0; i < size; i++) {
+				h = 31 * (31 * h + labels[i]) + System.identityHashCode(targets[i]);
+			}
+			hash = h;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof BuildNode)) {
+				return false;
+			}
+			BuildNode other = (BuildNode) o;
+			if (terminal != other.terminal || size != other.size || hash != other.hash) {
+				return false;
+			}
+			for (int i = 0; i < size; i++) {
+				if (labels[i] != other.labels[i] || targets[i] != other.targets[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	/**
+	 * Incremental construction of a minimized graph from sorted words.
+	 */
+	private static final class Builder {
+		private final BuildNode root = new BuildNode();
+		private final Map<BuildNode, BuildNode> register = new HashMap<>();
+		private final ArrayList<BuildNode> path = new ArrayList<>();
+		private String previous = "";
+
+		private void add(String word) {
+			if (word.compareTo(previous) <= 0 && !previous.isEmpty()) {
+				throw new IllegalArgumentException("Les mots doivent être triés et distincts : " + word);
+			}
+			int common = 0;
+			while (common < word.length() && common < previous.length() && word.charAt(common) == previous.charAt(common)) {
+				common++;
+			}
+			minimize(common);
+			BuildNode node = path.isEmpty() ? root : path.get(path.size() - 1);
+			for (int i = common; i < word.length(); i++) {
+				BuildNode next = new BuildNode();
+				node.add(word.charAt(i), next);
+				path.add(next);
+				node = next;
+			}
+			node.terminal = true;
+			previous = word;
+		}
+
+		/**
+		 * Replaces the nodes of the current path below the given depth by their registered equivalent.
+		 */
+		private void minimize(int depth) {
+			for (int i = path.size() - 1; i >= depth; i--) {
+				BuildNode child = path.remove(i);
+				BuildNode parent = i == 0 ? root : path.get(i - 1);
+				child.freeze();
+				BuildNode registered = register.putIfAbsent(child, child);
+				if (registered != null) {
+					parent.targets[parent.size - 1] = registered;
+				}
+			}
+		}
+	}
+}
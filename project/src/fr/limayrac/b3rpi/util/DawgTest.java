@@ -0,0 +1,42 @@
+package fr.limayrac.b3rpi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DawgTest {
+
+    private final List<String> words = List.of("abord", "aborde", "aborder", "arbre", "arbres", "autre", "autres");
+    private final Dawg dawg = new Dawg(words);
+
+    @Test
+    void wordAtAndIndexOf() {
+        assertEquals(words.size(), dawg.size());
+        for (int i = 0; i < words.size(); i++) {
+            assertEquals(words.get(i), dawg.wordAt(i));
+            assertEquals(i, dawg.indexOf(words.get(i)));
+        }
+        assertEquals(-1, dawg.indexOf("abor"));
+        assertEquals(-1, dawg.indexOf("zebre"));
+    }
+
+    @Test
+    void prefixRange() {
+        assertArrayEquals(new int[]{0, 3}, dawg.prefixRange("abord"));
+        assertArrayEquals(new int[]{3, 5}, dawg.prefixRange("ar"));
+        assertEquals(0, dawg.prefixRange("b")[1] - dawg.prefixRange("b")[0]);
+    }
+
+    @Test
+    void sharesSuffixes() {
+        // "arbre/arbres" and "autre/autres" end with the same "re", "res" sub-graph
+        assertTrue(dawg.nodeCount() < words.stream().mapToInt(String::length).sum());
+    }
+
+    @Test
+    void rejectsUnsortedInput() {
+        assertThrows(IllegalArgumentException.class, () -> new Dawg(List.of("b", "a")));
+    }
+}
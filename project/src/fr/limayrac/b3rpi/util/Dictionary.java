@@ -0,0 +1,133 @@
+/**
+ * "Dictionary" class groups the structures built from the word list: the word graph and its index, both over the
+ * folded search keys of the words (see "WordFolding"), and the display forms of the entries.
+ *
+ * A dictionary is immutable once built. It is either built from the text word list (one word per line, UTF-8)
+ * or read in place from a compiled dictionary file (see "DictionaryFile").
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An immutable dictionary: the words and their (length, position, letter) index.
+ */
+public final class Dictionary {
+
+	private static final AtomicLong GENERATIONS = new AtomicLong();
+
+	private final Dawg words;
+	private final WordIndex index;
+	private final DisplayForms displayForms;
+	private final long generation = GENERATIONS.incrementAndGet();
+
+	/**
+	 * Constructor of the Dictionary class.
+	 *
+	 * @param words        The graph of the search keys.
+	 * @param index        The index built over the same keys, in the same order.
+	 * @param displayForms The display forms of the entries of each key.
+	 */
+	Dictionary(Dawg words, WordIndex index, DisplayForms displayForms) {
+		this.words = words;
+		this.index = index;
+		this.displayForms = displayForms;
+	}
+
+	/**
+	 * Builds a dictionary from a collection of words, in any order and possibly with duplicates.
+	 *
+	 * @param words The words.
+	 * @return The dictionary.
+	 */
+	public static Dictionary of(Collection<String> words) {
+		TreeMap<String, TreeSet<String>> entries = new TreeMap<>();
+		for (String word : words) {
+			String key = WordFolding.fold(word);
+			if (!key.isEmpty()) {
+				entries.computeIfAbsent(key, k -> new TreeSet<>()).add(word);
+			}
+		}
+		ArrayList<String> keys = new ArrayList<>(entries.keySet());
+		ArrayList<List<String>> displays = new ArrayList<>(keys.size());
+		for (TreeSet<String> forms : entries.values()) {
+			displays.add(new ArrayList<>(forms));
+		}
+		long start = System.nanoTime();
+		Dawg dawg = new Dawg(keys);
+		start += Metrics.histogram("dictionary.build.dawg").recordSince(start);
+		WordIndex index = new WordIndex(keys);
+		start += Metrics.histogram("dictionary.build.index").recordSince(start);
+		DisplayForms forms = new DisplayForms(keys, displays);
+		Metrics.histogram("dictionary.build.forms").recordSince(start);
+		return new Dictionary(dawg, index, forms);
+	}
+
+	/**
+	 * Reads a text word list (one word per line, UTF-8) and builds the dictionary.
+	 *
+	 * @param inputStream The text word list.
+	 * @return The dictionary.
+	 * @throws IOException If the list cannot be read.
+	 */
+	public static Dictionary readText(InputStream inputStream) throws IOException {
+		ArrayList<String> wordList = new ArrayList<>();
+		try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = bufferedReader.readLine()) != null) {
+				wordList.add(line.trim());
+			}
+		}
+		return of(wordList);
+	}
+
+	/**
+	 * Returns the generation of the dictionary: a number which grows with every dictionary built or opened,
+	 * so that results computed on a replaced dictionary can be told apart.
+	 *
+	 * @return The generation.
+	 */
+	public long getGeneration() {
+		return generation;
+	}
+
+	public Dawg getWords() {
+		return words;
+	}
+
+	public WordIndex getIndex() {
+		return index;
+	}
+
+	public DisplayForms getDisplayForms() {
+		return displayForms;
+	}
+
+	/**
+	 * Adds the display forms of a key, in order, to the given collection.
+	 *
+	 * @param key   The key identifier.
+	 * @param forms The collection receiving the display forms.
+	 */
+	public void addDisplayForms(int key, Collection<String> forms) {
+		String folded = words.wordAt(key);
+		for (int entry = displayForms.firstEntry(key); entry < displayForms.endEntry(key); entry++) {
+			forms.add(displayForms.display(entry, folded));
+		}
+	}
+}
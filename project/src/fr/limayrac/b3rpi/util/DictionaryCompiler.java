@@ -0,0 +1,44 @@
+/**
+ * "DictionaryCompiler" class is the offline step turning the text word list into a compiled dictionary file.
+ *
+ * Usage: java fr.limayrac.b3rpi.util.DictionaryCompiler [output]
+ * The word list bundled with the application is compiled to the given file, or to the default path of the
+ * compiled dictionary (see "DictionaryFile.defaultPath").
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public class DictionaryCompiler {
+
+	/**
+	 * Compiles the bundled word list.
+	 *
+	 * @param args The output path (optional).
+	 * @throws IOException If the list cannot be read or the file cannot be written.
+	 */
+	public static void main(String[] args) throws IOException {
+		Path output = args.length > 0 ? Paths.get(args[0]) : DictionaryFile.defaultPath();
+		URL source = FileUtil.class.getResource(FileUtil.FILE_PATH);
+		if (source == null) {
+			throw new IOException("Liste de mots introuvable : " + FileUtil.FILE_PATH);
+		}
+		long start = System.nanoTime();
+		Dictionary dictionary;
+		try (InputStream inputStream = source.openStream()) {
+			dictionary = Dictionary.readText(inputStream);
+		}
+		DictionaryFile.write(output, dictionary, DictionaryFile.stamp(source));
+		System.out.printf("%d mots compilés dans %s en %d ms%n", dictionary.getWords().size(), output,
+				(System.nanoTime() - start) / 1_000_000);
+	}
+}
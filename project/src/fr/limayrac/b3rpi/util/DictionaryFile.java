@@ -0,0 +1,215 @@
+/**
+ * "DictionaryFile" class reads and writes the compiled binary dictionary format.
+ *
+ * The text word list must be parsed, sorted and indexed at every start. The compiled format stores the result of
+ * that work: the arrays of the word graph and of the index, written one after the other behind a small header.
+ * At runtime the file is mapped in memory with "FileChannel.map" and the structures read their arrays in place,
+ * with no parsing and no per-word allocation. The mapping goes through the page cache, so several JVMs on the
+ * same host share a single copy of the dictionary.
+ *
+ * The header records a format version and the size and modification time of the text list it was compiled from,
+ * so a missing, outdated or stale file is detected and the caller can fall back to the text list.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reading and writing of compiled dictionary files.
+ */
+public final class DictionaryFile {
+
+	/**
+	 * "MFDC": Mots Fléchés DiCtionnaire.
+	 */
+	private static final int MAGIC = 0x4D464443;
+
+	/**
+	 * Version of the layout, to be increased whenever the layout of a structure changes.
+	 */
+	static final int VERSION = 2;
+
+	/**
+	 * System property giving the path of the compiled dictionary.
+	 */
+	public static final String PATH_PROPERTY = "motsfleches.dictionnaire";
+
+	private DictionaryFile() {
+	}
+
+	/**
+	 * Returns the path of the compiled dictionary: the "motsfleches.dictionnaire" system property if set,
+	 * "liste_francais.dict" in the working directory otherwise.
+	 *
+	 * @return The path of the compiled dictionary.
+	 */
+	public static Path defaultPath() {
+		return Paths.get(System.getProperty(PATH_PROPERTY, "liste_francais.dict"));
+	}
+
+	/**
+	 * Describes a text word list by its size and modification time, which are recorded in the compiled file.
+	 *
+	 * @param source The URL of the text word list.
+	 * @return The size and modification time of the list.
+	 * @throws IOException If the list cannot be reached.
+	 */
+	public static long[] stamp(URL source) throws IOException {
+		URLConnection connection = source.openConnection();
+		connection.setUseCaches(false);
+		long[] stamp = {connection.getContentLengthLong(), connection.getLastModified()};
+		connection.getInputStream().close();
+		return stamp;
+	}
+
+	/**
+	 * Maps a compiled dictionary in memory.
+	 *
+	 * @param path  The compiled dictionary.
+	 * @param stamp The size and modification time of the current text word list.
+	 * @return The dictionary, read in place, or null if the file is missing, of another version, or stale.
+	 * @throws IOException If the file exists but cannot be mapped, or if its sections do not fit its size.
+	 */
+	public static Dictionary map(Path path, long[] stamp) throws IOException {
+		if (!Files.isRegularFile(path)) {
+			return null;
+		}
+		MappedByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		if (buffer.remaining() < 24 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION
+				|| buffer.getLong() != stamp[0] || buffer.getLong() != stamp[1]) {
+			return null;
+		}
+		Dawg words = Dawg.map(buffer);
+		WordIndex index = WordIndex.map(buffer);
+		DisplayForms displayForms = DisplayForms.map(buffer);
+		if (buffer.hasRemaining()) {
+			throw new IOException("Dictionnaire compilé corrompu : " + buffer.remaining() + " octets en trop");
+		}
+		return new Dictionary(words, index, displayForms);
+	}
+
+	/**
+	 * Writes a compiled dictionary. The file is written under a temporary name then moved in place,
+	 * so a running application never maps a half-written file.
+	 *
+	 * @param path       The compiled dictionary.
+	 * @param dictionary The dictionary to write.
+	 * @param stamp      The size and modification time of the text word list it was built from.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public static void write(Path path, Dictionary dictionary, long[] stamp) throws IOException {
+		Path directory = path.toAbsolutePath().getParent();
+		Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(stamp[0]);
+			out.writeLong(stamp[1]);
+			dictionary.getWords().write(out);
+			dictionary.getIndex().write(out);
+			dictionary.getDisplayForms().write(out);
+		} catch (IOException e) {
+			Files.deleteIfExists(temporary);
+			throw e;
+		}
+		Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Reads the number of elements of an array of a section.
+	 *
+	 * @throws IOException If the file ends before the number, or if it is negative.
+	 */
+	static int count(ByteBuffer buffer) throws IOException {
+		if (buffer.remaining() < Integer.BYTES) {
+			throw new IOException("Dictionnaire compilé tronqué");
+		}
+		int count = buffer.getInt();
+		if (count < 0) {
+			throw new IOException("Dictionnaire compilé corrompu : " + count + " éléments");
+		}
+		return count;
+	}
+
+	/**
+	 * Returns a view of the next count ints of the buffer and moves its position past them.
+	 */
+	static IntBuffer ints(ByteBuffer buffer, int count) throws IOException {
+		checkRemaining(buffer, count, Integer.BYTES);
+		IntBuffer view = buffer.slice().limit(count * Integer.BYTES).slice().asIntBuffer();
+		buffer.position(buffer.position() + count * Integer.BYTES);
+		return view;
+	}
+
+	/**
+	 * Returns a view of the next count chars of the buffer and moves its position past them.
+	 */
+	static CharBuffer chars(ByteBuffer buffer, int count) throws IOException {
+		checkRemaining(buffer, count, Character.BYTES);
+		CharBuffer view = buffer.slice().limit(count * Character.BYTES).slice().asCharBuffer();
+		buffer.position(buffer.position() + count * Character.BYTES);
+		return view;
+	}
+
+	/**
+	 * Returns a view of the next count longs of the buffer and moves its position past them.
+	 */
+	static LongBuffer longs(ByteBuffer buffer, int count) throws IOException {
+		checkRemaining(buffer, count, Long.BYTES);
+		LongBuffer view = buffer.slice().limit(count * Long.BYTES).slice().asLongBuffer();
+		buffer.position(buffer.position() + count * Long.BYTES);
+		return view;
+	}
+
+	/**
+	 * Checks that an array of a section fits in the rest of the file, so a truncated or corrupted file is
+	 * reported as such instead of failing later on a buffer underflow.
+	 */
+	private static void checkRemaining(ByteBuffer buffer, int count, int bytes) throws IOException {
+		if (count < 0 || (long) count * bytes > buffer.remaining()) {
+			throw new IOException("Dictionnaire compilé tronqué ou corrompu : " + count + " éléments de " + bytes
+					+ " octets, " + buffer.remaining() + " octets restants");
+		}
+	}
+
+	static void write(DataOutputStream out, IntBuffer values) throws IOException {
+		for (int i = 0; i < values.limit(); i++) {
+			out.writeInt(values.get(i));
+		}
+	}
+
+	static void write(DataOutputStream out, CharBuffer values) throws IOException {
+		for (int i = 0; i < values.limit(); i++) {
+			out.writeChar(values.get(i));
+		}
+	}
+
+	static void write(DataOutputStream out, LongBuffer values) throws IOException {
+		for (int i = 0; i < values.limit(); i++) {
+			out.writeLong(values.get(i));
+		}
+	}
+}
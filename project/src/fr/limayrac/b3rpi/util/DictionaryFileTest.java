@@ -0,0 +1,59 @@
+package fr.limayrac.b3rpi.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DictionaryFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writeAndMap() throws Exception {
+        Dictionary dictionary = Dictionary.of(List.of("arbre", "abord", "autre", "bar", "arc"));
+        Path path = directory.resolve("test.dict");
+        DictionaryFile.write(path, dictionary, new long[]{42, 7});
+
+        Dictionary mapped = DictionaryFile.map(path, new long[]{42, 7});
+        assertNotNull(mapped);
+        assertEquals(5, mapped.getWords().size());
+        assertEquals("ARC", mapped.getWords().wordAt(2));
+        QueryEngine engine = new QueryEngine(mapped);
+        assertEquals(List.of("abord", "arbre", "autre"), engine.find(WordPattern.compile("a??r?")));
+    }
+
+    @Test
+    void staleOrMissingFile() throws Exception {
+        Path path = directory.resolve("test.dict");
+        assertNull(DictionaryFile.map(path, new long[]{42, 7}));
+        DictionaryFile.write(path, Dictionary.of(List.of("arbre")), new long[]{42, 7});
+        assertNull(DictionaryFile.map(path, new long[]{43, 7}));
+    }
+
+    @Test
+    void truncatedOrCorruptedFile() throws Exception {
+        Path path = directory.resolve("test.dict");
+        DictionaryFile.write(path, Dictionary.of(List.of("arbre", "abord", "autre", "bar", "arc")), new long[]{42, 7});
+        long size = Files.size(path);
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(size - 6);
+        }
+        assertThrows(IOException.class, () -> DictionaryFile.map(path, new long[]{42, 7}));
+
+        DictionaryFile.write(path, Dictionary.of(List.of("arbre", "abord", "autre", "bar", "arc")), new long[]{42, 7});
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            // Number of nodes of the word graph, right after the header
+            file.seek(24);
+            file.writeInt(Integer.MAX_VALUE);
+        }
+        assertThrows(IOException.class, () -> DictionaryFile.map(path, new long[]{42, 7}));
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * "DictionaryRepository" interface is the storage of the dictionary seen by the rest of the application, so that
+ * the word list file can be replaced by a database without touching the queries of the grid.
+ *
+ * Two repositories are provided: "MemoryDictionaryRepository", the indexed dictionary held in memory (the text
+ * word list or its compiled file), and "JdbcDictionaryRepository", an embedded SQL database whose indexes answer
+ * the same pattern queries, for lexicons too large for the heap and for words with metadata.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A source of dictionary words answering pattern queries.
+ */
+public interface DictionaryRepository extends AutoCloseable {
+
+	/**
+	 * Number of words read at once by {@link #stream(WordPattern, int, int)}.
+	 */
+	int PAGE_SIZE = 1000;
+
+	/**
+	 * Returns the number of distinct search keys of the dictionary.
+	 *
+	 * @return The number of keys.
+	 */
+	int size();
+
+	/**
+	 * Returns the number of distinct search keys matching the pattern.
+	 *
+	 * @param pattern The compiled pattern.
+	 * @return The number of matching keys.
+	 */
+	int count(WordPattern pattern);
+
+	/**
+	 * Returns a page of the words matching the pattern, as they are written in the dictionary, in dictionary order.
+	 *
+	 * @param pattern The compiled pattern.
+	 * @param offset  The number of words to skip.
+	 * @param limit   The maximum number of words returned.
+	 * @return The words of the page.
+	 */
+	List<String> find(WordPattern pattern, int offset, int limit);
+
+	/**
+	 * Returns the words matching the pattern as a lazy stream, in dictionary order, so that a long list is never
+	 * held in memory. By default the words are read page by page with {@link #find(WordPattern, int, int)}.
+	 *
+	 * @param pattern The compiled pattern.
+	 * @param offset  The number of words to skip.
+	 * @param limit   The maximum number of words returned.
+	 * @return The stream of words.
+	 */
+	default Stream<String> stream(WordPattern pattern, int offset, int limit) {
+		int start = Math.max(0, offset);
+		long end = Math.min((long) start + Math.max(0, limit), Integer.MAX_VALUE);
+		Iterator<String> words = new Iterator<>() {
+			private List<String> page = List.of();
+			private int next = start;
+			private int index;
+
+			@Override
+			public boolean hasNext() {
+				if (index == page.size() && next < end && (page.size() == PAGE_SIZE || next == start)) {
+					page = find(pattern, next, (int) Math.min(PAGE_SIZE, end - next));
+					next += page.size();
+					index = 0;
+				}
+				return index < page.size();
+			}
+
+			@Override
+			public String next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return page.get(index++);
+			}
+		};
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(words, Spliterator.ORDERED | Spliterator.NONNULL),
+				false);
+	}
+
+	/**
+	 * Returns the frequency recorded for a word.
+	 *
+	 * @param word The word, as written in the dictionary.
+	 * @return The frequency, 0 if none is recorded.
+	 */
+	int frequency(String word);
+
+	/**
+	 * Returns the tags recorded for a word, such as "nom propre" or "sigle".
+	 *
+	 * @param word The word, as written in the dictionary.
+	 * @return The tags, empty if none are recorded.
+	 */
+	List<String> tags(String word);
+
+	/**
+	 * Records the frequency and the tags of a word of the dictionary.
+	 *
+	 * @param word      The word, as written in the dictionary.
+	 * @param frequency The frequency.
+	 * @param tags      The tags.
+	 */
+	void setMetadata(String word, int frequency, List<String> tags);
+
+	/**
+	 * Releases the resources of the repository.
+	 */
+	@Override
+	void close();
+}
@@ -0,0 +1,143 @@
+/**
+ * "DictionaryService" class is the dictionary shared by all the grids and worker threads of the application.
+ *
+ * The word list is loaded once per process, whatever the number of open grids, and kept up to date (see
+ * "LiveDictionary"). Every version of the dictionary is immutable, so any number of threads query it at once
+ * without locks; the results of the queries are returned to the caller, never kept in the service. The query
+ * cache is split into segments, so that concurrent sessions do not queue on a single lock.
+ *
+ * The pattern queries of the HTTP server go through the repository of the service (see "DictionaryRepository"):
+ * the live dictionary itself by default, or the SQL database given by the "motsfleches.base" system property,
+ * filled from the word list the first time it is opened.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The process-wide dictionary.
+ */
+public final class DictionaryService {
+
+	/**
+	 * Number of segments of the query cache of the shared dictionary.
+	 */
+	private static final int CACHE_SEGMENTS = 64;
+
+	/**
+	 * System property giving the JDBC URL of the database answering the pattern queries, such as
+	 * "jdbc:h2:./motsfleches".
+	 */
+	public static final String DATABASE_PROPERTY = "motsfleches.base";
+
+	private static final class Shared {
+		static final DictionaryService INSTANCE = create();
+
+		private static DictionaryService create() {
+			URL source = FileUtil.source();
+			String database = System.getProperty(DATABASE_PROPERTY);
+			DictionaryService service = database == null ? new DictionaryService(source)
+					: new DictionaryService(source, openDatabase(database, source));
+			try {
+				service.dictionary.watch();
+			} catch (IOException e) {
+				Metrics.failure(LiveDictionary.WATCH_ERRORS, "Surveillance de la liste de mots impossible : " + source, e);
+			}
+			return service;
+		}
+	}
+
+	private final LiveDictionary dictionary;
+	private final DictionaryRepository repository;
+
+	/**
+	 * Constructor of the DictionaryService class, for a service of its own; the application uses {@link #shared()}.
+	 * Starts loading the dictionary in the background and returns immediately.
+	 *
+	 * @param source The URL of the text word list.
+	 */
+	public DictionaryService(URL source) {
+		dictionary = new LiveDictionary(source, new QueryCache(QueryCache.DEFAULT_CAPACITY, CACHE_SEGMENTS));
+		repository = new MemoryDictionaryRepository(dictionary);
+	}
+
+	/**
+	 * Constructor of the DictionaryService class, whose pattern queries are answered by the given repository.
+	 *
+	 * @param source     The URL of the text word list.
+	 * @param repository The repository.
+	 */
+	public DictionaryService(URL source, DictionaryRepository repository) {
+		dictionary = new LiveDictionary(source, new QueryCache(QueryCache.DEFAULT_CAPACITY, CACHE_SEGMENTS));
+		this.repository = repository;
+	}
+
+	/**
+	 * Opens the database of the dictionary, and imports the word list into it if it is empty.
+	 *
+	 * @param url    The JDBC URL of the database.
+	 * @param source The URL of the text word list.
+	 * @return The repository of the database.
+	 */
+	static JdbcDictionaryRepository openDatabase(String url, URL source) {
+		JdbcDictionaryRepository repository = new JdbcDictionaryRepository(url);
+		if (repository.size() == 0) {
+			try (InputStream inputStream = source.openStream()) {
+				repository.importText(inputStream);
+			} catch (IOException e) {
+				repository.close();
+				throw new IllegalStateException("Import de la liste de mots impossible : " + source, e);
+			}
+		}
+		return repository;
+	}
+
+	/**
+	 * Returns the dictionary of the process, loading it on the first call. Its word list is the one given by
+	 * "FileUtil.source", and is watched for changes.
+	 *
+	 * @return The shared service.
+	 */
+	public static DictionaryService shared() {
+		return Shared.INSTANCE;
+	}
+
+	/**
+	 * Returns the readiness handle of the dictionary, completed once its first version is loaded.
+	 *
+	 * @return The future query engine of the first version.
+	 */
+	public CompletableFuture<QueryEngine> whenReady() {
+		return dictionary.whenReady();
+	}
+
+	/**
+	 * Returns the current version of the dictionary, waiting for the first one if it is still loading.
+	 *
+	 * @return The query engine of the current version.
+	 */
+	public QueryEngine current() {
+		return dictionary.current();
+	}
+
+	public LiveDictionary getDictionary() {
+		return dictionary;
+	}
+
+	/**
+	 * Returns the repository answering the pattern queries of the service.
+	 *
+	 * @return The repository.
+	 */
+	public DictionaryRepository repository() {
+		return repository;
+	}
+}
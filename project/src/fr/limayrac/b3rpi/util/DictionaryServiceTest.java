@@ -0,0 +1,67 @@
+package fr.limayrac.b3rpi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DictionaryServiceTest {
+
+    private static final int SESSIONS = 48;
+
+    @Test
+    void shared() {
+        assertSame(DictionaryService.shared(), DictionaryService.shared());
+        assertSame(DictionaryService.shared().getDictionary(), new FileUtil().getDictionary());
+    }
+
+    @Test
+    void concurrentSessions() throws Exception {
+        DictionaryService service = new DictionaryService(FileUtil.class.getResource(FileUtil.FILE_PATH));
+        String[] letters = {"A", "B", "C", "M", "P", "T"};
+        List<List<String>> expected = new ArrayList<>();
+        ModeleGrille reference = grid();
+        for (String letter : letters) {
+            expected.add(new FileUtil(service).printWordsStartingWith(letter, 8, 0, 0, "DROITE", reference).words());
+        }
+        CyclicBarrier start = new CyclicBarrier(SESSIONS);
+        ExecutorService pool = Executors.newFixedThreadPool(SESSIONS);
+        try {
+            List<Future<?>> sessions = new ArrayList<>();
+            for (int s = 0; s < SESSIONS; s++) {
+                int session = s;
+                sessions.add(pool.submit(() -> {
+                    // Every session has its own grid and its own FileUtil on the shared dictionary
+                    ModeleGrille grid = grid();
+                    FileUtil fileUtil = new FileUtil(service);
+                    start.await();
+                    for (int i = 0; i < 200; i++) {
+                        int which = (session + i) % letters.length;
+                        QueryResult result = fileUtil.printWordsStartingWith(letters[which], 8, 0, 0, "DROITE", grid);
+                        assertEquals(expected.get(which), result.words());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> session : sessions) {
+                session.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertSame(service.current(), service.whenReady().join());
+    }
+
+    private static ModeleGrille grid() {
+        ModeleGrille grid = new ModeleGrille(9, 9);
+        grid.setDefinition(0, 0, 0, "Définition", Direction.DROITE);
+        grid.setLetter(0, 3, 'R');
+        return grid;
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * "Direction" enum lists the four ways a word can run from its definition cell in a mots fléchés grid.
+ *
+ * BAS and DROITE start next to the definition cell and go on in the same direction. BAS-DROITE starts below the
+ * definition cell and runs to the right, DROITE-BAS starts on its right and runs downwards.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+/**
+ * The direction of a word, relative to its definition cell.
+ */
+public enum Direction {
+
+	BAS("BAS", "↓", 1, 0, 1, 0),
+	DROITE("DROITE", "→", 0, 1, 0, 1),
+	BAS_DROITE("BAS-DROITE", "↳", 1, 0, 0, 1),
+	DROITE_BAS("DROITE-BAS", "↴", 0, 1, 1, 0);
+
+	private final String label;
+	private final String arrow;
+	private final int startRow;
+	private final int startColumn;
+	private final int stepRow;
+	private final int stepColumn;
+
+	Direction(String label, String arrow, int startRow, int startColumn, int stepRow, int stepColumn) {
+		this.label = label;
+		this.arrow = arrow;
+		this.startRow = startRow;
+		this.startColumn = startColumn;
+		this.stepRow = stepRow;
+		this.stepColumn = stepColumn;
+	}
+
+	/**
+	 * Returns the direction with the given label, as proposed to the user.
+	 *
+	 * @param label The label ("BAS", "DROITE", "BAS-DROITE" or "DROITE-BAS").
+	 * @return The direction, null if the label is unknown.
+	 */
+	public static Direction fromLabel(String label) {
+		for (Direction direction : values()) {
+			if (direction.label.equals(label)) {
+				return direction;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the labels of the directions, in declaration order.
+	 *
+	 * @return The labels.
+	 */
+	public static String[] labels() {
+		String[] labels = new String[values().length];
+		for (Direction direction : values()) {
+			labels[direction.ordinal()] = direction.label;
+		}
+		return labels;
+	}
+
+	public String getLabel() {
+		return label;
+	}
+
+	/**
+	 * Returns the arrow drawn in the first cell of the word.
+	 *
+	 * @return The arrow symbol.
+	 */
+	public String getArrow() {
+		return arrow;
+	}
+
+	/**
+	 * Returns the row of the i-th letter of a word defined in the given cell.
+	 *
+	 * @param row The row of the definition cell.
+	 * @param i   The position of the letter in the word.
+	 * @return The row of the letter.
+	 */
+	public int row(int row, int i) {
+		return row + startRow + i * stepRow;
+	}
+
+	/**
+	 * Returns the column of the i-th letter of a word defined in the given cell.
+	 *
+	 * @param column The column of the definition cell.
+	 * @param i      The position of the letter in the word.
+	 * @return The column of the letter.
+	 */
+	public int column(int column, int i) {
+		return column + startColumn + i * stepColumn;
+	}
+
+	/**
+	 * Tells whether the word runs horizontally.
+	 *
+	 * @return true for DROITE and BAS-DROITE.
+	 */
+	public boolean isHorizontal() {
+		return stepColumn == 1;
+	}
+}
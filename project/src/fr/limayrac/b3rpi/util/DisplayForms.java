@@ -0,0 +1,175 @@
+/**
+ * "DisplayForms" class maps the search keys of the dictionary back to the words as they are written.
+ *
+ * Several entries can share a key ("pécher" and "pêcher" both give "PECHER"). The entries are numbered in key
+ * order, and most of them are written exactly as their lower-cased key ("abaisse" for "ABAISSE"): only the other
+ * ones (capitals, accents, hyphens) are stored, which keeps the table small next to the word graph.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * An immutable table of the display forms of the dictionary entries.
+ */
+public final class DisplayForms {
+
+	/**
+	 * The entries of key k are entryStart[k] .. entryStart[k + 1] - 1.
+	 */
+	private final IntBuffer entryStart;
+
+	/**
+	 * Sorted identifiers of the entries not written as their lower-cased key.
+	 */
+	private final IntBuffer exceptionIds;
+
+	/**
+	 * Start of each exception in {@link #exceptionChars}; the last entry is the total size.
+	 */
+	private final IntBuffer exceptionOffsets;
+	private final CharBuffer exceptionChars;
+
+	/**
+	 * Builds the table.
+	 *
+	 * @param keys     The distinct keys, sorted.
+	 * @param displays For each key, its display forms, sorted.
+	 */
+	DisplayForms(List<String> keys, List<List<String>> displays) {
+		int[] entryStart = new int[keys.size() + 1];
+		List<Integer> ids = new ArrayList<>();
+		StringBuilder chars = new StringBuilder();
+		List<Integer> offsets = new ArrayList<>();
+		int entry = 0;
+		for (int k = 0; k < keys.size(); k++) {
+			entryStart[k] = entry;
+			String lower = keys.get(k).toLowerCase(Locale.ROOT);
+			for (String display : displays.get(k)) {
+				if (!display.equals(lower)) {
+					ids.add(entry);
+					offsets.add(chars.length());
+					chars.append(display);
+				}
+				entry++;
+			}
+		}
+		entryStart[keys.size()] = entry;
+		offsets.add(chars.length());
+		this.entryStart = IntBuffer.wrap(entryStart);
+		this.exceptionIds = IntBuffer.wrap(ids.stream().mapToInt(Integer::intValue).toArray());
+		this.exceptionOffsets = IntBuffer.wrap(offsets.stream().mapToInt(Integer::intValue).toArray());
+		this.exceptionChars = CharBuffer.wrap(chars.toString().toCharArray());
+	}
+
+	private DisplayForms(IntBuffer entryStart, IntBuffer exceptionIds, IntBuffer exceptionOffsets, CharBuffer exceptionChars) {
+		this.entryStart = entryStart;
+		this.exceptionIds = exceptionIds;
+		this.exceptionOffsets = exceptionOffsets;
+		this.exceptionChars = exceptionChars;
+	}
+
+	/**
+	 * Reads a table written by {@link #write(DataOutputStream)} in place from the buffer, without copying it.
+	 * The buffer position is moved past the table.
+	 *
+	 * @param buffer The buffer, typically a memory-mapped dictionary file.
+	 * @return The table.
+	 * @throws IOException If the arrays do not fit in the rest of the buffer.
+	 */
+	static DisplayForms map(ByteBuffer buffer) throws IOException {
+		int keys = DictionaryFile.count(buffer);
+		int exceptions = DictionaryFile.count(buffer);
+		int chars = DictionaryFile.count(buffer);
+		IntBuffer entryStart = DictionaryFile.ints(buffer, keys + 1);
+		IntBuffer exceptionIds = DictionaryFile.ints(buffer, exceptions);
+		IntBuffer exceptionOffsets = DictionaryFile.ints(buffer, exceptions + 1);
+		CharBuffer exceptionChars = DictionaryFile.chars(buffer, chars);
+		return new DisplayForms(entryStart, exceptionIds, exceptionOffsets, exceptionChars);
+	}
+
+	/**
+	 * Writes the table, in the layout read by {@link #map(ByteBuffer)}.
+	 *
+	 * @param out The output stream.
+	 * @throws IOException If the table cannot be written.
+	 */
+	void write(DataOutputStream out) throws IOException {
+		out.writeInt(entryStart.limit() - 1);
+		out.writeInt(exceptionIds.limit());
+		out.writeInt(exceptionChars.limit());
+		DictionaryFile.write(out, entryStart);
+		DictionaryFile.write(out, exceptionIds);
+		DictionaryFile.write(out, exceptionOffsets);
+		DictionaryFile.write(out, exceptionChars);
+	}
+
+	/**
+	 * Returns the number of entries.
+	 *
+	 * @return The number of entries, all keys included.
+	 */
+	public int size() {
+		return entryStart.get(entryStart.limit() - 1);
+	}
+
+	/**
+	 * Returns the first entry of a key.
+	 *
+	 * @param key The key identifier.
+	 * @return The identifier of its first entry.
+	 */
+	public int firstEntry(int key) {
+		return entryStart.get(key);
+	}
+
+	/**
+	 * Returns the end (exclusive) of the entries of a key.
+	 *
+	 * @param key The key identifier.
+	 * @return The identifier following its last entry.
+	 */
+	public int endEntry(int key) {
+		return entryStart.get(key + 1);
+	}
+
+	/**
+	 * Returns how an entry is written.
+	 *
+	 * @param entry     The entry identifier.
+	 * @param foldedKey The key of the entry.
+	 * @return The display form.
+	 */
+	public String display(int entry, String foldedKey) {
+		int low = 0;
+		int high = exceptionIds.limit() - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int id = exceptionIds.get(mid);
+			if (id < entry) {
+				low = mid + 1;
+			} else if (id > entry) {
+				high = mid - 1;
+			} else {
+				int from = exceptionOffsets.get(mid);
+				int to = exceptionOffsets.get(mid + 1);
+				char[] display = new char[to - from];
+				exceptionChars.get(from, display);
+				return new String(display);
+			}
+		}
+		return foldedKey.toLowerCase(Locale.ROOT);
+	}
+}
@@ -2,9 +2,9 @@
  * "FileUtil" class provides functionality for reading words from a French word list file and
  * searching for words that start with a specified letter and meet certain criteria in a crossword puzzle grid.
  *
- * The class loads a list of French words from the specified file and stores them in an internal data structure.
+ * The class loads a list of French words from the specified file and stores them in a compact word graph (DAWG).
  * It then provides a method "printMotsDebut" to search for words starting with a given letter and meeting certain
- * conditions (e.g., length less than "e") in a specified direction (DOWN, RIGHT, DOWNRIGHT, RIGHTDOWN) in the crossword grid.
+ * conditions (e.g., length less than "e") in a specified direction (BAS, DROITE, BAS-DROITE, DROITE-BAS) in the crossword grid.
  *
  * The class is designed to be used in conjunction with the "fr.limayrac.b3rpi.util.Start" class, where the crossword puzzle grid is displayed,
  * and the user interacts with the grid to add words and their definitions.
@@ -16,220 +16,125 @@
 
 package fr.limayrac.b3rpi.util;
 
-import javax.swing.*;
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A utility class to handle file operations related to the crossword puzzle game.
  */
 public class FileUtil {
 
-	private static final String FILE_PATH = "/fr/limayrac/b3rpi/util/liste_francais.txt";
-	public ArrayList<String> words;
-	private ArrayList<String> wordList = null;
-	private JButton[][] gridButtons;
+	static final String FILE_PATH = "/fr/limayrac/b3rpi/util/liste_francais.txt";
 
 	/**
-	 * Constructor for FileUtil. Initializes the word list by reading from the file.
+	 * System property giving the path of another text word list.
+	 */
+	public static final String SOURCE_PROPERTY = "motsfleches.source";
+
+	private static final Metrics.Histogram SEARCH_TIME = Metrics.histogram("grid.search");
+	private final DictionaryService service;
+
+	/**
+	 * Constructor for FileUtil, on the dictionary shared by the whole application (see "DictionaryService"). The
+	 * dictionary is loaded once, in the background, by the first instance; the constructor returns immediately.
 	 */
 	public FileUtil() {
+		this(DictionaryService.shared());
+	}
+
+	/**
+	 * Constructor for FileUtil, on the given dictionary.
+	 *
+	 * @param service The dictionary to search.
+	 */
+	public FileUtil(DictionaryService service) {
 		super();
-		wordList = new ArrayList<>();
-		openFile();
+		this.service = service;
+	}
+
+	/**
+	 * Returns the readiness handle of the dictionary, completed once it is opened and indexed.
+	 *
+	 * @return The future query engine over the first version of the dictionary.
+	 */
+	public CompletableFuture<QueryEngine> whenReady() {
+		return service.whenReady();
 	}
 
 	/**
-	 * Sets the grid buttons for the crossword puzzle.
+	 * Returns the dictionary, whose current version is read by each search.
 	 *
-	 * @param gridButtons The 2D array of JButtons representing the crossword puzzle grid.
+	 * @return The live dictionary.
 	 */
-	public void setGridButtons(JButton[][] gridButtons) {
-		this.gridButtons = gridButtons;
+	public LiveDictionary getDictionary() {
+		return service.getDictionary();
 	}
 
 	/**
-	 * Opens the word list file and populates the wordList ArrayList.
+	 * Returns the word list: the bundled one, or the file given by the "motsfleches.source" system property.
+	 *
+	 * @return The URL of the text word list.
 	 */
-	private void openFile() {
+	static URL source() {
+		String path = System.getProperty(SOURCE_PROPERTY);
+		if (path == null) {
+			return FileUtil.class.getResource(FILE_PATH);
+		}
 		try {
-			InputStream inputStream = FileUtil.class.getResourceAsStream(FILE_PATH);
-			InputStreamReader inputStreamReader = new InputStreamReader(inputStream);
-			BufferedReader bufferedReader = new BufferedReader(inputStreamReader);
-			String line;
-			while ((line = bufferedReader.readLine()) != null) {
-				wordList.add(line);
-			}
-			bufferedReader.close();
-		} catch (IOException e) {
-			System.out.println(e.toString());
+			return Paths.get(path).toUri().toURL();
+		} catch (MalformedURLException e) {
+			throw new IllegalArgumentException("Liste de mots invalide : " + path, e);
 		}
 	}
 
 	/**
-	 * Prints the words that start with the specified letter and fit the given length and direction.
-	 * The method filters words that match the criteria and displays them on the grid panel.
+	 * Searches the words that start with the specified letter and fit the given length and direction.
+	 * The letters already placed in the slot of the grid model are turned into a pattern (for example "a??r")
+	 * which is answered by the query engine instead of scanning the list. Repeated searches are answered by
+	 * its cache, and return the result shared by the cache, not a copy.
+	 * If no word matches the grid letters, the words starting with the selected letter are used instead.
+	 * Runs on the current version of the dictionary, waiting for it if it is still loading. The search is timed
+	 * and, when tracing is on, logged (see "Metrics"); the words themselves are no longer printed.
+	 * Nothing is kept in this object, so a FileUtil can be used by several threads at once.
 	 *
 	 * @param d         The starting letter of the word.
-	 * @param e         The maximum length of the word.
-	 * @param x         The row index of the starting position on the grid.
-	 * @param y         The column index of the starting position on the grid.
-	 * @param direction The chosen direction (DOWN, RIGHT, DOWNRIGHT, RIGHTDOWN).
-	 * @param rows      The number of rows in the crossword grid.
-	 * @param columns   The number of columns in the crossword grid.
-	 * @param gridPanels The 2D array of JPanels representing the crossword puzzle grid.
-	 * @param letters   The 2D array of JLabels representing the letters in the grid.
+	 * @param e         The maximum length of the word; no word is found when it is 0.
+	 * @param x         The row index of the definition cell on the grid.
+	 * @param y         The column index of the definition cell on the grid.
+	 * @param direction The chosen direction (BAS, DROITE, BAS-DROITE, DROITE-BAS).
+	 * @param grid      The model of the crossword puzzle grid.
+	 * @return The matching words, null when the direction is unknown.
 	 */
-	public void printWordsStartingWith(String d, Integer e, int x, int y, String direction, int rows, int columns,
-									   JPanel[][] gridPanels, JLabel[][] letters) {
-		System.out.printf("Displaying words starting with %s%n", d);
-		words = new ArrayList<>();
-		ArrayList<String> wordsFiltered = new ArrayList<>();
-
-		int down = x + 1;
-		int right = y + 1;
-		int rightdown = x;
-		int downright = y;
-		int count = 0;
-
-		while (down < rows && rightdown < rows && right < columns && downright < columns &&
-				down >= 0 && rightdown >= 0 && right >= 0 && downright >= 0) {
-
-			if (direction.equals("BAS")) {
-				String buttonText = letters[down][downright].getText();
-				if (!buttonText.isEmpty()) {
-					char letter = buttonText.charAt(0);
-					if (!words.isEmpty()) {
-						for (String word : words) {
-							if (word.startsWith(d) && word.length() < e && word.length() > count && word.charAt(count) == letter) {
-								wordsFiltered.add(word);
-								System.out.println(word);
-							}
-							if (!wordsFiltered.isEmpty()) {
-								words.clear();
-							}
-						}
-					} else {
-						for (String word : wordList) {
-							if (word.startsWith(d) && word.length() < e && word.length() > count && word.charAt(count) == letter) {
-								wordsFiltered.add(word);
-								System.out.println(word);
-							}
-						}
-					}
-				}
-			}
-
-			if (direction.equals("DROITE-BAS")) {
-				String buttonText = letters[down][downright].getText();
-				if (!buttonText.isEmpty()) {
-					char letter = buttonText.charAt(0);
-					if (!words.isEmpty()) {
-						for (String word : words) {
-							if (word.startsWith(d) && word.length() < e && word.length() > count && word.charAt(count) == letter) {
-								wordsFiltered.add(word);
-								System.out.println(word);
-							}
-						}
-						if (!wordsFiltered.isEmpty()) {
-							words.clear();
-						}
-					} else {
-						for (String word : wordList) {
-							if (word.startsWith(d) && word.length() < e && word.length() > count && word.charAt(count) == letter) {
-								wordsFiltered.add(word);
-								System.out.println(word);
-							}
-						}
-					}
-				}
-			}
-
-			if (direction.equals("DROITE")) {
-				String buttonText = letters[rightdown][right].getText();
-				if (!buttonText.isEmpty()) {
-					char letter = buttonText.charAt(0);
-					if (!words.isEmpty()) {
-						for (String word : words) {
-							if (word.startsWith(d) && word.length() < e && word.length() > count && word.charAt(count) == letter) {
-								wordsFiltered.add(word);
-								System.out.println(word);
-							}
-						}
-						if (!wordsFiltered.isEmpty()) {
-							words.clear();
-						}
-					} else {
-						for (String word : wordList) {
-							if (word.startsWith(d) && word.length() < e && word.length() > count && word.charAt(count) == letter) {
-								wordsFiltered.add(word);
-								System.out.println(word);
-							}
-						}
-					}
-				}
-			}
-
-			if (direction.equals("BAS-DROITE")) {
-				String buttonText = letters[rightdown][right].getText();
-				if (!buttonText.isEmpty()) {
-					char letter = buttonText.charAt(0);
-					if (!words.isEmpty()) {
-						for (String word : words) {
-							if (word.startsWith(d) && word.length() < e && word.length() > count && word.charAt(count) == letter) {
-								wordsFiltered.add(word);
-								System.out.println(word);
-							}
-						}
-						if (!wordsFiltered.isEmpty()) {
-							words.clear();
-						}
-					} else {
-						for (String word : wordList) {
-							if (word.startsWith(d) && word.length() < e && word.length() > count && word.charAt(count) == letter) {
-								wordsFiltered.add(word);
-								System.out.println(word);
-							}
-						}
-					}
-				}
-			}
+	public QueryResult printWordsStartingWith(String d, Integer e, int x, int y, String direction, ModeleGrille grid) {
+		QueryEngine engine = service.current();
+		long startTime = System.nanoTime();
+		String start = d == null ? "" : d;
+		Direction dir = Direction.fromLabel(direction);
+		if (dir == null) {
+			return null;
+		}
+		if (e < 1) {
+			// No cell after the definition (edge of the grid, or another definition): no word fits
+			return new QueryResult(engine.getDictionary(), new int[0]);
+		}
 
-			if (!wordsFiltered.isEmpty()) {
-				words.addAll(wordsFiltered);
-				wordsFiltered.clear();
-			}
+		// Build the pattern: the starting letter(s), then the letters already in the slot
+		char[] pattern = new char[Math.max(grid.getRows(), grid.getColumns()) + start.length()];
+		int length = Math.max(grid.readSlot(x, y, dir, pattern), start.length());
+		start.getChars(0, start.length(), pattern, 0);
 
-			// Move in the specified direction
-			if (direction.equals("BAS")) {
-				down++;
-				count++;
-			}
-			if (direction.equals("BAS-DROITE")) {
-				downright++;
-				count++;
-			}
-			if (direction.equals("DROITE")) {
-				right++;
-				count++;
-			}
-			if (direction.equals("DROITE-BAS")) {
-				rightdown++;
-				count++;
-			}
-		}
-		words = wordsFiltered;
-		if (words.isEmpty()) {
+		QueryResult result = engine.query(WordPattern.compile(pattern, length, 1, e));
+		if (result.size() == 0) {
 			// If no words are found in the specified direction, display words starting with the selected letter
-			for (String word : wordList) {
-				if (word.startsWith(d) && word.length() <= e) {
-					words.add(word);
-					System.out.println(word);
-				}
-			}
+			result = engine.query(WordPattern.compile(start, 1, e));
+		}
+		long nanos = SEARCH_TIME.recordSince(startTime);
+		if (Metrics.tracing()) {
+			Metrics.trace("Mots commençant par %s (%s, %d cases) : %d mots en %d µs", start, direction, length,
+					result.size(), nanos / 1_000);
 		}
+		return result;
 	}
 }
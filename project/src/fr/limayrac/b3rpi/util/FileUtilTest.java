@@ -7,10 +7,25 @@ import static org.junit.jupiter.api.Assertions.*;
 class FileUtilTest {
 
     @Test
-    void setGridButtons() {
+    void printWordsStartingWith() {
+        FileUtil fileUtil = new FileUtil();
+        ModeleGrille grid = new ModeleGrille(3, 5);
+        grid.setDefinition(0, 0, 0, "Végétal", Direction.DROITE);
+        grid.setLetter(0, 2, 'R');
+        QueryResult result = fileUtil.printWordsStartingWith("a", 4, 0, 0, "DROITE", grid);
+        assertTrue(result.size() > 0);
+        assertTrue(result.words().stream().allMatch(word -> word.length() < 2 || Character.toLowerCase(word.charAt(1)) == 'r'));
+
+        // A definition on the last column has no cell on its right: no word, and no exception
+        grid.setDefinition(0, 4, 0, "Rien", Direction.DROITE);
+        assertEquals(0, fileUtil.printWordsStartingWith("a", grid.slotLength(0, 4, Direction.DROITE), 0, 4,
+                "DROITE", grid).size());
+        assertNull(fileUtil.printWordsStartingWith("a", 4, 0, 0, "AILLEURS", grid));
     }
 
     @Test
-    void printWordsStartingWith() {
+    void whenReady() {
+        QueryEngine engine = new FileUtil().whenReady().join();
+        assertTrue(engine.count(WordPattern.compile("a", 1, 10)) > 0);
     }
 }
\ No newline at end of file
@@ -0,0 +1,493 @@
+/**
+ * "FillEngine" class searches for a full, consistent fill of the slots of a grid.
+ *
+ * This is an assistant for the designer, not an automatic filler: it answers questions such as "can this corner
+ * still be filled?" before a dead end is discovered by hand. The search works on the folded search keys:
+ * <ul>
+ *     <li>the candidates of every slot are first given by the pattern index, from the letters already placed;</li>
+ *     <li>arc consistency is kept on every crossing: a candidate is dropped as soon as no candidate of a crossing
+ *     slot has the same letter on the shared cell;</li>
+ *     <li>the most constrained slot (fewest candidates left) is filled first, with backtracking;</li>
+ *     <li>the first levels of the search tree are split into tasks of a ForkJoinPool, so the search scales with
+ *     the number of cores.</li>
+ * </ul>
+ * The search stops when its time budget is spent or enough solutions are found. Partial fills (each time more
+ * slots are filled than before) and complete solutions are streamed to a listener as they are found.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A parallel constraint-propagation search over the slots of a grid.
+ */
+public class FillEngine {
+
+	/**
+	 * Outcome of a search.
+	 */
+	public enum Status {
+		/** At least one complete fill was found. */
+		SOLVED,
+		/** The whole search space was explored: the slots cannot be filled. */
+		IMPOSSIBLE,
+		/** The time budget was spent before a complete fill was found. */
+		TIMEOUT
+	}
+
+	/**
+	 * Receives the fills as they are found. Calls come from the threads of the pool.
+	 */
+	public interface Listener {
+
+		/**
+		 * Called each time a partial fill with more slots than before is reached.
+		 *
+		 * @param partial The partial fill.
+		 */
+		default void partial(FillSolution partial) {
+		}
+
+		/**
+		 * Called for each complete fill.
+		 *
+		 * @param solution The complete fill.
+		 */
+		void solution(FillSolution solution);
+	}
+
+	/**
+	 * Result of a search.
+	 */
+	public static final class Result {
+		private final Status status;
+		private final int solutions;
+		private final FillSolution best;
+		private final long elapsedMillis;
+
+		private Result(Status status, int solutions, FillSolution best, long elapsedMillis) {
+			this.status = status;
+			this.solutions = solutions;
+			this.best = best;
+			this.elapsedMillis = elapsedMillis;
+		}
+
+		public Status getStatus() {
+			return status;
+		}
+
+		/**
+		 * Returns the number of complete fills found.
+		 *
+		 * @return The number of solutions.
+		 */
+		public int getSolutions() {
+			return solutions;
+		}
+
+		/**
+		 * Returns the first complete fill found, or else the partial fill with the most slots.
+		 *
+		 * @return The best fill, null if the grid has no slot.
+		 */
+		public FillSolution getBest() {
+			return best;
+		}
+
+		public long getElapsedMillis() {
+			return elapsedMillis;
+		}
+	}
+
+	/**
+	 * Depth of the search tree down to which every branch becomes a task of its own.
+	 */
+	private static final int SPLIT_DEPTH = 3;
+
+	private final QueryEngine engine;
+	private final ForkJoinPool pool;
+
+	/**
+	 * Creates an engine running on the common ForkJoinPool.
+	 *
+	 * @param engine The query engine over the dictionary.
+	 */
+	public FillEngine(QueryEngine engine) {
+		this(engine, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructor of the FillEngine class.
+	 *
+	 * @param engine The query engine over the dictionary.
+	 * @param pool   The pool running the search.
+	 */
+	public FillEngine(QueryEngine engine, ForkJoinPool pool) {
+		this.engine = engine;
+		this.pool = pool;
+	}
+
+	/**
+	 * Searches for fills of all the slots of a grid. The letters already in the grid are kept.
+	 *
+	 * @param grid         The grid model; it is not modified.
+	 * @param budgetMillis The time budget of the search.
+	 * @param maxSolutions The number of complete fills after which the search stops.
+	 * @param listener     The listener receiving the fills, may be null.
+	 * @return The result of the search.
+	 */
+	public Result fill(ModeleGrille grid, long budgetMillis, int maxSolutions, Listener listener) {
+		return fill(grid, grid.slots(), budgetMillis, maxSolutions, listener);
+	}
+
+	/**
+	 * Searches for fills of some slots of a grid, for example the slots of a corner.
+	 * The letters already in the grid are kept; the other slots are ignored.
+	 *
+	 * @param grid         The grid model; it is not modified.
+	 * @param slots        The slots to fill.
+	 * @param budgetMillis The time budget of the search.
+	 * @param maxSolutions The number of complete fills after which the search stops.
+	 * @param listener     The listener receiving the fills, may be null.
+	 * @return The result of the search.
+	 */
+	public Result fill(ModeleGrille grid, List<Slot> slots, long budgetMillis, int maxSolutions, Listener listener) {
+		long start = System.nanoTime();
+		Search search = new Search(grid.copyLetters(), slots, start + budgetMillis * 1_000_000L, maxSolutions, listener);
+		int[][] domains = search.initialDomains();
+		if (domains != null && search.propagate(domains, allSlots(slots.size()))) {
+			int[] chosen = new int[slots.size()];
+			Arrays.fill(chosen, -1);
+			pool.invoke(search.new Branch(domains, chosen, 0));
+		}
+		long elapsed = Metrics.histogram("grid.fill").recordSince(start) / 1_000_000;
+		Status status;
+		if (search.solutions.get() > 0) {
+			status = Status.SOLVED;
+		} else if (search.timedOut.get()) {
+			status = Status.TIMEOUT;
+		} else {
+			status = Status.IMPOSSIBLE;
+		}
+		FillSolution best = search.firstSolution != null ? search.firstSolution : search.bestPartial;
+		return new Result(status, search.solutions.get(), best, elapsed);
+	}
+
+	private static int[] allSlots(int count) {
+		int[] all = new int[count];
+		for (int i = 0; i < count; i++) {
+			all[i] = i;
+		}
+		return all;
+	}
+
+	/**
+	 * Returns the bit standing for a letter in the letter masks used by the propagation.
+	 * All letters other than A-Z and 0-9 share the last bit, which only makes the propagation weaker.
+	 */
+	private static long bit(char c) {
+		if (c >= 'A' && c <= 'Z') {
+			return 1L << (c - 'A');
+		}
+		if (c >= '0' && c <= '9') {
+			return 1L << (26 + c - '0');
+		}
+		return 1L << 63;
+	}
+
+	/**
+	 * The data of one search, shared by all its tasks; the state of a branch lives in the tasks.
+	 */
+	private final class Search {
+		private final char[] letters;
+		private final List<Slot> slots;
+		private final long deadline;
+		private final int maxSolutions;
+		private final Listener listener;
+
+		/**
+		 * For each slot, its initial candidates: key identifiers and letters. A domain is an array of indexes
+		 * into these; domains are never modified once built, so branches share the unchanged ones.
+		 */
+		private final int[][] ids;
+		private final char[][][] words;
+
+		/**
+		 * For each slot s and each of its crossings c: the position in s, the crossing slot and the position
+		 * in the crossing slot.
+		 */
+		private final int[][] crossPosition;
+		private final int[][] crossSlot;
+		private final int[][] crossOtherPosition;
+
+		private final AtomicBoolean stop = new AtomicBoolean();
+		private final AtomicBoolean timedOut = new AtomicBoolean();
+		private final AtomicInteger solutions = new AtomicInteger();
+		private final AtomicInteger bestDepth = new AtomicInteger(-1);
+		private volatile FillSolution bestPartial;
+		private volatile FillSolution firstSolution;
+
+		private Search(char[] letters, List<Slot> slots, long deadline, int maxSolutions, Listener listener) {
+			this.letters = letters;
+			this.slots = slots;
+			this.deadline = deadline;
+			this.maxSolutions = Math.max(1, maxSolutions);
+			this.listener = listener;
+			ids = new int[slots.size()][];
+			words = new char[slots.size()][][];
+
+			Map<Integer, List<int[]>> slotsByCell = new HashMap<>();
+			for (int s = 0; s < slots.size(); s++) {
+				for (int i = 0; i < slots.get(s).length(); i++) {
+					slotsByCell.computeIfAbsent(slots.get(s).cell(i), k -> new ArrayList<>()).add(new int[]{s, i});
+				}
+			}
+			crossPosition = new int[slots.size()][];
+			crossSlot = new int[slots.size()][];
+			crossOtherPosition = new int[slots.size()][];
+			for (int s = 0; s < slots.size(); s++) {
+				List<int[]> crossings = new ArrayList<>();
+				for (int i = 0; i < slots.get(s).length(); i++) {
+					for (int[] other : slotsByCell.get(slots.get(s).cell(i))) {
+						if (other[0] != s) {
+							crossings.add(new int[]{i, other[0], other[1]});
+						}
+					}
+				}
+				crossPosition[s] = new int[crossings.size()];
+				crossSlot[s] = new int[crossings.size()];
+				crossOtherPosition[s] = new int[crossings.size()];
+				for (int c = 0; c < crossings.size(); c++) {
+					crossPosition[s][c] = crossings.get(c)[0];
+					crossSlot[s][c] = crossings.get(c)[1];
+					crossOtherPosition[s][c] = crossings.get(c)[2];
+				}
+			}
+		}
+
+		/**
+		 * Computes the candidates of every slot from the letters of the grid.
+		 *
+		 * @return The initial domains, null if a slot has no candidate.
+		 */
+		private int[][] initialDomains() {
+			Dawg dawg = engine.getDictionary().getWords();
+			Map<Integer, char[]> decoded = new HashMap<>();
+			int[][] domains = new int[slots.size()][];
+			for (int s = 0; s < slots.size(); s++) {
+				Slot slot = slots.get(s);
+				char[] pattern = new char[slot.length()];
+				for (int i = 0; i < slot.length(); i++) {
+					char letter = letters[slot.cell(i)];
+					pattern[i] = letter == ModeleGrille.EMPTY ? WordPattern.ANY : letter;
+				}
+				ids[s] = engine.findIds(WordPattern.compile(pattern, pattern.length, pattern.length, pattern.length));
+				words[s] = new char[ids[s].length][];
+				domains[s] = new int[ids[s].length];
+				for (int k = 0; k < ids[s].length; k++) {
+					words[s][k] = decoded.computeIfAbsent(ids[s][k], id -> dawg.wordAt(id).toCharArray());
+					domains[s][k] = k;
+				}
+				if (domains[s].length == 0) {
+					return null;
+				}
+			}
+			return domains;
+		}
+
+		/**
+		 * Restores arc consistency from the given slots (AC-3), replacing the domains that shrink.
+		 *
+		 * @return false if a domain becomes empty.
+		 */
+		private boolean propagate(int[][] domains, int[] changed) {
+			int[] queue = new int[Math.max(16, slots.size() * 2)];
+			boolean[] queued = new boolean[slots.size()];
+			int head = 0;
+			int tail = 0;
+			for (int s : changed) {
+				queue[tail++ % queue.length] = s;
+				queued[s] = true;
+			}
+			while (head < tail) {
+				int s = queue[head++ % queue.length];
+				queued[s] = false;
+				for (int c = 0; c < crossSlot[s].length; c++) {
+					int t = crossSlot[s][c];
+					int position = crossPosition[s][c];
+					int otherPosition = crossOtherPosition[s][c];
+					long mask = 0;
+					for (int k : domains[s]) {
+						mask |= bit(words[s][k][position]);
+					}
+					int[] domain = domains[t];
+					int[] kept = null;
+					int size = 0;
+					for (int j = 0; j < domain.length; j++) {
+						boolean keep = (bit(words[t][domain[j]][otherPosition]) & mask) != 0;
+						if (!keep && kept == null) {
+							kept = new int[domain.length];
+							System.arraycopy(domain, 0, kept, 0, j);
+							size = j;
+						} else if (keep && kept != null) {
+							kept[size++] = domain[j];
+						}
+					}
+					if (kept != null) {
+						if (size == 0) {
+							return false;
+						}
+						domains[t] = Arrays.copyOf(kept, size);
+						if (!queued[t]) {
+							queued[t] = true;
+							queue[tail++ % queue.length] = t;
+						}
+					}
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Tells whether a word is already used by another slot of the branch.
+		 */
+		private boolean used(int[][] domains, int slot, int id) {
+			for (int s = 0; s < slots.size(); s++) {
+				if (s != slot && domains[s].length == 1 && ids[s][domains[s][0]] == id) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Checks a complete assignment letter by letter, as the letter masks may merge rare letters.
+		 */
+		private boolean consistent(int[][] domains) {
+			for (int s = 0; s < slots.size(); s++) {
+				for (int c = 0; c < crossSlot[s].length; c++) {
+					int t = crossSlot[s][c];
+					if (words[s][domains[s][0]][crossPosition[s][c]] != words[t][domains[t][0]][crossOtherPosition[s][c]]) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+
+		private FillSolution toSolution(int[][] domains, int[] chosen) {
+			String[] fill = new String[slots.size()];
+			for (int s = 0; s < slots.size(); s++) {
+				if (chosen == null || chosen[s] >= 0) {
+					fill[s] = new String(words[s][domains[s][chosen == null ? 0 : chosen[s]]]);
+				}
+			}
+			return new FillSolution(slots, fill);
+		}
+
+		/**
+		 * A branch of the search tree: the domains of the slots once some of them are chosen.
+		 */
+		private final class Branch extends RecursiveAction {
+			private final int[][] domains;
+			private final int[] chosen;
+			private final int depth;
+
+			private Branch(int[][] domains, int[] chosen, int depth) {
+				this.domains = domains;
+				this.chosen = chosen;
+				this.depth = depth;
+			}
+
+			@Override
+			protected void compute() {
+				search(domains, chosen, depth);
+			}
+
+			private void search(int[][] domains, int[] chosen, int depth) {
+				if (stop.get()) {
+					return;
+				}
+				if (System.nanoTime() > deadline) {
+					timedOut.set(true);
+					stop.set(true);
+					return;
+				}
+				reportPartial(domains, chosen, depth);
+
+				// Most constrained slot first
+				int slot = -1;
+				for (int s = 0; s < slots.size(); s++) {
+					if (chosen[s] < 0 && (slot < 0 || domains[s].length < domains[slot].length)) {
+						slot = s;
+					}
+				}
+				if (slot < 0) {
+					if (consistent(domains) && solutions.incrementAndGet() <= maxSolutions) {
+						FillSolution solution = toSolution(domains, null);
+						synchronized (Search.this) {
+							if (firstSolution == null) {
+								firstSolution = solution;
+							}
+						}
+						if (listener != null) {
+							listener.solution(solution);
+						}
+						if (solutions.get() >= maxSolutions) {
+							stop.set(true);
+						}
+					}
+					return;
+				}
+
+				List<Branch> branches = depth < SPLIT_DEPTH ? new ArrayList<>() : null;
+				for (int k : domains[slot]) {
+					if (stop.get()) {
+						return;
+					}
+					if (used(domains, slot, ids[slot][k])) {
+						continue;
+					}
+					int[][] next = domains.clone();
+					next[slot] = new int[]{k};
+					int[] nextChosen = chosen.clone();
+					nextChosen[slot] = 0;
+					if (propagate(next, new int[]{slot})) {
+						if (branches != null) {
+							branches.add(new Branch(next, nextChosen, depth + 1));
+						} else {
+							search(next, nextChosen, depth + 1);
+						}
+					}
+				}
+				if (branches != null) {
+					invokeAll(branches);
+				}
+			}
+
+			private void reportPartial(int[][] domains, int[] chosen, int depth) {
+				int best = bestDepth.get();
+				if (depth > best && bestDepth.compareAndSet(best, depth)) {
+					FillSolution partial = toSolution(domains, chosen);
+					bestPartial = partial;
+					if (listener != null) {
+						listener.partial(partial);
+					}
+				}
+			}
+		}
+	}
+}
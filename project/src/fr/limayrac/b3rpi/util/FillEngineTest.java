@@ -0,0 +1,52 @@
+package fr.limayrac.b3rpi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FillEngineTest {
+
+    private final QueryEngine engine = new QueryEngine(Dictionary.of(List.of("ami", "arc", "are", "cre", "ire", "mer", "rer", "rue")));
+
+    /**
+     * A 3x3 square of letters below a row of vertical definitions and right of a column of horizontal ones.
+     */
+    private ModeleGrille square() {
+        ModeleGrille grid = new ModeleGrille(4, 4);
+        grid.setDefinition(0, 0, 0, "", null);
+        for (int i = 1; i < 4; i++) {
+            grid.setDefinition(0, i, 0, "v" + i, Direction.BAS);
+            grid.setDefinition(i, 0, 0, "h" + i, Direction.DROITE);
+        }
+        return grid;
+    }
+
+    @Test
+    void fill() {
+        ModeleGrille grid = square();
+        List<FillSolution> solutions = new ArrayList<>();
+        FillEngine.Result result = new FillEngine(engine).fill(grid, 5000, 10, solutions::add);
+        assertEquals(FillEngine.Status.SOLVED, result.getStatus());
+        assertFalse(solutions.isEmpty());
+        FillSolution solution = result.getBest();
+        assertTrue(solution.isComplete());
+        solution.apply(grid);
+        for (int i = 1; i < 4; i++) {
+            char[] word = new char[3];
+            grid.readSlot(i, 0, Direction.DROITE, word);
+            assertTrue(engine.count(WordPattern.compile(new String(word))) == 1);
+        }
+    }
+
+    @Test
+    void impossible() {
+        ModeleGrille grid = square();
+        grid.setLetter(1, 1, 'Z');
+        FillEngine.Result result = new FillEngine(engine).fill(grid, 5000, 1, null);
+        assertEquals(FillEngine.Status.IMPOSSIBLE, result.getStatus());
+        assertEquals(0, result.getSolutions());
+    }
+}
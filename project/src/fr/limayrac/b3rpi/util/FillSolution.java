@@ -0,0 +1,85 @@
+/**
+ * "FillSolution" class is a (partial or complete) fill of the slots of a grid found by the "FillEngine".
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.util.List;
+
+/**
+ * An immutable assignment of words to slots.
+ */
+public final class FillSolution {
+
+	private final List<Slot> slots;
+	private final String[] words;
+
+	/**
+	 * Constructor of the FillSolution class.
+	 *
+	 * @param slots The slots of the grid.
+	 * @param words The word (search key) of each slot, null for the slots left empty.
+	 */
+	FillSolution(List<Slot> slots, String[] words) {
+		this.slots = slots;
+		this.words = words;
+	}
+
+	public List<Slot> getSlots() {
+		return slots;
+	}
+
+	/**
+	 * Returns the word of a slot.
+	 *
+	 * @param i The index of the slot in {@link #getSlots()}.
+	 * @return The word, as a search key, null if the slot is left empty.
+	 */
+	public String getWord(int i) {
+		return words[i];
+	}
+
+	/**
+	 * Returns the number of slots with a word.
+	 *
+	 * @return The number of filled slots.
+	 */
+	public int filledCount() {
+		int count = 0;
+		for (String word : words) {
+			if (word != null) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Tells whether every slot has a word.
+	 *
+	 * @return true for a complete fill.
+	 */
+	public boolean isComplete() {
+		return filledCount() == words.length;
+	}
+
+	/**
+	 * Writes the words of the fill in a grid.
+	 *
+	 * @param grid The grid model.
+	 */
+	public void apply(ModeleGrille grid) {
+		grid.batch(() -> {
+			for (int i = 0; i < words.length; i++) {
+				if (words[i] != null) {
+					Slot slot = slots.get(i);
+					grid.placeWord(slot.getRow(), slot.getColumn(), slot.getDirection(), words[i]);
+				}
+			}
+		});
+	}
+}
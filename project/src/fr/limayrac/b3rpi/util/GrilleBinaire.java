@@ -0,0 +1,252 @@
+/**
+ * "GrilleBinaire" class reads and writes grids in the compact binary format of the saved grids (".mfg" files).
+ *
+ * A file starts with the magic number "MFGR", the version of the format, and the dimensions of the grid. Then
+ * comes the table of the definition texts, each text written once, and the cells in reading order: one byte for
+ * an empty cell, three for a letter, and for a definition cell the directions of its two words and the indexes of
+ * their texts in the table. A grid of a hundred rows by a hundred columns takes a few tens of kilobytes, and is
+ * read in one pass.
+ *
+ * The encoding of a single cell is shared with the journal of the edits (see "GrilleJournal"), which writes the
+ * texts inline instead of in a table.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The binary format of the grids.
+ */
+public final class GrilleBinaire {
+
+	/**
+	 * Extension of the grid files.
+	 */
+	public static final String EXTENSION = ".mfg";
+
+	private static final int MAGIC = 0x4D464752; // "MFGR"
+	private static final int VERSION = 1;
+
+	/**
+	 * Tags of the cells.
+	 */
+	private static final int EMPTY = 0;
+	private static final int LETTER = 1;
+	private static final int DEFINITION = 2;
+
+	/**
+	 * Index of a missing text in the table.
+	 */
+	private static final int NO_TEXT = 0xFFFF;
+
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private GrilleBinaire() {
+	}
+
+	/**
+	 * Encodes a grid. The grid is locked while it is read, so the encoding is a consistent state of the grid even
+	 * if it is being edited; the lock is held for the time of an in-memory copy.
+	 *
+	 * @param grid The grid model.
+	 * @return The bytes of the grid file.
+	 */
+	public static byte[] encode(ModeleGrille grid) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + grid.getRows() * grid.getColumns() * 2);
+		DataOutputStream out = new DataOutputStream(bytes);
+		try {
+			synchronized (grid) {
+				Map<String, Integer> table = new HashMap<>();
+				List<String> texts = new ArrayList<>();
+				for (int row = 0; row < grid.getRows(); row++) {
+					for (int column = 0; column < grid.getColumns(); column++) {
+						for (int which = 0; which < 2 && grid.isDefinition(row, column); which++) {
+							String text = grid.getDefinition(row, column, which);
+							if (text != null && table.putIfAbsent(text, texts.size()) == null) {
+								texts.add(text);
+							}
+						}
+					}
+				}
+				if (texts.size() >= NO_TEXT) {
+					throw new IllegalStateException("Trop de définitions différentes : " + texts.size());
+				}
+				out.writeInt(MAGIC);
+				out.writeShort(VERSION);
+				out.writeShort(grid.getRows());
+				out.writeShort(grid.getColumns());
+				out.writeInt(texts.size());
+				for (String text : texts) {
+					out.writeUTF(text);
+				}
+				for (int row = 0; row < grid.getRows(); row++) {
+					for (int column = 0; column < grid.getColumns(); column++) {
+						if (writeTag(out, grid, row, column)) {
+							for (int which = 0; which < 2; which++) {
+								String text = grid.getDefinition(row, column, which);
+								out.writeShort(text == null ? NO_TEXT : table.get(text));
+							}
+						}
+					}
+				}
+			}
+		} catch (IOException e) {
+			// Writing to memory does not fail
+			throw new IllegalStateException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Decodes a grid.
+	 *
+	 * @param in The bytes of the grid file.
+	 * @return The grid model.
+	 * @throws IOException If the bytes are not a grid file of a known version.
+	 */
+	public static ModeleGrille decode(DataInput in) throws IOException {
+		if (in.readInt() != MAGIC) {
+			throw new IOException("Ce fichier n'est pas une grille de mots fléchés");
+		}
+		int version = in.readUnsignedShort();
+		if (version != VERSION) {
+			throw new IOException("Version de grille non prise en charge : " + version);
+		}
+		int rows = in.readUnsignedShort();
+		int columns = in.readUnsignedShort();
+		if (rows == 0 || columns == 0) {
+			throw new IOException("Dimensions de grille invalides : " + rows + " x " + columns);
+		}
+		int count = in.readInt();
+		if (count < 0 || count > 2 * rows * columns) {
+			throw new IOException("Table des définitions invalide : " + count);
+		}
+		String[] texts = new String[count];
+		for (int i = 0; i < count; i++) {
+			texts[i] = in.readUTF();
+		}
+		ModeleGrille grid = new ModeleGrille(rows, columns);
+		for (int row = 0; row < rows; row++) {
+			for (int column = 0; column < columns; column++) {
+				int tag = in.readUnsignedByte();
+				if (tag == LETTER) {
+					grid.setLetter(row, column, in.readChar());
+				} else if (tag == DEFINITION) {
+					int directions = in.readUnsignedByte();
+					for (int which = 0; which < 2; which++) {
+						int index = in.readUnsignedShort();
+						if (index != NO_TEXT && index >= count) {
+							throw new IOException("Définition inconnue : " + index);
+						}
+						grid.setDefinition(row, column, which, index == NO_TEXT ? null : texts[index],
+								direction(directions, which));
+					}
+				} else if (tag != EMPTY) {
+					throw new IOException("Case invalide : " + tag);
+				}
+			}
+		}
+		return grid;
+	}
+
+	/**
+	 * Writes the state of one cell, with its texts inline.
+	 *
+	 * @param out    The destination.
+	 * @param grid   The grid model.
+	 * @param row    The row of the cell.
+	 * @param column The column of the cell.
+	 * @throws IOException If the state cannot be written.
+	 */
+	static void writeCell(DataOutput out, ModeleGrille grid, int row, int column) throws IOException {
+		if (writeTag(out, grid, row, column)) {
+			for (int which = 0; which < 2; which++) {
+				String text = grid.getDefinition(row, column, which);
+				out.writeBoolean(text != null);
+				if (text != null) {
+					out.writeUTF(text);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads the state of one cell written by {@link #writeCell}, and applies it to the grid.
+	 *
+	 * @param in     The source.
+	 * @param grid   The grid model.
+	 * @param row    The row of the cell.
+	 * @param column The column of the cell.
+	 * @throws IOException If the state cannot be read.
+	 */
+	static void readCell(DataInput in, ModeleGrille grid, int row, int column) throws IOException {
+		int tag = in.readUnsignedByte();
+		if (tag == EMPTY) {
+			grid.setLetter(row, column, ModeleGrille.EMPTY);
+		} else if (tag == LETTER) {
+			grid.setLetter(row, column, in.readChar());
+		} else if (tag == DEFINITION) {
+			int directions = in.readUnsignedByte();
+			Direction[] senses = new Direction[2];
+			String[] texts = new String[2];
+			for (int which = 0; which < 2; which++) {
+				senses[which] = direction(directions, which);
+				texts[which] = in.readBoolean() ? in.readUTF() : null;
+			}
+			grid.batch(() -> {
+				for (int which = 0; which < 2; which++) {
+					grid.setDefinition(row, column, which, texts[which], senses[which]);
+				}
+			});
+		} else {
+			throw new IOException("Case invalide : " + tag);
+		}
+	}
+
+	/**
+	 * Writes the tag of a cell, and its letter or the directions of its definitions.
+	 *
+	 * @return true for a definition cell, whose texts follow.
+	 */
+	private static boolean writeTag(DataOutput out, ModeleGrille grid, int row, int column) throws IOException {
+		if (grid.isDefinition(row, column)) {
+			out.writeByte(DEFINITION);
+			int directions = 0;
+			for (int which = 0; which < 2; which++) {
+				Direction direction = grid.getDirection(row, column, which);
+				directions |= (direction == null ? 0 : direction.ordinal() + 1) << (which * 4);
+			}
+			out.writeByte(directions);
+			return true;
+		}
+		char letter = grid.getLetter(row, column);
+		if (letter == ModeleGrille.EMPTY) {
+			out.writeByte(EMPTY);
+		} else {
+			out.writeByte(LETTER);
+			out.writeChar(letter);
+		}
+		return false;
+	}
+
+	private static Direction direction(int directions, int which) throws IOException {
+		int bits = (directions >> (which * 4)) & 0xF;
+		if (bits > DIRECTIONS.length) {
+			throw new IOException("Sens invalide : " + bits);
+		}
+		return bits == 0 ? null : DIRECTIONS[bits - 1];
+	}
+}
@@ -0,0 +1,68 @@
+package fr.limayrac.b3rpi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GrilleBinaireTest {
+
+    static ModeleGrille sample() {
+        ModeleGrille grid = new ModeleGrille(3, 4);
+        grid.setDefinition(0, 0, 0, "Capitale", Direction.DROITE);
+        grid.setDefinition(0, 0, 1, "Fleuve", Direction.BAS);
+        grid.placeWord(0, 0, Direction.DROITE, "ROM");
+        grid.setDefinition(2, 0, 0, "Capitale", Direction.DROITE_BAS);
+        grid.setDefinition(1, 3, 0, null, null);
+        return grid;
+    }
+
+    static void assertSameGrid(ModeleGrille expected, ModeleGrille actual) {
+        assertEquals(expected.getRows(), actual.getRows());
+        assertEquals(expected.getColumns(), actual.getColumns());
+        for (int row = 0; row < expected.getRows(); row++) {
+            for (int column = 0; column < expected.getColumns(); column++) {
+                assertEquals(expected.isDefinition(row, column), actual.isDefinition(row, column));
+                assertEquals(expected.getLetter(row, column), actual.getLetter(row, column));
+                for (int which = 0; which < 2; which++) {
+                    assertEquals(expected.getDefinition(row, column, which), actual.getDefinition(row, column, which));
+                    assertEquals(expected.getDirection(row, column, which), actual.getDirection(row, column, which));
+                }
+            }
+        }
+    }
+
+    private static ModeleGrille decode(byte[] bytes) throws IOException {
+        return GrilleBinaire.decode(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    void roundTrip() throws IOException {
+        ModeleGrille grid = sample();
+        assertSameGrid(grid, decode(GrilleBinaire.encode(grid)));
+    }
+
+    @Test
+    void definitionTextsAreWrittenOnce() {
+        ModeleGrille grid = new ModeleGrille(1, 40);
+        for (int column = 0; column < 40; column++) {
+            grid.setDefinition(0, column, 0, "Une définition assez longue", Direction.BAS);
+        }
+        assertTrue(GrilleBinaire.encode(grid).length < 40 * "Une définition assez longue".length());
+    }
+
+    @Test
+    void errors() {
+        assertEquals("Ce fichier n'est pas une grille de mots fléchés",
+                assertThrows(IOException.class, () -> decode("pas une grille".getBytes())).getMessage());
+        byte[] bytes = GrilleBinaire.encode(sample());
+        bytes[5] = 9;
+        assertEquals("Version de grille non prise en charge : 9",
+                assertThrows(IOException.class, () -> decode(bytes)).getMessage());
+        byte[] truncated = java.util.Arrays.copyOf(GrilleBinaire.encode(sample()), 20);
+        assertThrows(IOException.class, () -> decode(truncated));
+    }
+}
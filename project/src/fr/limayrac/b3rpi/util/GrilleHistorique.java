@@ -0,0 +1,214 @@
+/**
+ * "GrilleHistorique" class is the undo history of a grid: each change of the grid, or each batch of changes,
+ * is a step that can be undone and redone.
+ *
+ * The history listens to the grid and keeps the successive states of the grid as persistent versions (see
+ * "GrilleVersion"), which share their unchanged chunks: a step costs the chunks of the cells it changed, not a
+ * copy of the grid. The steps are kept as long as their total cost is under a memory budget, the oldest ones
+ * being forgotten first, so a long session on a small grid keeps many more steps than one on a large grid.
+ *
+ * Undoing a step puts back the cells it changed, and only them, in one batch: the view repaints the region of
+ * these cells, and the listeners of the grid (the journal, the heatmap) see the undo as any other change.
+ *
+ * The grid is expected to be edited, undone and redone on one thread at a time, as the event thread does.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * The undo and redo history of a grid.
+ */
+public class GrilleHistorique implements ModeleGrille.Listener {
+
+	/**
+	 * Default memory budget of the steps.
+	 */
+	public static final long DEFAULT_MAX_BYTES = 16L << 20;
+
+	private static final Metrics.Histogram UNDO_TIME = Metrics.histogram("grille.undo");
+
+	/**
+	 * A step of the history: a version, and the cells changed between it and its neighbour version.
+	 */
+	private static final class Step {
+
+		private final GrilleVersion version;
+		private final int[] cells;
+
+		private Step(GrilleVersion version, int[] cells) {
+			this.version = version;
+			this.cells = cells;
+		}
+	}
+
+	private final ModeleGrille grid;
+	private final long maxBytes;
+	private final Deque<Step> undo = new ArrayDeque<>();
+	private final Deque<Step> redo = new ArrayDeque<>();
+	private GrilleVersion present;
+	// Cost of the versions kept, but the first one
+	private long bytes;
+	private boolean restoring;
+	private int[] changed = new int[64];
+
+	/**
+	 * Constructor of the GrilleHistorique class, with the default memory budget.
+	 *
+	 * @param grid The grid model, whose current state is the start of the history.
+	 */
+	public GrilleHistorique(ModeleGrille grid) {
+		this(grid, DEFAULT_MAX_BYTES);
+	}
+
+	/**
+	 * Constructor of the GrilleHistorique class.
+	 *
+	 * @param grid     The grid model, whose current state is the start of the history.
+	 * @param maxBytes The memory budget of the steps.
+	 */
+	public GrilleHistorique(ModeleGrille grid, long maxBytes) {
+		this.grid = grid;
+		this.maxBytes = maxBytes;
+		present = GrilleVersion.of(grid);
+		grid.addListener(this);
+	}
+
+	public boolean canUndo() {
+		return !undo.isEmpty();
+	}
+
+	public boolean canRedo() {
+		return !redo.isEmpty();
+	}
+
+	/**
+	 * Returns the number of steps that can be undone.
+	 *
+	 * @return The number of steps.
+	 */
+	public int getUndoCount() {
+		return undo.size();
+	}
+
+	/**
+	 * Returns the current state of the grid, as seen by the history.
+	 *
+	 * @return The current version.
+	 */
+	public GrilleVersion getPresent() {
+		return present;
+	}
+
+	/**
+	 * Undoes the last step.
+	 *
+	 * @return false if there was no step to undo.
+	 */
+	public boolean undo() {
+		Step step = undo.pollFirst();
+		if (step == null) {
+			return false;
+		}
+		restore(step);
+		redo.addFirst(new Step(present, step.cells));
+		present = step.version;
+		return true;
+	}
+
+	/**
+	 * Redoes the last undone step.
+	 *
+	 * @return false if there was no step to redo.
+	 */
+	public boolean redo() {
+		Step step = redo.pollFirst();
+		if (step == null) {
+			return false;
+		}
+		restore(step);
+		undo.addFirst(new Step(present, step.cells));
+		present = step.version;
+		return true;
+	}
+
+	/**
+	 * Stops recording the changes of the grid.
+	 */
+	public void close() {
+		grid.removeListener(this);
+	}
+
+	@Override
+	public void cellChanged(int row, int column) {
+		record(row, column, row, column);
+	}
+
+	@Override
+	public void regionChanged(int firstRow, int firstColumn, int lastRow, int lastColumn) {
+		record(firstRow, firstColumn, lastRow, lastColumn);
+	}
+
+	/**
+	 * Makes a new step of the cells of a region whose state differs from the present version.
+	 */
+	private void record(int firstRow, int firstColumn, int lastRow, int lastColumn) {
+		if (restoring) {
+			return;
+		}
+		int count = 0;
+		for (int row = firstRow; row <= lastRow; row++) {
+			for (int column = firstColumn; column <= lastColumn; column++) {
+				int index = row * grid.getColumns() + column;
+				if (!present.matches(grid, index)) {
+					if (count == changed.length) {
+						changed = Arrays.copyOf(changed, 2 * count);
+					}
+					changed[count++] = index;
+				}
+			}
+		}
+		if (count == 0) {
+			return;
+		}
+		GrilleVersion next = present.with(grid, changed, count);
+		undo.addFirst(new Step(present, Arrays.copyOf(changed, count)));
+		present = next;
+		bytes += next.getCost();
+		for (Step step : redo) {
+			bytes -= step.version.getCost();
+		}
+		redo.clear();
+		while (bytes > maxBytes && !undo.isEmpty()) {
+			// The oldest version is forgotten: the next one becomes the start of the history, its cost is no longer
+			// counted
+			undo.pollLast();
+			bytes -= undo.isEmpty() ? present.getCost() : undo.peekLast().version.getCost();
+		}
+	}
+
+	/**
+	 * Puts back the cells of a step in the state of its version, in one batch.
+	 */
+	private void restore(Step step) {
+		long start = System.nanoTime();
+		restoring = true;
+		try {
+			grid.batch(() -> {
+				for (int cell : step.cells) {
+					step.version.restore(grid, cell);
+				}
+			});
+		} finally {
+			restoring = false;
+		}
+		UNDO_TIME.recordSince(start);
+	}
+}
@@ -0,0 +1,93 @@
+package fr.limayrac.b3rpi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GrilleHistoriqueTest {
+
+    @Test
+    void undoAndRedo() {
+        ModeleGrille grid = GrilleBinaireTest.sample();
+        GrilleHistorique history = new GrilleHistorique(grid);
+        grid.setDefinition(1, 0, 0, "Mer", Direction.DROITE);
+        grid.batch(() -> grid.placeWord(1, 0, Direction.DROITE, "SEL"));
+        assertEquals(2, history.getUndoCount());
+
+        assertTrue(history.undo());
+        assertEquals(ModeleGrille.EMPTY, grid.getLetter(1, 1));
+        assertTrue(grid.isDefinition(1, 0));
+        assertTrue(history.undo());
+        GrilleBinaireTest.assertSameGrid(GrilleBinaireTest.sample(), grid);
+        assertFalse(history.undo());
+
+        assertTrue(history.redo());
+        assertTrue(history.redo());
+        assertEquals('S', grid.getLetter(1, 1));
+        assertFalse(history.redo());
+    }
+
+    @Test
+    void newChangeClearsRedo() {
+        ModeleGrille grid = new ModeleGrille(5, 5);
+        GrilleHistorique history = new GrilleHistorique(grid);
+        grid.setLetter(0, 0, 'A');
+        history.undo();
+        assertTrue(history.canRedo());
+        grid.setLetter(1, 1, 'B');
+        assertFalse(history.canRedo());
+        assertEquals(1, history.getUndoCount());
+    }
+
+    @Test
+    void unchangedCellsMakeNoStep() {
+        ModeleGrille grid = new ModeleGrille(5, 5);
+        grid.setLetter(0, 0, 'A');
+        GrilleHistorique history = new GrilleHistorique(grid);
+        grid.setLetter(0, 0, 'A');
+        grid.batch(() -> {
+        });
+        assertFalse(history.canUndo());
+    }
+
+    @Test
+    void undoRepaintsTheChangedRegionOnly() {
+        ModeleGrille grid = new ModeleGrille(20, 20);
+        GrilleHistorique history = new GrilleHistorique(grid);
+        grid.batch(() -> grid.placeWord(5, 5, Direction.DROITE, "MOT"));
+        List<int[]> regions = new ArrayList<>();
+        grid.addListener(new ModeleGrille.Listener() {
+            @Override
+            public void cellChanged(int row, int column) {
+                regions.add(new int[]{row, column, row, column});
+            }
+
+            @Override
+            public void regionChanged(int firstRow, int firstColumn, int lastRow, int lastColumn) {
+                regions.add(new int[]{firstRow, firstColumn, lastRow, lastColumn});
+            }
+        });
+        history.undo();
+        assertEquals(1, regions.size());
+        assertArrayEquals(new int[]{5, 6, 5, 8}, regions.get(0));
+    }
+
+    @Test
+    void historyIsBoundedByMemory() {
+        ModeleGrille grid = new ModeleGrille(100, 100);
+        GrilleHistorique history = new GrilleHistorique(grid, 100_000);
+        for (int i = 0; i < 1000; i++) {
+            grid.setLetter(i / 100, i % 100, 'A');
+        }
+        assertTrue(history.getUndoCount() > 10);
+        assertTrue(history.getUndoCount() < 1000);
+        while (history.undo()) {
+            // Undo every step kept
+        }
+        assertEquals(ModeleGrille.EMPTY, grid.getLetter(9, 99));
+        assertEquals('A', grid.getLetter(0, 0));
+    }
+}
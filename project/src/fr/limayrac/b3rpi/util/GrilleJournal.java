@@ -0,0 +1,447 @@
+/**
+ * "GrilleJournal" class saves a grid as it is edited: a snapshot of the grid in the binary format (see
+ * "GrilleBinaire"), and next to it a journal of the edits made since the snapshot.
+ *
+ * Every change of the grid is recorded, as the new state of the changed cell, when the listener of the grid is
+ * notified; this only encodes a few bytes in memory. A background thread appends the pending records to the
+ * journal in one write, and forces them to the disk, at most every {@link #FLUSH_DELAY_MILLIS} milliseconds, so
+ * the event thread never waits for the disk and a crash loses at most the last batch of edits. A batch is framed
+ * by its length and a checksum: a batch torn by a crash is detected, and dropped, when the grid is reopened.
+ * A batch whose write fails, for example on a full disk, is cut off the journal and kept in memory, then written
+ * again with the next batch; the failure is reported to the listeners of the journal, so the user knows the edits
+ * are not on the disk.
+ *
+ * When the journal grows past {@link #COMPACTION_THRESHOLD} bytes, and on each explicit save, the grid is written
+ * to a new snapshot, which replaces the previous one atomically, and the journal is emptied. Since the records
+ * hold the absolute state of the cells, replaying a journal over a snapshot that already contains its edits
+ * changes nothing, so a crash between the two steps is harmless. Reopening a grid reads the snapshot and replays
+ * a journal of at most a megabyte, which takes a few milliseconds.
+ *
+ * The grid is expected to be edited on one thread at a time, as the event thread does.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * The snapshot and the journal of the edits of a grid.
+ */
+public class GrilleJournal implements ModeleGrille.Listener, AutoCloseable {
+
+	/**
+	 * Extension of the journal, added to the name of the grid file.
+	 */
+	public static final String JOURNAL_EXTENSION = ".journal";
+
+	/**
+	 * Maximum delay between an edit and its write to the disk.
+	 */
+	public static final long FLUSH_DELAY_MILLIS = 100;
+
+	/**
+	 * Size of the journal past which a new snapshot is written.
+	 */
+	public static final long COMPACTION_THRESHOLD = 1 << 20;
+
+	/**
+	 * Delay before a failed write is tried again.
+	 */
+	public static final long RETRY_DELAY_MILLIS = 1000;
+
+	/**
+	 * Listener notified when the edits cannot be written to the disk.
+	 */
+	public interface FailureListener {
+
+		/**
+		 * Called on the thread of the journal when a write fails; the edits are kept and written again later.
+		 *
+		 * @param error The error of the write.
+		 */
+		void writeFailed(IOException error);
+	}
+
+	private static final Metrics.Histogram FLUSH_TIME = Metrics.histogram("grille.journal.flush");
+	private static final Metrics.Histogram SNAPSHOT_TIME = Metrics.histogram("grille.snapshot");
+	private static final Metrics.Histogram OPEN_TIME = Metrics.histogram("grille.open");
+
+	private final ModeleGrille grid;
+	private final Path file;
+	private final FileChannel journal;
+	private final ConcurrentLinkedQueue<byte[]> pending = new ConcurrentLinkedQueue<>();
+	private final AtomicBoolean flushScheduled = new AtomicBoolean();
+	private final List<FailureListener> failureListeners = new CopyOnWriteArrayList<>();
+	private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "grille-journal");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	// Size of the journal, the records of a failed batch, and the state of the writes, guarded by the writer thread
+	private long journalSize;
+	private final List<byte[]> unwritten = new ArrayList<>();
+	private boolean torn;
+	private boolean failing;
+
+	private GrilleJournal(ModeleGrille grid, Path file, FileChannel journal, long journalSize) {
+		this.grid = grid;
+		this.file = file;
+		this.journal = journal;
+		this.journalSize = journalSize;
+		grid.addListener(this);
+	}
+
+	/**
+	 * Opens a saved grid: reads its snapshot and replays its journal, then records the next edits.
+	 *
+	 * @param file The grid file.
+	 * @return The journal, whose grid is {@link #getGrid()}.
+	 * @throws IOException If the grid cannot be read.
+	 */
+	public static GrilleJournal open(Path file) throws IOException {
+		long start = System.nanoTime();
+		ModeleGrille grid = GrilleBinaire.decode(new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file))));
+		FileChannel journal = FileChannel.open(journalFile(file), StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		try {
+			long size = replay(journal, grid);
+			journal.truncate(size);
+			journal.position(size);
+			GrilleJournal opened = new GrilleJournal(grid, file, journal, size);
+			OPEN_TIME.recordSince(start);
+			return opened;
+		} catch (IOException | RuntimeException e) {
+			journal.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Saves a grid to a new file, then records its next edits. The call waits until the grid is on the disk, so
+	 * it is not meant for the event thread.
+	 *
+	 * @param file The grid file, replaced if it exists.
+	 * @param grid The grid model.
+	 * @return The journal of the grid.
+	 * @throws IOException If the grid cannot be written.
+	 */
+	public static GrilleJournal create(Path file, ModeleGrille grid) throws IOException {
+		return create(file, grid, FileChannel.open(journalFile(file), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+	}
+
+	/**
+	 * Saves a grid to a new file, with an already opened, empty journal.
+	 */
+	static GrilleJournal create(Path file, ModeleGrille grid, FileChannel journal) throws IOException {
+		GrilleJournal created = new GrilleJournal(grid, file, journal, 0);
+		try {
+			created.save().get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			created.close();
+			throw new IOException("Enregistrement interrompu", e);
+		} catch (ExecutionException e) {
+			created.close();
+			throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+		}
+		return created;
+	}
+
+	public ModeleGrille getGrid() {
+		return grid;
+	}
+
+	public Path getFile() {
+		return file;
+	}
+
+	public void addFailureListener(FailureListener listener) {
+		failureListeners.add(listener);
+	}
+
+	public void removeFailureListener(FailureListener listener) {
+		failureListeners.remove(listener);
+	}
+
+	@Override
+	public void cellChanged(int row, int column) {
+		record(row, column, row, column);
+	}
+
+	@Override
+	public void regionChanged(int firstRow, int firstColumn, int lastRow, int lastColumn) {
+		record(firstRow, firstColumn, lastRow, lastColumn);
+	}
+
+	/**
+	 * Writes a new snapshot of the grid in the background, and empties the journal.
+	 *
+	 * @return A future completed when the snapshot is on the disk.
+	 */
+	public CompletableFuture<Void> save() {
+		CompletableFuture<Void> saved = new CompletableFuture<>();
+		try {
+			writer.execute(() -> {
+				try {
+					try {
+						flush();
+					} catch (IOException e) {
+						// The snapshot holds the edits of the failed batch, and replaces the journal
+					}
+					compact();
+					failing = false;
+					saved.complete(null);
+				} catch (IOException | RuntimeException e) {
+					saved.completeExceptionally(e);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			saved.completeExceptionally(new IOException("Journal fermé"));
+		}
+		return saved;
+	}
+
+	/**
+	 * Stops recording the edits, writes the pending ones and a last snapshot, and closes the journal.
+	 */
+	@Override
+	public void close() {
+		grid.removeListener(this);
+		try {
+			save().get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			failed(e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause()));
+		}
+		writer.shutdown();
+		try {
+			journal.close();
+		} catch (IOException e) {
+			failed(e);
+		}
+	}
+
+	/**
+	 * Encodes the new state of the cells of a region, and schedules their write.
+	 */
+	private void record(int firstRow, int firstColumn, int lastRow, int lastColumn) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		try {
+			for (int row = firstRow; row <= lastRow; row++) {
+				for (int column = firstColumn; column <= lastColumn; column++) {
+					out.writeShort(row);
+					out.writeShort(column);
+					GrilleBinaire.writeCell(out, grid, row, column);
+				}
+			}
+		} catch (IOException e) {
+			// Writing to memory does not fail
+			throw new IllegalStateException(e);
+		}
+		pending.add(bytes.toByteArray());
+		if (flushScheduled.compareAndSet(false, true)) {
+			try {
+				writer.schedule(this::scheduledFlush, FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+			} catch (RejectedExecutionException e) {
+				// Closed, the edit is not recorded
+			}
+		}
+	}
+
+	private void scheduledFlush() {
+		flushScheduled.set(false);
+		try {
+			flush();
+			if (journalSize > COMPACTION_THRESHOLD) {
+				compact();
+			}
+			failing = false;
+		} catch (IOException e) {
+			// Reported once, until a write succeeds again; the edits are tried again later
+			if (!failing) {
+				failing = true;
+				failed(e);
+			}
+			if (flushScheduled.compareAndSet(false, true)) {
+				try {
+					writer.schedule(this::scheduledFlush, RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+				} catch (RejectedExecutionException closed) {
+					// Closed, the last save reports its own error
+				}
+			}
+		}
+	}
+
+	private void failed(IOException error) {
+		for (FailureListener listener : failureListeners) {
+			listener.writeFailed(error);
+		}
+	}
+
+	/**
+	 * Appends the pending records, after those of a failed batch, to the journal as one batch: its length, the
+	 * records and their checksum. If the write fails, the part of the batch already written is cut off, so the next
+	 * batch follows the last complete one, and the records are kept for the next batch.
+	 */
+	private void flush() throws IOException {
+		for (byte[] record; (record = pending.poll()) != null; ) {
+			unwritten.add(record);
+		}
+		if (unwritten.isEmpty()) {
+			return;
+		}
+		long start = System.nanoTime();
+		int length = 0;
+		for (byte[] record : unwritten) {
+			length += record.length;
+		}
+		ByteBuffer batch = ByteBuffer.allocate(length + 8);
+		batch.putInt(length);
+		CRC32 checksum = new CRC32();
+		for (byte[] record : unwritten) {
+			batch.put(record);
+			checksum.update(record);
+		}
+		batch.putInt((int) checksum.getValue());
+		batch.flip();
+		try {
+			if (torn) {
+				cutTornBatch();
+			}
+			while (batch.hasRemaining()) {
+				journal.write(batch);
+			}
+			journal.force(false);
+		} catch (IOException e) {
+			torn = true;
+			try {
+				cutTornBatch();
+			} catch (IOException again) {
+				// Cut before the next write
+				e.addSuppressed(again);
+			}
+			throw e;
+		}
+		unwritten.clear();
+		journalSize += length + 8;
+		FLUSH_TIME.recordSince(start);
+	}
+
+	/**
+	 * Cuts the journal after its last complete batch.
+	 */
+	private void cutTornBatch() throws IOException {
+		journal.truncate(journalSize);
+		journal.position(journalSize);
+		torn = false;
+	}
+
+	/**
+	 * Writes a new snapshot next to the previous one, forces it to the disk, moves it in place, then empties the
+	 * journal.
+	 */
+	private void compact() throws IOException {
+		long start = System.nanoTime();
+		byte[] snapshot = GrilleBinaire.encode(grid);
+		Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = ByteBuffer.wrap(snapshot);
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(true);
+		}
+		Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		journal.truncate(0);
+		journal.position(0);
+		journal.force(false);
+		journalSize = 0;
+		// The snapshot holds the edits of a failed batch too
+		unwritten.clear();
+		torn = false;
+		SNAPSHOT_TIME.recordSince(start);
+	}
+
+	/**
+	 * Applies the batches of a journal to a grid, up to the first incomplete or corrupted one.
+	 *
+	 * @return The size of the valid part of the journal.
+	 */
+	private static long replay(FileChannel journal, ModeleGrille grid) throws IOException {
+		ByteBuffer content = ByteBuffer.allocate((int) journal.size());
+		while (content.hasRemaining() && journal.read(content) >= 0) {
+			// Read the whole journal
+		}
+		content.flip();
+		long valid = 0;
+		CRC32 checksum = new CRC32();
+		while (content.remaining() >= 8) {
+			int length = content.getInt();
+			if (length <= 0 || length > content.remaining() - 4) {
+				break;
+			}
+			byte[] records = new byte[length];
+			content.get(records);
+			checksum.reset();
+			checksum.update(records);
+			if (content.getInt() != (int) checksum.getValue() || !apply(records, grid)) {
+				break;
+			}
+			valid = content.position();
+		}
+		return valid;
+	}
+
+	/**
+	 * Applies the records of a batch.
+	 *
+	 * @return false if a record does not fit the grid.
+	 */
+	private static boolean apply(byte[] records, ModeleGrille grid) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(records));
+		while (in.available() > 0) {
+			int row = in.readUnsignedShort();
+			int column = in.readUnsignedShort();
+			if (!grid.contains(row, column)) {
+				return false;
+			}
+			GrilleBinaire.readCell(in, grid, row, column);
+		}
+		return true;
+	}
+
+	private static Path journalFile(Path file) {
+		return file.resolveSibling(file.getFileName() + JOURNAL_EXTENSION);
+	}
+}
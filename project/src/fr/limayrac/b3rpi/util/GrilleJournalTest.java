@@ -0,0 +1,231 @@
+package fr.limayrac.b3rpi.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GrilleJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private Path journalFile(Path file) {
+        return file.resolveSibling(file.getFileName() + GrilleJournal.JOURNAL_EXTENSION);
+    }
+
+    @Test
+    void editsAreReplayedOnOpen() throws Exception {
+        Path file = directory.resolve("grille.mfg");
+        ModeleGrille grid = GrilleBinaireTest.sample();
+        GrilleJournal journal = GrilleJournal.create(file, grid);
+        grid.setLetter(1, 1, 'E');
+        grid.batch(() -> {
+            grid.setDefinition(2, 2, 0, "Nouvelle", Direction.BAS);
+            grid.setLetter(0, 1, ModeleGrille.EMPTY);
+        });
+        Thread.sleep(GrilleJournal.FLUSH_DELAY_MILLIS * 5);
+        assertTrue(Files.size(journalFile(file)) > 0);
+
+        // Open a copy, as if the application had crashed: the snapshot is the one written by create
+        Path copy = directory.resolve("copie.mfg");
+        Files.copy(file, copy);
+        Files.copy(journalFile(file), journalFile(copy));
+        try (GrilleJournal reopened = GrilleJournal.open(copy)) {
+            GrilleBinaireTest.assertSameGrid(grid, reopened.getGrid());
+        }
+        journal.close();
+    }
+
+    @Test
+    void tornBatchIsDropped() throws Exception {
+        Path file = directory.resolve("grille.mfg");
+        ModeleGrille grid = GrilleBinaireTest.sample();
+        GrilleJournal journal = GrilleJournal.create(file, grid);
+        grid.setLetter(1, 1, 'E');
+        Thread.sleep(GrilleJournal.FLUSH_DELAY_MILLIS * 5);
+        Path copy = directory.resolve("copie.mfg");
+        Files.copy(file, copy);
+        Files.copy(journalFile(file), journalFile(copy));
+        long valid = Files.size(journalFile(copy));
+        Files.write(journalFile(copy), new byte[]{0, 0, 0, 12, 0, 1}, StandardOpenOption.APPEND);
+
+        try (GrilleJournal reopened = GrilleJournal.open(copy)) {
+            GrilleBinaireTest.assertSameGrid(grid, reopened.getGrid());
+            assertEquals(valid, Files.size(journalFile(copy)));
+        }
+        journal.close();
+    }
+
+    @Test
+    void saveWritesASnapshotAndEmptiesTheJournal() throws Exception {
+        Path file = directory.resolve("grille.mfg");
+        ModeleGrille grid = GrilleBinaireTest.sample();
+        GrilleJournal journal = GrilleJournal.create(file, grid);
+        grid.setLetter(1, 1, 'E');
+        journal.save().get();
+        assertEquals(0, Files.size(journalFile(file)));
+        journal.close();
+        try (GrilleJournal reopened = GrilleJournal.open(file)) {
+            GrilleBinaireTest.assertSameGrid(grid, reopened.getGrid());
+        }
+    }
+
+    @Test
+    void failedWriteIsCutAndWrittenAgain() throws Exception {
+        Path file = directory.resolve("grille.mfg");
+        ModeleGrille grid = GrilleBinaireTest.sample();
+        FullDisk channel = new FullDisk(FileChannel.open(journalFile(file), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+        GrilleJournal journal = GrilleJournal.create(file, grid, channel);
+        List<IOException> failures = new CopyOnWriteArrayList<>();
+        journal.addFailureListener(failures::add);
+        grid.setLetter(1, 1, 'E');
+        Thread.sleep(GrilleJournal.FLUSH_DELAY_MILLIS * 5);
+        long valid = Files.size(journalFile(file));
+
+        // The disk is full: half of the batch is written, then cut off
+        channel.full = true;
+        grid.setLetter(0, 1, 'X');
+        Thread.sleep(GrilleJournal.FLUSH_DELAY_MILLIS * 5);
+        assertEquals(1, failures.size());
+        assertEquals(valid, Files.size(journalFile(file)));
+
+        // Once there is room again, the lost edit is written with the next ones
+        channel.full = false;
+        grid.setLetter(1, 1, 'G');
+        Thread.sleep(GrilleJournal.RETRY_DELAY_MILLIS + GrilleJournal.FLUSH_DELAY_MILLIS * 5);
+        assertEquals(1, failures.size());
+        Path copy = directory.resolve("copie.mfg");
+        Files.copy(file, copy);
+        Files.copy(journalFile(file), journalFile(copy));
+        try (GrilleJournal reopened = GrilleJournal.open(copy)) {
+            GrilleBinaireTest.assertSameGrid(grid, reopened.getGrid());
+        }
+        journal.close();
+    }
+
+    @Test
+    void missingFile() {
+        assertThrows(IOException.class, () -> GrilleJournal.open(directory.resolve("absente.mfg")));
+    }
+
+    /**
+     * A journal file on a disk which can be made full: a write then stores half of its bytes and fails.
+     */
+    private static final class FullDisk extends FileChannel {
+
+        private final FileChannel channel;
+        private volatile boolean full;
+
+        private FullDisk(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public int write(ByteBuffer source) throws IOException {
+            if (full) {
+                ByteBuffer half = source.duplicate();
+                half.limit(source.position() + source.remaining() / 2);
+                channel.write(half);
+                throw new IOException("Plus de place sur le disque");
+            }
+            return channel.write(source);
+        }
+
+        @Override
+        public int read(ByteBuffer destination) throws IOException {
+            return channel.read(destination);
+        }
+
+        @Override
+        public long read(ByteBuffer[] destinations, int offset, int length) throws IOException {
+            return channel.read(destinations, offset, length);
+        }
+
+        @Override
+        public long write(ByteBuffer[] sources, int offset, int length) throws IOException {
+            return channel.write(sources, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return channel.position();
+        }
+
+        @Override
+        public FileChannel position(long position) throws IOException {
+            channel.position(position);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return channel.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            channel.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            channel.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return channel.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel source, long position, long count) throws IOException {
+            return channel.transferFrom(source, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer destination, long position) throws IOException {
+            return channel.read(destination, position);
+        }
+
+        @Override
+        public int write(ByteBuffer source, long position) throws IOException {
+            return channel.write(source, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return channel.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return channel.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return channel.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            channel.close();
+        }
+    }
+}
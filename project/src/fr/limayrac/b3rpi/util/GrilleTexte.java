@@ -0,0 +1,138 @@
+/**
+ * "GrilleTexte" class reads and writes grids in a plain text format, which can be written by hand or by other
+ * tools, for the batch mode (see "BatchRunner").
+ *
+ * A line of the file is a row of the grid, its cells separated by spaces:
+ * - "." is an empty letter cell, and a letter is a letter cell holding it;
+ * - "#" is a definition cell, followed by the directions of its words: "D" (droite), "B" (bas), "BD" (bas puis
+ *   droite) or "DB" (droite puis bas), two directions being joined by "+", as in "#D+B".
+ * Empty lines and lines starting with ";" are ignored. The texts of the definitions are not part of the format.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The text format of the grids.
+ */
+public final class GrilleTexte {
+
+	/**
+	 * Maximum number of rows and columns of a grid.
+	 */
+	public static final int MAX_SIZE = 100;
+
+	/**
+	 * Codes of the directions, in the order of {@link Direction}.
+	 */
+	private static final String[] CODES = {"B", "D", "BD", "DB"};
+
+	private GrilleTexte() {
+	}
+
+	/**
+	 * Reads a grid.
+	 *
+	 * @param reader The text of the grid.
+	 * @return The grid model.
+	 * @throws IOException If the text cannot be read or is not a valid grid.
+	 */
+	public static ModeleGrille read(Reader reader) throws IOException {
+		BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+		List<String[]> rows = new ArrayList<>();
+		List<Integer> lineNumbers = new ArrayList<>();
+		String line;
+		for (int number = 1; (line = lines.readLine()) != null; number++) {
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith(";")) {
+				continue;
+			}
+			String[] cells = line.split("\\s+");
+			if (!rows.isEmpty() && cells.length != rows.get(0).length) {
+				throw new IOException("Ligne " + number + " : " + cells.length + " cases au lieu de " + rows.get(0).length);
+			}
+			rows.add(cells);
+			lineNumbers.add(number);
+		}
+		if (rows.isEmpty()) {
+			throw new IOException("Grille vide");
+		}
+		if (rows.size() > MAX_SIZE || rows.get(0).length > MAX_SIZE) {
+			throw new IOException("Grille trop grande : " + rows.size() + " x " + rows.get(0).length
+					+ " (au plus " + MAX_SIZE + " x " + MAX_SIZE + ")");
+		}
+		ModeleGrille grid = new ModeleGrille(rows.size(), rows.get(0).length);
+		for (int row = 0; row < rows.size(); row++) {
+			for (int column = 0; column < rows.get(row).length; column++) {
+				String cell = rows.get(row)[column];
+				if (cell.startsWith("#")) {
+					String[] codes = cell.length() == 1 ? new String[0] : cell.substring(1).split("\\+", -1);
+					if (codes.length > 2) {
+						throw new IOException("Ligne " + lineNumbers.get(row) + " : plus de deux définitions dans « " + cell + " »");
+					}
+					grid.setDefinition(row, column, 0, null, null);
+					for (int which = 0; which < codes.length; which++) {
+						grid.setDefinition(row, column, which, null, direction(codes[which], lineNumbers.get(row)));
+					}
+				} else if (!cell.equals(".")) {
+					if (cell.length() != 1 || !Character.isLetterOrDigit(cell.charAt(0))) {
+						throw new IOException("Ligne " + lineNumbers.get(row) + " : case inconnue « " + cell + " »");
+					}
+					grid.setLetter(row, column, WordFolding.fold(cell.charAt(0)));
+				}
+			}
+		}
+		return grid;
+	}
+
+	/**
+	 * Writes a grid.
+	 *
+	 * @param grid   The grid model.
+	 * @param writer The destination of the text.
+	 * @throws IOException If the text cannot be written.
+	 */
+	public static void write(ModeleGrille grid, Writer writer) throws IOException {
+		StringBuilder line = new StringBuilder();
+		for (int row = 0; row < grid.getRows(); row++) {
+			line.setLength(0);
+			for (int column = 0; column < grid.getColumns(); column++) {
+				if (column > 0) {
+					line.append(' ');
+				}
+				if (grid.isDefinition(row, column)) {
+					line.append('#');
+					for (int which = 0; which < 2; which++) {
+						Direction direction = grid.getDirection(row, column, which);
+						if (direction != null) {
+							line.append(line.charAt(line.length() - 1) == '#' ? "" : "+").append(CODES[direction.ordinal()]);
+						}
+					}
+				} else {
+					char letter = grid.getLetter(row, column);
+					line.append(letter == ModeleGrille.EMPTY ? '.' : letter);
+				}
+			}
+			writer.write(line.append(System.lineSeparator()).toString());
+		}
+	}
+
+	private static Direction direction(String code, int lineNumber) throws IOException {
+		for (int i = 0; i < CODES.length; i++) {
+			if (CODES[i].equals(code)) {
+				return Direction.values()[i];
+			}
+		}
+		throw new IOException("Ligne " + lineNumber + " : sens inconnu « " + code + " »");
+	}
+}
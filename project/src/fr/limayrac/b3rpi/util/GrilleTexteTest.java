@@ -0,0 +1,47 @@
+package fr.limayrac.b3rpi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GrilleTexteTest {
+
+    @Test
+    void read() throws IOException {
+        ModeleGrille grid = GrilleTexte.read(new StringReader("; Une grille\n#D+B . é\n\n# a #BD\n"));
+        assertEquals(2, grid.getRows());
+        assertEquals(3, grid.getColumns());
+        assertEquals(Direction.DROITE, grid.getDirection(0, 0, 0));
+        assertEquals(Direction.BAS, grid.getDirection(0, 0, 1));
+        assertEquals(ModeleGrille.EMPTY, grid.getLetter(0, 1));
+        assertEquals('E', grid.getLetter(0, 2));
+        assertTrue(grid.isDefinition(1, 0));
+        assertNull(grid.getDirection(1, 0, 0));
+        assertEquals('A', grid.getLetter(1, 1));
+        assertEquals(Direction.BAS_DROITE, grid.getDirection(1, 2, 0));
+    }
+
+    @Test
+    void roundTrip() throws IOException {
+        String text = "#D+B . E" + System.lineSeparator() + "# A #DB" + System.lineSeparator();
+        StringWriter writer = new StringWriter();
+        GrilleTexte.write(GrilleTexte.read(new StringReader(text)), writer);
+        assertEquals(text, writer.toString());
+    }
+
+    @Test
+    void errors() {
+        assertEquals("Ligne 2 : 1 cases au lieu de 2",
+                assertThrows(IOException.class, () -> GrilleTexte.read(new StringReader(". .\n.\n"))).getMessage());
+        assertEquals("Ligne 1 : sens inconnu « X »",
+                assertThrows(IOException.class, () -> GrilleTexte.read(new StringReader("#X .\n"))).getMessage());
+        assertEquals("Ligne 1 : case inconnue « ab »",
+                assertThrows(IOException.class, () -> GrilleTexte.read(new StringReader("ab .\n"))).getMessage());
+        assertThrows(IOException.class, () -> GrilleTexte.read(new StringReader("#D+B+BD .\n")));
+        assertThrows(IOException.class, () -> GrilleTexte.read(new StringReader("; rien\n")));
+    }
+}
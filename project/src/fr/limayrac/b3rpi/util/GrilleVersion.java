@@ -0,0 +1,258 @@
+/**
+ * "GrilleVersion" class is an immutable state of a grid, as kept by the undo history (see "GrilleHistorique").
+ *
+ * The cells are stored in chunks of {@link #CHUNK_SIZE} cells, in reading order, and a version only holds an
+ * array of references to its chunks. A new version made from the previous one after a change copies the chunks
+ * of the changed cells and shares all the others: its cost is that of the changed cells and of the array of
+ * references, one reference per {@link #CHUNK_SIZE} cells, instead of a copy of the whole grid. Since a version
+ * never changes, it can be read from any thread.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.util.Objects;
+
+/**
+ * A persistent state of a grid, sharing its unchanged chunks with the other versions.
+ */
+public final class GrilleVersion {
+
+	/**
+	 * Number of cells of a chunk.
+	 */
+	public static final int CHUNK_SIZE = 64;
+
+	private static final int CHUNK_BITS = 6;
+
+	/**
+	 * Approximate size in bytes of a chunk, and of a reference to a chunk.
+	 */
+	private static final int CHUNK_BYTES = CHUNK_SIZE * (2 + 1 + 2 * 4) + 4 * 16;
+	private static final int REFERENCE_BYTES = 4;
+
+	/**
+	 * Flag of a definition cell in the kinds of the cells; the low bits are the directions of its two words,
+	 * 0 for none and ordinal + 1 otherwise.
+	 */
+	private static final byte DEFINITION = 0x40;
+	private static final int DIRECTION_BITS = 3;
+	private static final int DIRECTION_MASK = (1 << DIRECTION_BITS) - 1;
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	/**
+	 * The cells of a chunk. A chunk is filled when it is created, then never changed.
+	 */
+	private static final class Chunk {
+
+		private final char[] letters = new char[CHUNK_SIZE];
+		private final byte[] kinds = new byte[CHUNK_SIZE];
+		private final String[] texts = new String[2 * CHUNK_SIZE];
+
+		private Chunk copy() {
+			Chunk copy = new Chunk();
+			System.arraycopy(letters, 0, copy.letters, 0, CHUNK_SIZE);
+			System.arraycopy(kinds, 0, copy.kinds, 0, CHUNK_SIZE);
+			System.arraycopy(texts, 0, copy.texts, 0, 2 * CHUNK_SIZE);
+			return copy;
+		}
+
+		/**
+		 * Reads the state of a cell of the grid into the chunk.
+		 */
+		private void read(ModeleGrille grid, int index, int offset) {
+			int row = index / grid.getColumns();
+			int column = index % grid.getColumns();
+			letters[offset] = grid.getLetter(row, column);
+			kinds[offset] = kind(grid, row, column);
+			texts[2 * offset] = grid.isDefinition(row, column) ? grid.getDefinition(row, column, 0) : null;
+			texts[2 * offset + 1] = grid.isDefinition(row, column) ? grid.getDefinition(row, column, 1) : null;
+		}
+	}
+
+	private final int rows;
+	private final int columns;
+	private final Chunk[] chunks;
+	private final long cost;
+
+	private GrilleVersion(int rows, int columns, Chunk[] chunks, long cost) {
+		this.rows = rows;
+		this.columns = columns;
+		this.chunks = chunks;
+		this.cost = cost;
+	}
+
+	/**
+	 * Copies the current state of a grid.
+	 *
+	 * @param grid The grid model.
+	 * @return The version of the grid.
+	 */
+	public static GrilleVersion of(ModeleGrille grid) {
+		int size = grid.getRows() * grid.getColumns();
+		Chunk[] chunks = new Chunk[(size + CHUNK_SIZE - 1) >> CHUNK_BITS];
+		synchronized (grid) {
+			for (int i = 0; i < chunks.length; i++) {
+				chunks[i] = new Chunk();
+				for (int index = i << CHUNK_BITS; index < Math.min(size, (i + 1) << CHUNK_BITS); index++) {
+					chunks[i].read(grid, index, index & (CHUNK_SIZE - 1));
+				}
+			}
+		}
+		return new GrilleVersion(grid.getRows(), grid.getColumns(), chunks,
+				(long) chunks.length * (REFERENCE_BYTES + CHUNK_BYTES));
+	}
+
+	/**
+	 * Makes the next version: this one, with some cells replaced by their current state in the grid. Only the
+	 * chunks of these cells are copied.
+	 *
+	 * @param grid    The grid model, of the same size.
+	 * @param indexes The indexes of the changed cells, row * columns + column.
+	 * @param count   The number of indexes.
+	 * @return The new version.
+	 */
+	public GrilleVersion with(ModeleGrille grid, int[] indexes, int count) {
+		Chunk[] next = chunks.clone();
+		long copied = 0;
+		for (int i = 0; i < count; i++) {
+			int index = indexes[i];
+			int chunk = index >> CHUNK_BITS;
+			if (next[chunk] == chunks[chunk]) {
+				next[chunk] = chunks[chunk].copy();
+				copied++;
+			}
+			next[chunk].read(grid, index, index & (CHUNK_SIZE - 1));
+		}
+		return new GrilleVersion(rows, columns, next, (long) next.length * REFERENCE_BYTES + copied * CHUNK_BYTES);
+	}
+
+	/**
+	 * Returns the approximate memory used by this version and not shared with the version it was made from.
+	 *
+	 * @return The size in bytes.
+	 */
+	public long getCost() {
+		return cost;
+	}
+
+	public int getRows() {
+		return rows;
+	}
+
+	public int getColumns() {
+		return columns;
+	}
+
+	public char getLetter(int row, int column) {
+		int index = row * columns + column;
+		return chunks[index >> CHUNK_BITS].letters[index & (CHUNK_SIZE - 1)];
+	}
+
+	public boolean isDefinition(int row, int column) {
+		int index = row * columns + column;
+		return (chunks[index >> CHUNK_BITS].kinds[index & (CHUNK_SIZE - 1)] & DEFINITION) != 0;
+	}
+
+	public String getDefinition(int row, int column, int which) {
+		int index = row * columns + column;
+		return chunks[index >> CHUNK_BITS].texts[2 * (index & (CHUNK_SIZE - 1)) + which];
+	}
+
+	public Direction getDirection(int row, int column, int which) {
+		int index = row * columns + column;
+		int bits = (chunks[index >> CHUNK_BITS].kinds[index & (CHUNK_SIZE - 1)] >> (which * DIRECTION_BITS)) & DIRECTION_MASK;
+		return bits == 0 ? null : DIRECTIONS[bits - 1];
+	}
+
+	/**
+	 * Tells whether a cell of the grid is in the state it has in this version.
+	 *
+	 * @param grid  The grid model.
+	 * @param index The index of the cell, row * columns + column.
+	 * @return true if the cell is unchanged.
+	 */
+	public boolean matches(ModeleGrille grid, int index) {
+		int row = index / columns;
+		int column = index % columns;
+		Chunk chunk = chunks[index >> CHUNK_BITS];
+		int offset = index & (CHUNK_SIZE - 1);
+		if (chunk.letters[offset] != grid.getLetter(row, column) || chunk.kinds[offset] != kind(grid, row, column)) {
+			return false;
+		}
+		return !grid.isDefinition(row, column)
+				|| (Objects.equals(chunk.texts[2 * offset], grid.getDefinition(row, column, 0))
+				&& Objects.equals(chunk.texts[2 * offset + 1], grid.getDefinition(row, column, 1)));
+	}
+
+	/**
+	 * Tells whether a whole grid is in the state of this version.
+	 *
+	 * @param grid The grid model.
+	 * @return true if the grid has the size of this version and none of its cells changed.
+	 */
+	public boolean matches(ModeleGrille grid) {
+		synchronized (grid) {
+			if (grid.getRows() != rows || grid.getColumns() != columns) {
+				return false;
+			}
+			for (int index = 0; index < rows * columns; index++) {
+				if (!matches(grid, index)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Makes a new grid model in the state of this version, which can be searched off the event thread while the
+	 * grid it was taken from is being edited.
+	 *
+	 * @return The grid model.
+	 */
+	public ModeleGrille toModele() {
+		ModeleGrille grid = new ModeleGrille(rows, columns);
+		for (int index = 0; index < rows * columns; index++) {
+			restore(grid, index);
+		}
+		return grid;
+	}
+
+	/**
+	 * Puts a cell of the grid back in the state it has in this version.
+	 *
+	 * @param grid  The grid model.
+	 * @param index The index of the cell, row * columns + column.
+	 */
+	public void restore(ModeleGrille grid, int index) {
+		int row = index / columns;
+		int column = index % columns;
+		if (isDefinition(row, column)) {
+			grid.batch(() -> {
+				for (int which = 0; which < 2; which++) {
+					grid.setDefinition(row, column, which, getDefinition(row, column, which), getDirection(row, column, which));
+				}
+			});
+		} else {
+			grid.setLetter(row, column, getLetter(row, column));
+		}
+	}
+
+	private static byte kind(ModeleGrille grid, int row, int column) {
+		if (!grid.isDefinition(row, column)) {
+			return 0;
+		}
+		int kind = DEFINITION;
+		for (int which = 0; which < 2; which++) {
+			Direction direction = grid.getDirection(row, column, which);
+			if (direction != null) {
+				kind |= (direction.ordinal() + 1) << (which * DIRECTION_BITS);
+			}
+		}
+		return (byte) kind;
+	}
+}
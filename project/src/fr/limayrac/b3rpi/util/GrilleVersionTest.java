@@ -0,0 +1,66 @@
+package fr.limayrac.b3rpi.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GrilleVersionTest {
+
+    @Test
+    void copiesTheGrid() {
+        ModeleGrille grid = GrilleBinaireTest.sample();
+        GrilleVersion version = GrilleVersion.of(grid);
+        for (int row = 0; row < grid.getRows(); row++) {
+            for (int column = 0; column < grid.getColumns(); column++) {
+                assertEquals(grid.getLetter(row, column), version.getLetter(row, column));
+                assertEquals(grid.isDefinition(row, column), version.isDefinition(row, column));
+                for (int which = 0; which < 2; which++) {
+                    assertEquals(grid.getDefinition(row, column, which), version.getDefinition(row, column, which));
+                    assertEquals(grid.getDirection(row, column, which), version.getDirection(row, column, which));
+                }
+                assertTrue(version.matches(grid, row * grid.getColumns() + column));
+            }
+        }
+    }
+
+    @Test
+    void nextVersionSharesUnchangedChunks() {
+        ModeleGrille grid = new ModeleGrille(100, 100);
+        GrilleVersion first = GrilleVersion.of(grid);
+        grid.setLetter(50, 50, 'A');
+        int index = 50 * 100 + 50;
+        assertFalse(first.matches(grid, index));
+        GrilleVersion second = first.with(grid, new int[]{index}, 1);
+
+        assertEquals(ModeleGrille.EMPTY, first.getLetter(50, 50));
+        assertEquals('A', second.getLetter(50, 50));
+        assertTrue(second.matches(grid, index));
+        // One chunk copied, instead of the whole grid
+        assertTrue(second.getCost() < first.getCost() / 50);
+    }
+
+    @Test
+    void restore() {
+        ModeleGrille grid = GrilleBinaireTest.sample();
+        GrilleVersion version = GrilleVersion.of(grid);
+        grid.setLetter(0, 0, 'X');
+        grid.setDefinition(1, 1, 0, "Nouvelle", Direction.BAS);
+        version.restore(grid, 0);
+        version.restore(grid, grid.getColumns() + 1);
+        GrilleBinaireTest.assertSameGrid(GrilleBinaireTest.sample(), grid);
+    }
+
+    @Test
+    void toModele() {
+        ModeleGrille grid = GrilleBinaireTest.sample();
+        GrilleVersion version = GrilleVersion.of(grid);
+        ModeleGrille copy = version.toModele();
+        GrilleBinaireTest.assertSameGrid(grid, copy);
+        assertTrue(version.matches(copy));
+
+        copy.setLetter(0, 0, 'X');
+        assertFalse(version.matches(copy));
+        assertTrue(version.matches(grid));
+        assertFalse(version.matches(new ModeleGrille(grid.getRows(), grid.getColumns() + 1)));
+    }
+}
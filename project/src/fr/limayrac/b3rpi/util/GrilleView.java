@@ -0,0 +1,301 @@
+/**
+ * "GrilleView" class is the view of the grid: a single component which paints the cells of the grid model.
+ *
+ * No Swing component is created per cell. Only the cells inside the clip are painted, a change of the model
+ * repaints the rectangles of the changed cells only, and clicks are mapped to cells by arithmetic, so grids of
+ * a hundred rows by a hundred columns scroll as smoothly as small ones. The glyphs of the letters and arrows
+ * and the line breaks of the definitions are computed once and cached.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseEvent;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The component displaying a mots fléchés grid.
+ */
+public class GrilleView extends JComponent implements ModeleGrille.Listener {
+
+	private static final Color DEFINITION_BACKGROUND = Color.YELLOW;
+	private static final Color NO_CANDIDATE = new Color(255, 160, 160);
+	private static final Color ONE_CANDIDATE = new Color(255, 205, 130);
+
+	/**
+	 * Maximum number of definitions whose line breaks are kept.
+	 */
+	private static final int DEFINITION_CACHE_SIZE = 4096;
+
+	private final ModeleGrille model;
+	private final int cellSize;
+	private final Font letterFont;
+	private final Font arrowFont;
+	private final Font definitionFont;
+
+	// Glyph caches, valid for one font render context
+	private FontRenderContext renderContext;
+	private final Map<Character, GlyphVector> letterGlyphs = new HashMap<>();
+	private final GlyphVector[] arrowGlyphs = new GlyphVector[Direction.values().length];
+	private final Map<String, String[]> definitionLines = new HashMap<>();
+
+	private int[] cellCounts;
+
+	/**
+	 * Constructor of the GrilleView class.
+	 *
+	 * @param model    The grid model to display.
+	 * @param cellSize The side of a cell, in pixels.
+	 */
+	public GrilleView(ModeleGrille model, int cellSize) {
+		this.model = model;
+		this.cellSize = cellSize;
+		String family = new JLabel().getFont().getName();
+		letterFont = new Font(family, Font.BOLD, cellSize * 2 / 7);
+		arrowFont = new Font(Font.SANS_SERIF, Font.PLAIN, cellSize * 3 / 7);
+		definitionFont = new Font(family, Font.PLAIN, Math.max(8, cellSize / 6));
+		setOpaque(true);
+		setBackground(Color.WHITE);
+		setPreferredSize(new Dimension(model.getColumns() * cellSize + 1, model.getRows() * cellSize + 1));
+		ToolTipManager.sharedInstance().registerComponent(this);
+		model.addListener(this);
+	}
+
+	public int getCellSize() {
+		return cellSize;
+	}
+
+	/**
+	 * Returns the cell under a point of the component.
+	 *
+	 * @param point The point, in the coordinates of the component.
+	 * @return The row and the column of the cell, null if the point is outside the grid.
+	 */
+	public int[] cellAt(Point point) {
+		int row = Math.floorDiv(point.y, cellSize);
+		int column = Math.floorDiv(point.x, cellSize);
+		return model.contains(row, column) ? new int[]{row, column} : null;
+	}
+
+	/**
+	 * Returns the rectangle of a cell, in the coordinates of the component.
+	 *
+	 * @param row    The row of the cell.
+	 * @param column The column of the cell.
+	 * @return The bounds of the cell, border included.
+	 */
+	public Rectangle cellBounds(int row, int column) {
+		return new Rectangle(column * cellSize, row * cellSize, cellSize + 1, cellSize + 1);
+	}
+
+	/**
+	 * Shows candidate counts on the letter cells; only the cells whose count changed are repainted.
+	 *
+	 * @param snapshot The counts of the heatmap, null to hide them.
+	 */
+	public void setHeatmap(SlotHeatmap.Snapshot snapshot) {
+		int[] previous = cellCounts;
+		int[] counts = new int[model.getRows() * model.getColumns()];
+		for (int row = 0; row < model.getRows(); row++) {
+			for (int column = 0; column < model.getColumns(); column++) {
+				counts[row * model.getColumns() + column] = snapshot == null ? SlotHeatmap.NO_SLOT
+						: snapshot.cellCount(row, column);
+			}
+		}
+		cellCounts = counts;
+		for (int cell = 0; cell < counts.length; cell++) {
+			if (previous == null ? counts[cell] != SlotHeatmap.NO_SLOT : previous[cell] != counts[cell]) {
+				repaint(cellBounds(cell / model.getColumns(), cell % model.getColumns()));
+			}
+		}
+	}
+
+	@Override
+	public void cellChanged(int row, int column) {
+		// The arrows of a definition are drawn in the cells below and on the right of it
+		repaint(column * cellSize, row * cellSize, 2 * cellSize + 1, 2 * cellSize + 1);
+	}
+
+	@Override
+	public void regionChanged(int firstRow, int firstColumn, int lastRow, int lastColumn) {
+		repaint(firstColumn * cellSize, firstRow * cellSize,
+				(lastColumn - firstColumn + 2) * cellSize + 1, (lastRow - firstRow + 2) * cellSize + 1);
+	}
+
+	@Override
+	public String getToolTipText(MouseEvent event) {
+		int[] cell = cellAt(event.getPoint());
+		if (cell == null || cellCounts == null) {
+			return null;
+		}
+		int count = cellCounts[cell[0] * model.getColumns() + cell[1]];
+		if (count == SlotHeatmap.NO_SLOT) {
+			return null;
+		}
+		return count + (count > 1 ? " mots possibles" : " mot possible");
+	}
+
+	@Override
+	protected void paintComponent(Graphics graphics) {
+		Graphics2D g = (Graphics2D) graphics.create();
+		try {
+			g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+			g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+			if (!g.getFontRenderContext().equals(renderContext)) {
+				renderContext = g.getFontRenderContext();
+				letterGlyphs.clear();
+				Arrays.fill(arrowGlyphs, null);
+			}
+			Rectangle clip = g.getClipBounds();
+			if (clip == null) {
+				clip = new Rectangle(getSize());
+			}
+			g.setColor(getBackground());
+			g.fill(clip);
+			int firstRow = Math.max(0, clip.y / cellSize);
+			int lastRow = Math.min(model.getRows() - 1, (clip.y + clip.height) / cellSize);
+			int firstColumn = Math.max(0, clip.x / cellSize);
+			int lastColumn = Math.min(model.getColumns() - 1, (clip.x + clip.width) / cellSize);
+			for (int row = firstRow; row <= lastRow; row++) {
+				for (int column = firstColumn; column <= lastColumn; column++) {
+					paintCell(g, row, column);
+				}
+			}
+		} finally {
+			g.dispose();
+		}
+	}
+
+	/**
+	 * Paints one cell: its background, its border, then its definitions or its letter and arrows.
+	 */
+	private void paintCell(Graphics2D g, int row, int column) {
+		int x = column * cellSize;
+		int y = row * cellSize;
+		if (model.isDefinition(row, column)) {
+			g.setColor(DEFINITION_BACKGROUND);
+			g.fillRect(x, y, cellSize, cellSize);
+			g.setColor(Color.BLACK);
+			String second = model.getDefinition(row, column, 1);
+			if (second == null) {
+				paintDefinition(g, model.getDefinition(row, column, 0), x, y, cellSize);
+			} else {
+				paintDefinition(g, model.getDefinition(row, column, 0), x, y, cellSize / 2);
+				paintDefinition(g, second, x, y + cellSize / 2, cellSize - cellSize / 2);
+				g.drawLine(x, y + cellSize / 2, x + cellSize, y + cellSize / 2);
+			}
+		} else {
+			int count = cellCounts == null ? SlotHeatmap.NO_SLOT : cellCounts[row * model.getColumns() + column];
+			if (count == 0 || count == 1) {
+				g.setColor(count == 0 ? NO_CANDIDATE : ONE_CANDIDATE);
+				g.fillRect(x, y, cellSize, cellSize);
+			}
+			g.setColor(Color.BLACK);
+			paintArrows(g, row, column, x, y);
+			char letter = model.getLetter(row, column);
+			if (letter != ModeleGrille.EMPTY) {
+				GlyphVector glyphs = letterGlyphs.computeIfAbsent(letter,
+						c -> letterFont.createGlyphVector(renderContext, String.valueOf(c)));
+				drawCentered(g, glyphs, x + cellSize / 2f, y + cellSize / 2f);
+			}
+		}
+		g.setColor(Color.BLACK);
+		g.drawRect(x, y, cellSize, cellSize);
+	}
+
+	/**
+	 * Paints the arrows of the words starting in a cell, which are defined in the cell above or on the left.
+	 */
+	private void paintArrows(Graphics2D g, int row, int column, int x, int y) {
+		for (int side = 0; side < 2; side++) {
+			int definitionRow = side == 0 ? row - 1 : row;
+			int definitionColumn = side == 0 ? column : column - 1;
+			if (!model.contains(definitionRow, definitionColumn) || !model.isDefinition(definitionRow, definitionColumn)) {
+				continue;
+			}
+			for (int which = 0; which < 2; which++) {
+				Direction direction = model.getDirection(definitionRow, definitionColumn, which);
+				if (direction != null && direction.row(definitionRow, 0) == row
+						&& direction.column(definitionColumn, 0) == column) {
+					GlyphVector glyphs = arrowGlyphs[direction.ordinal()];
+					if (glyphs == null) {
+						glyphs = arrowFont.createGlyphVector(renderContext, direction.getArrow());
+						arrowGlyphs[direction.ordinal()] = glyphs;
+					}
+					// The arrow sits on the side of the definition
+					Rectangle2D bounds = glyphs.getLogicalBounds();
+					float arrowX = side == 0 ? x + (cellSize - (float) bounds.getWidth()) / 2 : x + 2;
+					float arrowY = side == 0 ? y - (float) bounds.getY() : y + (cellSize - (float) bounds.getHeight()) / 2
+							- (float) bounds.getY();
+					g.drawGlyphVector(glyphs, arrowX, arrowY);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Paints a definition text, broken into lines which fit the width of a cell.
+	 */
+	private void paintDefinition(Graphics2D g, String text, int x, int y, int height) {
+		if (text == null || text.isEmpty()) {
+			return;
+		}
+		g.setFont(definitionFont);
+		FontMetrics metrics = g.getFontMetrics();
+		String[] lines = definitionLines.get(text);
+		if (lines == null) {
+			if (definitionLines.size() >= DEFINITION_CACHE_SIZE) {
+				definitionLines.clear();
+			}
+			lines = breakLines(text, metrics, cellSize - 4);
+			definitionLines.put(text, lines);
+		}
+		int visible = Math.min(lines.length, Math.max(1, height / metrics.getHeight()));
+		int lineY = y + (height - visible * metrics.getHeight()) / 2 + metrics.getAscent();
+		Shape clip = g.getClip();
+		g.clipRect(x, y, cellSize, height);
+		for (int i = 0; i < visible; i++) {
+			g.drawString(lines[i], x + (cellSize - metrics.stringWidth(lines[i])) / 2, lineY);
+			lineY += metrics.getHeight();
+		}
+		g.setClip(clip);
+	}
+
+	/**
+	 * Breaks a text into lines no wider than the given width, between words when possible.
+	 */
+	private static String[] breakLines(String text, FontMetrics metrics, int width) {
+		List<String> lines = new ArrayList<>();
+		StringBuilder line = new StringBuilder();
+		for (String word : text.trim().split("\\s+")) {
+			String candidate = line.length() == 0 ? word : line + " " + word;
+			if (line.length() > 0 && metrics.stringWidth(candidate) > width) {
+				lines.add(line.toString());
+				line.setLength(0);
+				line.append(word);
+			} else {
+				line.setLength(0);
+				line.append(candidate);
+			}
+		}
+		lines.add(line.toString());
+		return lines.toArray(new String[0]);
+	}
+
+	private static void drawCentered(Graphics2D g, GlyphVector glyphs, float centerX, float centerY) {
+		Rectangle2D bounds = glyphs.getLogicalBounds();
+		g.drawGlyphVector(glyphs, centerX - (float) bounds.getCenterX(), centerY - (float) bounds.getCenterY());
+	}
+}
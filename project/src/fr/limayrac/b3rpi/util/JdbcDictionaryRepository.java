@@ -0,0 +1,406 @@
+/**
+ * "JdbcDictionaryRepository" class is a dictionary repository stored in an embedded SQL database, such as H2
+ * ("jdbc:h2:./motsfleches" for a file, "jdbc:h2:mem:motsfleches" in memory), reached through JDBC only, so the
+ * driver is needed at run time but not to build the application.
+ *
+ * A row of the "mot" table is a word as written in the dictionary, with its folded search key, its length and
+ * one column per position for the first letters of the key. Each letter column is indexed together with the
+ * length, and the key on its own, so a pattern query is pushed down to the database as a single statement: the
+ * leading letters become a key prefix, the other letters conditions on their columns. Only the requested page of
+ * words is read, and the lexicon can be larger than the heap. The frequency and the tags of the words are kept in
+ * the same rows, and survive a new import of the word list.
+ *
+ * The repository is queried by several threads at once (the requests of the HTTP server, for example), and a JDBC
+ * connection is not meant to be shared by concurrent statements. Every query borrows a connection from a small
+ * pool of its own, and gives it back when its result set is read; beyond the size of the pool, queries wait for a
+ * free connection.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * The dictionary repository of an embedded SQL database.
+ */
+public class JdbcDictionaryRepository implements DictionaryRepository {
+
+	/**
+	 * Number of positions which have their own letter column; the letters beyond are read from the key.
+	 */
+	public static final int LETTER_COLUMNS = 15;
+
+	/**
+	 * Number of rows sent to the database at once by an import.
+	 */
+	private static final int BATCH_SIZE = 10_000;
+
+	/**
+	 * Maximum number of connections open at once, and so of statements run at once on the database.
+	 */
+	private static final int POOL_SIZE = 4;
+
+	private static final Metrics.Histogram FIND_TIME = Metrics.histogram("repository.jdbc.find");
+	private static final Metrics.Histogram COUNT_TIME = Metrics.histogram("repository.jdbc.count");
+
+	private final String url;
+	private final BlockingQueue<Connection> idle = new LinkedBlockingQueue<>();
+	private final Semaphore permits = new Semaphore(POOL_SIZE);
+
+	/**
+	 * Constructor of the JdbcDictionaryRepository class: opens the database and creates the table and its indexes
+	 * if they do not exist.
+	 *
+	 * @param url The JDBC URL of the database.
+	 */
+	public JdbcDictionaryRepository(String url) {
+		this.url = url;
+		try (Lease lease = lease();
+			 Statement statement = lease.connection.createStatement()) {
+			StringBuilder table = new StringBuilder("CREATE TABLE IF NOT EXISTS mot (forme VARCHAR(255) PRIMARY KEY, "
+					+ "cle VARCHAR(255) NOT NULL, longueur INT NOT NULL");
+			for (int p = 0; p < LETTER_COLUMNS; p++) {
+				table.append(", c").append(p).append(" CHAR(1)");
+			}
+			table.append(", frequence INT DEFAULT 0 NOT NULL, tags VARCHAR(1000))");
+			statement.execute(table.toString());
+			statement.execute("CREATE INDEX IF NOT EXISTS mot_cle ON mot (cle, forme)");
+			statement.execute("CREATE INDEX IF NOT EXISTS mot_longueur ON mot (longueur, cle)");
+			for (int p = 0; p < LETTER_COLUMNS; p++) {
+				statement.execute("CREATE INDEX IF NOT EXISTS mot_c" + p + " ON mot (longueur, c" + p + ")");
+			}
+		} catch (SQLException e) {
+			close();
+			throw failure("Création de la table du dictionnaire impossible", e);
+		} catch (IllegalStateException e) {
+			close();
+			throw e;
+		}
+	}
+
+	public String getUrl() {
+		return url;
+	}
+
+	/**
+	 * Adds the words of a dictionary to the database, in a single transaction. The words already present keep
+	 * their frequency and their tags.
+	 *
+	 * @param dictionary The dictionary.
+	 */
+	public void importDictionary(Dictionary dictionary) {
+		List<String> forms = new ArrayList<>(2);
+		try (Importer importer = new Importer()) {
+			for (int key = 0; key < dictionary.getWords().size(); key++) {
+				forms.clear();
+				dictionary.addDisplayForms(key, forms);
+				for (String form : forms) {
+					importer.add(form);
+				}
+			}
+			importer.commit();
+		} catch (SQLException e) {
+			throw failure("Import du dictionnaire impossible", e);
+		}
+	}
+
+	/**
+	 * Adds the words of a text word list (one word per line, UTF-8) to the database, in a single transaction,
+	 * reading the list line by line so that it does not have to fit in memory.
+	 *
+	 * @param inputStream The text word list.
+	 * @throws IOException If the list cannot be read.
+	 */
+	public void importText(InputStream inputStream) throws IOException {
+		try (Importer importer = new Importer();
+			 BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = bufferedReader.readLine()) != null) {
+				importer.add(line.trim());
+			}
+			importer.commit();
+		} catch (SQLException e) {
+			throw failure("Import du dictionnaire impossible", e);
+		}
+	}
+
+	@Override
+	public int size() {
+		try (Lease lease = lease();
+			 Statement statement = lease.connection.createStatement();
+			 ResultSet resultSet = statement.executeQuery("SELECT COUNT(DISTINCT cle) FROM mot")) {
+			resultSet.next();
+			return resultSet.getInt(1);
+		} catch (SQLException e) {
+			throw failure("Lecture du dictionnaire impossible", e);
+		}
+	}
+
+	@Override
+	public int count(WordPattern pattern) {
+		long start = System.nanoTime();
+		try (Lease lease = lease();
+			 PreparedStatement statement = prepare(lease.connection, "SELECT COUNT(DISTINCT cle) FROM mot", pattern, "");
+			 ResultSet resultSet = statement.executeQuery()) {
+			resultSet.next();
+			return resultSet.getInt(1);
+		} catch (SQLException e) {
+			throw failure("Recherche dans le dictionnaire impossible", e);
+		} finally {
+			COUNT_TIME.recordSince(start);
+		}
+	}
+
+	@Override
+	public List<String> find(WordPattern pattern, int offset, int limit) {
+		long start = System.nanoTime();
+		try (Lease lease = lease();
+			 PreparedStatement statement = prepare(lease.connection, "SELECT forme FROM mot", pattern,
+				" ORDER BY cle, forme LIMIT " + Math.max(0, limit) + " OFFSET " + Math.max(0, offset));
+			 ResultSet resultSet = statement.executeQuery()) {
+			List<String> words = new ArrayList<>();
+			while (resultSet.next()) {
+				words.add(resultSet.getString(1));
+			}
+			return words;
+		} catch (SQLException e) {
+			throw failure("Recherche dans le dictionnaire impossible", e);
+		} finally {
+			FIND_TIME.recordSince(start);
+		}
+	}
+
+	@Override
+	public int frequency(String word) {
+		try (Lease lease = lease();
+			 PreparedStatement statement = lease.connection.prepareStatement("SELECT frequence FROM mot WHERE forme = ?")) {
+			statement.setString(1, word);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				return resultSet.next() ? resultSet.getInt(1) : 0;
+			}
+		} catch (SQLException e) {
+			throw failure("Lecture du dictionnaire impossible", e);
+		}
+	}
+
+	@Override
+	public List<String> tags(String word) {
+		try (Lease lease = lease();
+			 PreparedStatement statement = lease.connection.prepareStatement("SELECT tags FROM mot WHERE forme = ?")) {
+			statement.setString(1, word);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				String tags = resultSet.next() ? resultSet.getString(1) : null;
+				return tags == null || tags.isEmpty() ? List.of() : List.of(tags.split(","));
+			}
+		} catch (SQLException e) {
+			throw failure("Lecture du dictionnaire impossible", e);
+		}
+	}
+
+	/**
+	 * Records the frequency and the tags of a word; the tags are stored separated by commas.
+	 */
+	@Override
+	public void setMetadata(String word, int frequency, List<String> tags) {
+		try (Lease lease = lease();
+			 PreparedStatement statement = lease.connection.prepareStatement(
+				"UPDATE mot SET frequence = ?, tags = ? WHERE forme = ?")) {
+			statement.setInt(1, frequency);
+			statement.setString(2, String.join(",", tags));
+			statement.setString(3, word);
+			if (statement.executeUpdate() == 0) {
+				throw new IllegalArgumentException("Mot absent du dictionnaire : " + word);
+			}
+		} catch (SQLException e) {
+			throw failure("Écriture dans le dictionnaire impossible", e);
+		}
+	}
+
+	/**
+	 * Closes the connections of the pool. The queries in progress must be over.
+	 */
+	@Override
+	public void close() {
+		SQLException failure = null;
+		for (Connection connection = idle.poll(); connection != null; connection = idle.poll()) {
+			try {
+				connection.close();
+			} catch (SQLException e) {
+				failure = e;
+			}
+		}
+		if (failure != null) {
+			throw failure("Fermeture de la base du dictionnaire impossible", failure);
+		}
+	}
+
+	/**
+	 * Borrows a connection of the pool, opening it if every open connection is in use, or waits for one when the
+	 * pool is full.
+	 */
+	private Lease lease() {
+		permits.acquireUninterruptibly();
+		Connection connection = idle.poll();
+		if (connection == null) {
+			try {
+				connection = DriverManager.getConnection(url);
+			} catch (SQLException e) {
+				permits.release();
+				throw new IllegalStateException("Ouverture de la base du dictionnaire impossible : " + url, e);
+			}
+		}
+		return new Lease(connection);
+	}
+
+	/**
+	 * Prepares a statement selecting the words of the pattern. The fixed letters before the first free position
+	 * become a prefix of the key, which the key index answers; every other letter only applies to the words long
+	 * enough to reach it, like in the in-memory index.
+	 */
+	private PreparedStatement prepare(Connection connection, String select, WordPattern pattern, String suffix) throws SQLException {
+		int prefixLength = 0;
+		while (prefixLength < pattern.constraintCount() && pattern.position(prefixLength) == prefixLength) {
+			prefixLength++;
+		}
+		int minLength = Math.max(pattern.getMinLength(), prefixLength);
+		StringBuilder sql = new StringBuilder(select).append(" WHERE longueur BETWEEN ? AND ?");
+		List<Object> parameters = new ArrayList<>(Arrays.asList(minLength, pattern.getMaxLength()));
+		if (prefixLength > 0) {
+			char[] prefix = new char[prefixLength];
+			for (int i = 0; i < prefixLength; i++) {
+				prefix[i] = pattern.letter(i);
+			}
+			sql.append(" AND cle LIKE ?");
+			parameters.add(new String(prefix) + "%");
+		}
+		for (int i = prefixLength; i < pattern.constraintCount(); i++) {
+			int position = pattern.position(i);
+			String column = position < LETTER_COLUMNS ? "c" + position : "SUBSTRING(cle, " + (position + 1) + ", 1)";
+			sql.append(" AND (longueur <= ? OR ").append(column).append(" = ?)");
+			parameters.add(position);
+			parameters.add(String.valueOf(pattern.letter(i)));
+		}
+		sql.append(suffix);
+		PreparedStatement statement = connection.prepareStatement(sql.toString());
+		for (int i = 0; i < parameters.size(); i++) {
+			statement.setObject(i + 1, parameters.get(i));
+		}
+		return statement;
+	}
+
+	private static IllegalStateException failure(String message, SQLException e) {
+		return new IllegalStateException(message + " : " + e.getMessage(), e);
+	}
+
+	/**
+	 * A connection borrowed from the pool, given back when closed.
+	 */
+	private final class Lease implements AutoCloseable {
+
+		final Connection connection;
+
+		Lease(Connection connection) {
+			this.connection = connection;
+		}
+
+		@Override
+		public void close() {
+			idle.add(connection);
+			permits.release();
+		}
+	}
+
+	/**
+	 * Inserts words by batches in one transaction; a word already present only has its key columns updated.
+	 */
+	private final class Importer implements AutoCloseable {
+
+		private final Lease lease = lease();
+		private final Connection connection = lease.connection;
+		private final PreparedStatement statement;
+		private int pending;
+		private boolean committed;
+
+		Importer() throws SQLException {
+			StringBuilder sql = new StringBuilder("MERGE INTO mot (forme, cle, longueur");
+			for (int p = 0; p < LETTER_COLUMNS; p++) {
+				sql.append(", c").append(p);
+			}
+			sql.append(") KEY (forme) VALUES (?, ?, ?").append(", ?".repeat(LETTER_COLUMNS)).append(')');
+			try {
+				connection.setAutoCommit(false);
+				statement = connection.prepareStatement(sql.toString());
+			} catch (SQLException e) {
+				try {
+					connection.setAutoCommit(true);
+				} finally {
+					lease.close();
+				}
+				throw e;
+			}
+		}
+
+		void add(String word) throws SQLException {
+			String key = WordFolding.fold(word);
+			if (key.isEmpty()) {
+				return;
+			}
+			statement.setString(1, word);
+			statement.setString(2, key);
+			statement.setInt(3, key.length());
+			for (int p = 0; p < LETTER_COLUMNS; p++) {
+				statement.setString(4 + p, p < key.length() ? String.valueOf(key.charAt(p)) : null);
+			}
+			statement.addBatch();
+			if (++pending == BATCH_SIZE) {
+				statement.executeBatch();
+				pending = 0;
+			}
+		}
+
+		void commit() throws SQLException {
+			if (pending > 0) {
+				statement.executeBatch();
+				pending = 0;
+			}
+			connection.commit();
+			committed = true;
+		}
+
+		@Override
+		public void close() throws SQLException {
+			try {
+				statement.close();
+				if (!committed) {
+					connection.rollback();
+				}
+			} finally {
+				try {
+					connection.setAutoCommit(true);
+				} finally {
+					lease.close();
+				}
+			}
+		}
+	}
+}
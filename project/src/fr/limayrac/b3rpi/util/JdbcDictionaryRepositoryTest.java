@@ -0,0 +1,79 @@
+package fr.limayrac.b3rpi.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcDictionaryRepositoryTest {
+
+    private static final List<String> WORDS = List.of("arbre", "arc", "autre", "bar", "barre", "été", "ete",
+            "anticonstitutionnellement", "anticonstitutionnel");
+
+    private final JdbcDictionaryRepository repository = new JdbcDictionaryRepository("jdbc:h2:mem:" + System.nanoTime());
+    private final QueryEngine engine = new QueryEngine(Dictionary.of(WORDS));
+
+    @AfterEach
+    void close() {
+        repository.close();
+    }
+
+    @Test
+    void sameResultsAsTheIndex() {
+        repository.importDictionary(engine.getDictionary());
+        assertEquals(engine.getDictionary().getWords().size(), repository.size());
+        for (WordPattern pattern : List.of(WordPattern.compile("a", 1, 5), WordPattern.compile("?????"),
+                WordPattern.compile("A??R", 1, 7), WordPattern.compile("?A?", 1, 30), WordPattern.compile("E?E"),
+                WordPattern.compile("?????????????????????M", 1, 30), WordPattern.compile("Z", 1, 30))) {
+            assertEquals(engine.count(pattern), repository.count(pattern), pattern.toString());
+            assertEquals(engine.find(pattern), repository.find(pattern, 0, 100), pattern.toString());
+            assertEquals(engine.find(pattern, 1, 2), repository.find(pattern, 1, 2), pattern.toString());
+        }
+    }
+
+    @Test
+    void concurrentQueries() throws Exception {
+        repository.importDictionary(engine.getDictionary());
+        WordPattern pattern = WordPattern.compile("a", 1, 30);
+        List<String> expected = engine.find(pattern);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> sessions = new ArrayList<>();
+            for (int s = 0; s < 16; s++) {
+                sessions.add(pool.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        assertEquals(expected, repository.find(pattern, 0, 100));
+                        assertEquals(expected.size(), repository.count(pattern));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> session : sessions) {
+                session.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void metadataSurvivesImport() throws Exception {
+        repository.importText(new ByteArrayInputStream("arbre\narc\n".getBytes(StandardCharsets.UTF_8)));
+        repository.setMetadata("arbre", 42, List.of("nom", "masculin"));
+        repository.importText(new ByteArrayInputStream("arbre\nbar\n".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(3, repository.size());
+        assertEquals(42, repository.frequency("arbre"));
+        assertEquals(List.of("nom", "masculin"), repository.tags("arbre"));
+        assertEquals(0, repository.frequency("bar"));
+        assertEquals(List.of(), repository.tags("bar"));
+        assertThrows(IllegalArgumentException.class, () -> repository.setMetadata("zzz", 1, List.of()));
+    }
+}
@@ -0,0 +1,248 @@
+/**
+ * "LiveDictionary" class keeps the dictionary up to date with its word list while the application runs.
+ *
+ * The current version of the dictionary is an immutable query engine held in an atomic reference. When the word
+ * list file changes (it is watched with a "WatchService"), a new version is built on a background thread, then
+ * published by a single swap of the reference. A query reads the reference once and runs on that version to the
+ * end, so queries in progress keep the old version, new queries get the new one, and neither queries nor the event
+ * thread ever wait for a reload. The versions share one query cache, which drops the results of the old ones.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A dictionary reloaded when its word list changes.
+ */
+public class LiveDictionary implements AutoCloseable {
+
+	/**
+	 * Delay between the last change of the word list and its reload, so that a file being written is read once.
+	 */
+	private static final long RELOAD_DELAY_MILLIS = 300;
+
+	private static final Metrics.Histogram LOAD_TIME = Metrics.histogram("dictionary.load");
+	private static final Metrics.Counter RELOADS = Metrics.counter("dictionary.reloads");
+	private static final Metrics.Counter LOAD_ERRORS = Metrics.counter("dictionary.load.errors");
+	private static final Metrics.Counter RELOAD_ERRORS = Metrics.counter("dictionary.reload.errors");
+	static final Metrics.Counter WATCH_ERRORS = Metrics.counter("dictionary.watch.errors");
+
+	/**
+	 * Listener notified when a new version of the dictionary is published.
+	 */
+	public interface Listener {
+
+		/**
+		 * Called, from the loading thread, after the swap.
+		 *
+		 * @param engine The query engine of the new version.
+		 */
+		void dictionaryReloaded(QueryEngine engine);
+	}
+
+	private final URL source;
+	private final QueryCache cache;
+	private final AtomicReference<QueryEngine> current = new AtomicReference<>();
+	private final CompletableFuture<QueryEngine> ready;
+	private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+	private final ScheduledExecutorService loader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "dictionary-loader");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	// Watch of the word list, guarded by this
+	private WatchService watchService;
+	private ScheduledFuture<?> pendingReload;
+
+	/**
+	 * Constructor of the LiveDictionary class. Starts loading the dictionary in the background and returns
+	 * immediately.
+	 *
+	 * @param source The URL of the text word list.
+	 */
+	public LiveDictionary(URL source) {
+		this(source, new QueryCache(QueryCache.DEFAULT_CAPACITY));
+	}
+
+	/**
+	 * Constructor of the LiveDictionary class, with the query cache of all its versions.
+	 *
+	 * @param source The URL of the text word list.
+	 * @param cache  The query cache.
+	 */
+	public LiveDictionary(URL source, QueryCache cache) {
+		this.source = source;
+		this.cache = cache;
+		ready = CompletableFuture.supplyAsync(this::load, loader);
+	}
+
+	/**
+	 * Returns the readiness handle of the dictionary, completed once its first version is loaded.
+	 *
+	 * @return The future query engine of the first version.
+	 */
+	public CompletableFuture<QueryEngine> whenReady() {
+		return ready;
+	}
+
+	/**
+	 * Returns the current version of the dictionary, waiting for the first one if it is still loading. Callers
+	 * read it once per query, and keep it for the whole query.
+	 *
+	 * @return The query engine of the current version.
+	 */
+	public QueryEngine current() {
+		QueryEngine engine = current.get();
+		return engine != null ? engine : ready.join();
+	}
+
+	public void addListener(Listener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(Listener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Starts watching the word list, and reloads the dictionary whenever the file changes. A word list which is
+	 * not a file, such as a resource of a jar, cannot be watched.
+	 *
+	 * @return true if the word list is watched.
+	 * @throws IOException If the watch cannot be set up.
+	 */
+	public synchronized boolean watch() throws IOException {
+		if (watchService != null) {
+			return true;
+		}
+		if (source == null || !"file".equals(source.getProtocol())) {
+			return false;
+		}
+		Path file;
+		try {
+			file = Paths.get(source.toURI());
+		} catch (URISyntaxException e) {
+			throw new IOException("Liste de mots invalide : " + source, e);
+		}
+		Path directory = file.toAbsolutePath().getParent();
+		watchService = directory.getFileSystem().newWatchService();
+		directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+		WatchService service = watchService;
+		Thread watcher = new Thread(() -> watch(service, file.getFileName()), "dictionary-watcher");
+		watcher.setDaemon(true);
+		watcher.start();
+		return true;
+	}
+
+	/**
+	 * Reloads the dictionary in the background, shortly after the last request.
+	 */
+	public synchronized void requestReload() {
+		if (loader.isShutdown()) {
+			return;
+		}
+		if (pendingReload != null) {
+			pendingReload.cancel(false);
+		}
+		pendingReload = loader.schedule(this::reload, RELOAD_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stops watching the word list and the background thread. The current version stays readable.
+	 */
+	@Override
+	public synchronized void close() {
+		loader.shutdownNow();
+		if (watchService != null) {
+			try {
+				watchService.close();
+			} catch (IOException e) {
+				Metrics.failure(WATCH_ERRORS, "Arrêt de la surveillance de la liste de mots impossible", e);
+			}
+		}
+	}
+
+	/**
+	 * Waits for changes of the directory of the word list, and requests a reload when they concern the list.
+	 */
+	private void watch(WatchService service, Path fileName) {
+		try {
+			while (true) {
+				WatchKey key = service.take();
+				for (WatchEvent<?> event : key.pollEvents()) {
+					if (fileName.equals(event.context())) {
+						requestReload();
+					}
+				}
+				if (!key.reset()) {
+					return;
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// Closed, stop watching
+		}
+	}
+
+	/**
+	 * Loads the first version. If the word list cannot be read, the dictionary is empty until the next reload.
+	 */
+	private QueryEngine load() {
+		long startTime = System.nanoTime();
+		QueryEngine engine;
+		try {
+			engine = MemoryDictionaryRepository.open(source, cache).getEngine();
+		} catch (IOException e) {
+			Metrics.failure(LOAD_ERRORS, "Chargement du dictionnaire impossible, dictionnaire vide : " + source, e);
+			engine = new QueryEngine(Dictionary.of(new ArrayList<>()), cache);
+		}
+		current.compareAndSet(null, engine);
+		long nanos = LOAD_TIME.recordSince(startTime);
+		Metrics.trace("Dictionnaire chargé : %d mots en %d ms", engine.getDictionary().getWords().size(), nanos / 1_000_000);
+		return engine;
+	}
+
+	/**
+	 * Builds a new version and swaps it in. If the word list cannot be read, the current version is kept.
+	 */
+	private void reload() {
+		long startTime = System.nanoTime();
+		QueryEngine engine;
+		try {
+			engine = MemoryDictionaryRepository.open(source, cache).getEngine();
+		} catch (IOException e) {
+			Metrics.failure(RELOAD_ERRORS, "Rechargement du dictionnaire impossible, version courante gardée : " + source, e);
+			return;
+		}
+		current.set(engine);
+		RELOADS.increment();
+		long nanos = LOAD_TIME.recordSince(startTime);
+		Metrics.trace("Dictionnaire rechargé : %d mots en %d ms", engine.getDictionary().getWords().size(), nanos / 1_000_000);
+		for (Listener listener : listeners) {
+			listener.dictionaryReloaded(engine);
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package fr.limayrac.b3rpi.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveDictionaryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reloadSwapsTheVersion() throws Exception {
+        Path list = directory.resolve("mots.txt");
+        Files.write(list, List.of("arbre", "arc"), StandardCharsets.UTF_8);
+        try (LiveDictionary dictionary = new LiveDictionary(list.toUri().toURL())) {
+            QueryEngine first = dictionary.whenReady().join();
+            assertSame(first, dictionary.current());
+            assertEquals(2, first.count(WordPattern.compile("a", 1, 10)));
+
+            BlockingQueue<QueryEngine> reloads = new ArrayBlockingQueue<>(4);
+            dictionary.addListener(reloads::add);
+            Files.write(list, List.of("arbre", "arc", "autre"), StandardCharsets.UTF_8);
+            dictionary.requestReload();
+            QueryEngine second = reloads.poll(10, TimeUnit.SECONDS);
+            assertNotNull(second);
+            assertSame(second, dictionary.current());
+            assertEquals(3, second.count(WordPattern.compile("a", 1, 10)));
+            assertTrue(second.getDictionary().getGeneration() > first.getDictionary().getGeneration());
+            // The old version still answers the queries which hold it
+            assertEquals(2, first.count(WordPattern.compile("a", 1, 10)));
+        }
+    }
+
+    @Test
+    void failedReloadKeepsTheVersion() throws Exception {
+        Path list = directory.resolve("mots.txt");
+        Files.write(list, List.of("arbre", "arc"), StandardCharsets.UTF_8);
+        try (LiveDictionary dictionary = new LiveDictionary(list.toUri().toURL())) {
+            QueryEngine first = dictionary.whenReady().join();
+            Metrics.Counter errors = Metrics.counter("dictionary.reload.errors");
+            long before = errors.get();
+            Files.delete(list);
+            dictionary.requestReload();
+            for (int i = 0; i < 100 && errors.get() == before; i++) {
+                Thread.sleep(100);
+            }
+            assertEquals(before + 1, errors.get());
+            assertSame(first, dictionary.current());
+        }
+    }
+
+    @Test
+    void watch() throws Exception {
+        Path list = directory.resolve("mots.txt");
+        Files.write(list, List.of("bar"), StandardCharsets.UTF_8);
+        try (LiveDictionary dictionary = new LiveDictionary(list.toUri().toURL())) {
+            dictionary.whenReady().join();
+            BlockingQueue<QueryEngine> reloads = new ArrayBlockingQueue<>(4);
+            dictionary.addListener(reloads::add);
+            assertTrue(dictionary.watch());
+            Files.write(list, List.of("bar", "barre"), StandardCharsets.UTF_8);
+            QueryEngine reloaded = reloads.poll(30, TimeUnit.SECONDS);
+            assertNotNull(reloaded);
+            assertEquals(2, reloaded.count(WordPattern.compile("b", 1, 10)));
+        }
+    }
+
+    @Test
+    void resourceIsNotWatched() throws Exception {
+        try (LiveDictionary dictionary = new LiveDictionary(new URL("jar:file:/x.jar!/mots.txt"))) {
+            assertFalse(dictionary.watch());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * "MemoryDictionaryRepository" class is the dictionary repository held in memory: the dictionary graph and its
+ * index, opened from the compiled dictionary file when it is up to date, from the text word list otherwise.
+ *
+ * The repository either holds one version of the dictionary, or follows the current version of a dictionary
+ * reloaded while the application runs (see "LiveDictionary"). The metadata of the words are kept in memory too,
+ * and are lost when the application stops.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * The in-memory dictionary repository.
+ */
+public class MemoryDictionaryRepository implements DictionaryRepository {
+
+	private static final Metrics.Counter MAP_ERRORS = Metrics.counter("dictionary.map.errors");
+
+	private final Supplier<QueryEngine> engine;
+	private final Map<String, Integer> frequencies = new ConcurrentHashMap<>();
+	private final Map<String, List<String>> tags = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor of the MemoryDictionaryRepository class.
+	 *
+	 * @param engine The query engine over the dictionary.
+	 */
+	public MemoryDictionaryRepository(QueryEngine engine) {
+		this.engine = () -> engine;
+	}
+
+	/**
+	 * Constructor of the MemoryDictionaryRepository class, following a dictionary reloaded while the application
+	 * runs: every query reads the current version once, and runs on it to the end.
+	 *
+	 * @param dictionary The dictionary.
+	 */
+	public MemoryDictionaryRepository(LiveDictionary dictionary) {
+		this.engine = dictionary::current;
+	}
+
+	/**
+	 * Opens a text word list. The compiled dictionary file (see "DictionaryFile") is mapped in memory when it is
+	 * present and up to date with the list; otherwise the list is read and indexed.
+	 *
+	 * @param source The URL of the text word list.
+	 * @return The repository.
+	 * @throws IOException If the word list cannot be read.
+	 */
+	public static MemoryDictionaryRepository open(URL source) throws IOException {
+		return open(source, new QueryCache(QueryCache.DEFAULT_CAPACITY));
+	}
+
+	/**
+	 * Opens a text word list, like {@link #open(URL)}, with a query cache shared with the previous versions of the
+	 * dictionary; their results are dropped from it.
+	 *
+	 * @param source The URL of the text word list.
+	 * @param cache  The query cache.
+	 * @return The repository.
+	 * @throws IOException If the word list cannot be read.
+	 */
+	public static MemoryDictionaryRepository open(URL source, QueryCache cache) throws IOException {
+		long[] stamp = DictionaryFile.stamp(source);
+		Dictionary dictionary = null;
+		try {
+			dictionary = DictionaryFile.map(DictionaryFile.defaultPath(), stamp);
+		} catch (IOException e) {
+			Metrics.failure(MAP_ERRORS, "Dictionnaire compilé illisible, lecture de la liste de mots : " + source, e);
+		}
+		if (dictionary == null) {
+			try (InputStream inputStream = source.openStream()) {
+				dictionary = Dictionary.readText(inputStream);
+			}
+			Metrics.counter("dictionary.load.text").increment();
+		} else {
+			Metrics.counter("dictionary.load.mapped").increment();
+		}
+		return new MemoryDictionaryRepository(new QueryEngine(dictionary, cache));
+	}
+
+	public QueryEngine getEngine() {
+		return engine.get();
+	}
+
+	@Override
+	public int size() {
+		return engine.get().getDictionary().getWords().size();
+	}
+
+	@Override
+	public int count(WordPattern pattern) {
+		return engine.get().count(pattern);
+	}
+
+	@Override
+	public List<String> find(WordPattern pattern, int offset, int limit) {
+		return engine.get().find(pattern, offset, limit);
+	}
+
+	/**
+	 * Returns the words matching the pattern as a lazy stream read from the index, without pages.
+	 */
+	@Override
+	public Stream<String> stream(WordPattern pattern, int offset, int limit) {
+		return engine.get().stream(pattern).skip(Math.max(0, offset)).limit(Math.max(0, limit));
+	}
+
+	@Override
+	public int frequency(String word) {
+		return frequencies.getOrDefault(word, 0);
+	}
+
+	@Override
+	public List<String> tags(String word) {
+		return tags.getOrDefault(word, List.of());
+	}
+
+	@Override
+	public void setMetadata(String word, int frequency, List<String> tags) {
+		frequencies.put(word, frequency);
+		this.tags.put(word, List.copyOf(tags));
+	}
+
+	@Override
+	public void close() {
+	}
+}
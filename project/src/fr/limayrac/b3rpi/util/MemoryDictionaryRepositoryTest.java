@@ -0,0 +1,151 @@
+package fr.limayrac.b3rpi.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryDictionaryRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private final MemoryDictionaryRepository repository = new MemoryDictionaryRepository(
+            new QueryEngine(Dictionary.of(List.of("arbre", "arc", "autre", "bar", "barre", "été", "ete"))));
+
+    @Test
+    void queries() {
+        assertEquals(6, repository.size());
+        assertEquals(3, repository.count(WordPattern.compile("a", 1, 5)));
+        assertEquals(List.of("arc", "autre"), repository.find(WordPattern.compile("a", 1, 5), 1, 2));
+        assertEquals(List.of("ete", "été"), repository.find(WordPattern.compile("E?E"), 0, 10));
+    }
+
+    @Test
+    void stream() {
+        WordPattern pattern = WordPattern.compile("?", 1, 5);
+        assertEquals(List.of("arc", "autre", "bar"), repository.stream(pattern, 1, 3).collect(Collectors.toList()));
+    }
+
+    @Test
+    void pagedStream() {
+        List<String> words = new ArrayList<>();
+        for (char a = 'a'; a <= 'z'; a++) {
+            for (char b = 'a'; b <= 'z'; b++) {
+                for (char c = 'a'; c <= 'e'; c++) {
+                    words.add(new String(new char[]{a, b, c}));
+                }
+            }
+        }
+        MemoryDictionaryRepository memory = new MemoryDictionaryRepository(new QueryEngine(Dictionary.of(words)));
+        // A repository reading the words page by page, like the database
+        DictionaryRepository paged = new DictionaryRepository() {
+            @Override
+            public int size() {
+                return memory.size();
+            }
+
+            @Override
+            public int count(WordPattern pattern) {
+                return memory.count(pattern);
+            }
+
+            @Override
+            public List<String> find(WordPattern pattern, int offset, int limit) {
+                assertTrue(limit <= PAGE_SIZE);
+                return memory.find(pattern, offset, limit);
+            }
+
+            @Override
+            public int frequency(String word) {
+                return 0;
+            }
+
+            @Override
+            public List<String> tags(String word) {
+                return List.of();
+            }
+
+            @Override
+            public void setMetadata(String word, int frequency, List<String> tags) {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        WordPattern pattern = WordPattern.compile("???");
+        assertEquals(words.subList(10, 2510), paged.stream(pattern, 10, 2500).collect(Collectors.toList()));
+        assertEquals(words.subList(3000, 3380), paged.stream(pattern, 3000, Integer.MAX_VALUE).collect(Collectors.toList()));
+        assertEquals(List.of(), paged.stream(pattern, 0, 0).collect(Collectors.toList()));
+    }
+
+    @Test
+    void followsTheLiveDictionary() throws Exception {
+        Path list = Files.write(directory.resolve("mots.txt"), List.of("arbre", "arc"));
+        try (LiveDictionary dictionary = new LiveDictionary(list.toUri().toURL());
+             MemoryDictionaryRepository live = new MemoryDictionaryRepository(dictionary)) {
+            dictionary.whenReady().join();
+            assertEquals(2, live.count(WordPattern.compile("a", 1, 10)));
+            BlockingQueue<QueryEngine> reloads = new ArrayBlockingQueue<>(4);
+            dictionary.addListener(reloads::add);
+            Files.write(list, List.of("arbre", "arc", "autre"));
+            dictionary.requestReload();
+            assertNotNull(reloads.poll(10, TimeUnit.SECONDS));
+            assertEquals(3, live.count(WordPattern.compile("a", 1, 10)));
+            assertSame(dictionary.current(), live.getEngine());
+        }
+    }
+
+    @Test
+    void metadata() {
+        assertEquals(0, repository.frequency("arbre"));
+        assertEquals(List.of(), repository.tags("arbre"));
+        repository.setMetadata("arbre", 42, List.of("nom"));
+        assertEquals(42, repository.frequency("arbre"));
+        assertEquals(List.of("nom"), repository.tags("arbre"));
+    }
+
+    @Test
+    void open() throws Exception {
+        try (MemoryDictionaryRepository bundled = MemoryDictionaryRepository.open(
+                FileUtil.class.getResource(FileUtil.FILE_PATH))) {
+            assertTrue(bundled.size() > 0);
+            assertTrue(bundled.count(WordPattern.compile("?????")) > 0);
+        }
+    }
+
+    @Test
+    void openFallsBackOnACorruptedCompiledFile() throws Exception {
+        Path list = Files.write(directory.resolve("liste.txt"), List.of("arbre", "arc", "bar"));
+        URL source = list.toUri().toURL();
+        Path compiled = directory.resolve("liste.dict");
+        DictionaryFile.write(compiled, Dictionary.of(List.of("arbre", "arc", "bar")), DictionaryFile.stamp(source));
+        try (RandomAccessFile file = new RandomAccessFile(compiled.toFile(), "rw")) {
+            file.setLength(file.length() / 2);
+        }
+        String previous = System.setProperty(DictionaryFile.PATH_PROPERTY, compiled.toString());
+        long errors = Metrics.counter("dictionary.map.errors").get();
+        try (MemoryDictionaryRepository opened = MemoryDictionaryRepository.open(source)) {
+            assertEquals(3, opened.size());
+            assertEquals(errors + 1, Metrics.counter("dictionary.map.errors").get());
+        } finally {
+            if (previous == null) {
+                System.clearProperty(DictionaryFile.PATH_PROPERTY);
+            } else {
+                System.setProperty(DictionaryFile.PATH_PROPERTY, previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,297 @@
+/**
+ * "Metrics" class collects counters and latency histograms of the dictionary and grid subsystems.
+ *
+ * Recording is cheap enough for the hot paths: a counter is a LongAdder, and a histogram is a fixed array of
+ * LongAdders, one per power of two of nanoseconds, so threads never contend on a lock and nothing is allocated.
+ * The classes keep their counters and histograms in static fields, and the registry is only read to report.
+ *
+ * The metrics are exposed through JMX (see "MetricsMXBean") and can be dumped to the log periodically. Tracing
+ * logs every query and grid event; it is off by default and can be switched at runtime, from JMX or with the
+ * "motsfleches.trace" system property.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The registry of the metrics of the application.
+ */
+public final class Metrics implements MetricsMXBean {
+
+	/**
+	 * Name of the MBean of the metrics.
+	 */
+	public static final String OBJECT_NAME = "fr.limayrac.b3rpi:type=Metrics";
+
+	/**
+	 * System properties switching the tracing on, and setting the period of the log dump in seconds.
+	 */
+	public static final String TRACE_PROPERTY = "motsfleches.trace";
+	public static final String DUMP_PROPERTY = "motsfleches.metrics.period";
+
+	private static final Logger LOGGER = Logger.getLogger(Metrics.class.getName());
+	private static final Metrics INSTANCE = new Metrics();
+
+	private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+	private volatile boolean tracing = Boolean.getBoolean(TRACE_PROPERTY);
+	private ScheduledExecutorService dumper;
+
+	/**
+	 * A monotonic counter.
+	 */
+	public static final class Counter {
+
+		private final LongAdder value = new LongAdder();
+
+		public void increment() {
+			value.increment();
+		}
+
+		public void add(long amount) {
+			value.add(amount);
+		}
+
+		public long get() {
+			return value.sum();
+		}
+	}
+
+	/**
+	 * A histogram of durations in nanoseconds, by powers of two.
+	 */
+	public static final class Histogram {
+
+		private final LongAdder[] buckets = new LongAdder[64];
+		private final LongAdder count = new LongAdder();
+		private final LongAdder sum = new LongAdder();
+		private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+		private Histogram() {
+			for (int i = 0; i < buckets.length; i++) {
+				buckets[i] = new LongAdder();
+			}
+		}
+
+		/**
+		 * Records a duration.
+		 *
+		 * @param nanos The duration, in nanoseconds.
+		 */
+		public void record(long nanos) {
+			long value = Math.max(0, nanos);
+			buckets[63 - Long.numberOfLeadingZeros(value | 1)].increment();
+			count.increment();
+			sum.add(value);
+			max.accumulate(value);
+		}
+
+		/**
+		 * Records the duration elapsed since the given time.
+		 *
+		 * @param startNanos The start, as given by {@link System#nanoTime()}.
+		 * @return The duration, in nanoseconds.
+		 */
+		public long recordSince(long startNanos) {
+			long nanos = System.nanoTime() - startNanos;
+			record(nanos);
+			return nanos;
+		}
+
+		public long getCount() {
+			return count.sum();
+		}
+
+		/**
+		 * Returns an upper bound of the given percentile: the end of the bucket which contains it.
+		 *
+		 * @param percentile The percentile, between 0 and 100.
+		 * @return The bound, in nanoseconds.
+		 */
+		public long percentile(double percentile) {
+			long total = count.sum();
+			long rank = (long) Math.ceil(total * percentile / 100);
+			long seen = 0;
+			for (int i = 0; i < buckets.length; i++) {
+				seen += buckets[i].sum();
+				if (seen >= rank && seen > 0) {
+					return Math.min(max.get(), i == 62 ? Long.MAX_VALUE : (2L << i) - 1);
+				}
+			}
+			return 0;
+		}
+
+		@Override
+		public String toString() {
+			long n = count.sum();
+			return String.format("n=%d moy=%s p50<=%s p99<=%s max=%s", n, format(n == 0 ? 0 : sum.sum() / n),
+					format(percentile(50)), format(percentile(99)), format(max.get()));
+		}
+
+		private void reset() {
+			for (LongAdder bucket : buckets) {
+				bucket.reset();
+			}
+			count.reset();
+			sum.reset();
+			max.reset();
+		}
+
+		private static String format(long nanos) {
+			if (nanos < 10_000) {
+				return nanos + "ns";
+			}
+			return nanos < 10_000_000 ? nanos / 1_000 + "µs" : nanos / 1_000_000 + "ms";
+		}
+	}
+
+	private Metrics() {
+	}
+
+	/**
+	 * Returns the metrics of the application.
+	 *
+	 * @return The registry.
+	 */
+	public static Metrics get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns the counter of the given name, created on first use.
+	 *
+	 * @param name The name of the counter.
+	 * @return The counter.
+	 */
+	public static Counter counter(String name) {
+		return INSTANCE.counters.computeIfAbsent(name, key -> new Counter());
+	}
+
+	/**
+	 * Returns the histogram of the given name, created on first use.
+	 *
+	 * @param name The name of the histogram.
+	 * @return The histogram.
+	 */
+	public static Histogram histogram(String name) {
+		return INSTANCE.histograms.computeIfAbsent(name, key -> new Histogram());
+	}
+
+	/**
+	 * Tells whether events are traced; callers check it before building a trace message.
+	 *
+	 * @return true if tracing is on.
+	 */
+	public static boolean tracing() {
+		return INSTANCE.tracing;
+	}
+
+	/**
+	 * Counts a failure which the application recovers from, and logs it with its cause, whether tracing is on or
+	 * not.
+	 *
+	 * @param counter The counter of the failures of this kind.
+	 * @param message The message, telling what failed and what the application does instead.
+	 * @param error   The cause of the failure.
+	 */
+	public static void failure(Counter counter, String message, Throwable error) {
+		counter.increment();
+		LOGGER.log(Level.WARNING, message, error);
+	}
+
+	/**
+	 * Logs an event when tracing is on.
+	 *
+	 * @param format    The format of the message, see {@link String#format(String, Object...)}.
+	 * @param arguments The arguments of the message.
+	 */
+	public static void trace(String format, Object... arguments) {
+		if (INSTANCE.tracing) {
+			LOGGER.info(String.format(format, arguments));
+		}
+	}
+
+	/**
+	 * Registers the metrics in the platform MBean server, and starts the periodic log dump when the
+	 * "motsfleches.metrics.period" system property gives a period. Calling it again has no effect.
+	 */
+	public static synchronized void install() {
+		try {
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+				ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, name);
+			}
+		} catch (JMException e) {
+			LOGGER.log(Level.WARNING, "Enregistrement JMX des métriques impossible", e);
+		}
+		long period = Long.getLong(DUMP_PROPERTY, 0);
+		if (period > 0 && INSTANCE.dumper == null) {
+			INSTANCE.dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "metrics");
+				thread.setDaemon(true);
+				return thread;
+			});
+			INSTANCE.dumper.scheduleAtFixedRate(INSTANCE::dump, period, period, TimeUnit.SECONDS);
+		}
+	}
+
+	/**
+	 * Logs the value of every counter and the summary of every histogram.
+	 */
+	public void dump() {
+		StringBuilder text = new StringBuilder("Métriques :");
+		getCounters().forEach((name, value) -> text.append(System.lineSeparator()).append("  ").append(name)
+				.append(" = ").append(value));
+		getHistograms().forEach((name, value) -> text.append(System.lineSeparator()).append("  ").append(name)
+				.append(" : ").append(value));
+		LOGGER.info(text.toString());
+	}
+
+	@Override
+	public Map<String, Long> getCounters() {
+		Map<String, Long> values = new TreeMap<>();
+		counters.forEach((name, counter) -> values.put(name, counter.get()));
+		return values;
+	}
+
+	@Override
+	public Map<String, String> getHistograms() {
+		Map<String, String> values = new TreeMap<>();
+		histograms.forEach((name, histogram) -> values.put(name, histogram.toString()));
+		return values;
+	}
+
+	@Override
+	public boolean isTracing() {
+		return tracing;
+	}
+
+	@Override
+	public void setTracing(boolean tracing) {
+		this.tracing = tracing;
+	}
+
+	@Override
+	public void reset() {
+		counters.values().forEach(counter -> counter.value.reset());
+		histograms.values().forEach(Histogram::reset);
+	}
+}
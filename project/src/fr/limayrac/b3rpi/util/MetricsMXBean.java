@@ -0,0 +1,47 @@
+/**
+ * "MetricsMXBean" interface is the management view of the metrics of the dictionary and grid subsystems.
+ *
+ * It is registered as "fr.limayrac.b3rpi:type=Metrics" and can be read with any JMX console, such as jconsole.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.util.Map;
+
+/**
+ * The JMX interface of {@link Metrics}.
+ */
+public interface MetricsMXBean {
+
+	/**
+	 * Returns the value of every counter.
+	 *
+	 * @return The counters by name.
+	 */
+	Map<String, Long> getCounters();
+
+	/**
+	 * Returns a summary of every latency histogram: count, mean, percentiles and maximum.
+	 *
+	 * @return The summaries by name.
+	 */
+	Map<String, String> getHistograms();
+
+	boolean isTracing();
+
+	/**
+	 * Switches the tracing of every query and grid event to the log.
+	 *
+	 * @param tracing true to trace.
+	 */
+	void setTracing(boolean tracing);
+
+	/**
+	 * Resets all the counters and histograms.
+	 */
+	void reset();
+}
@@ -0,0 +1,47 @@
+package fr.limayrac.b3rpi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTest {
+
+    @Test
+    void histogram() {
+        Metrics.Histogram histogram = Metrics.histogram("test.histogram");
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1_000L);
+        }
+        assertEquals(100, histogram.getCount());
+        assertTrue(histogram.percentile(50) >= 50_000 && histogram.percentile(50) < 100_000);
+        assertEquals(100_000, histogram.percentile(100));
+    }
+
+    @Test
+    void queriesAreCounted() {
+        QueryEngine engine = new QueryEngine(Dictionary.of(List.of("arbre", "arc", "bar")));
+        long returned = Metrics.get().getCounters().getOrDefault("query.returned", 0L);
+        engine.findIds(WordPattern.compile("ar", 1, 5));
+        assertEquals(returned + 2, Metrics.get().getCounters().get("query.returned"));
+        assertTrue(Metrics.get().getHistograms().containsKey("query.find.prefixe"));
+    }
+
+    @Test
+    void failure() {
+        Metrics.Counter counter = Metrics.counter("test.errors");
+        long before = counter.get();
+        Metrics.failure(counter, "Échec de test", new java.io.IOException("test"));
+        assertEquals(before + 1, counter.get());
+        assertEquals(before + 1, Metrics.get().getCounters().get("test.errors"));
+    }
+
+    @Test
+    void install() throws Exception {
+        Metrics.install();
+        Metrics.install();
+        assertTrue(java.lang.management.ManagementFactory.getPlatformMBeanServer()
+                .isRegistered(javax.management.ObjectName.getInstance(Metrics.OBJECT_NAME)));
+    }
+}
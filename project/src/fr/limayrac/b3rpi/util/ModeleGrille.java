@@ -0,0 +1,359 @@
+/**
+ * "ModeleGrille" class is the virtual grid: the data behind the grid displayed by the view.
+ *
+ * The letters are kept in a flat char array and the kind of every cell in a flat byte array, indexed by
+ * row * columns + column. A definition cell records the direction of each of its (one or two) words, so the
+ * slots of the grid can be computed from the model alone. The texts of the definitions are kept aside.
+ *
+ * The view subscribes to the model and refreshes the cells it is told about; queries and validation read the
+ * primitive arrays directly, with no access to Swing components, which makes them usable from worker threads.
+ * Changes made inside {@link #batch(Runnable)} are reported once, as the region they cover, when the batch ends.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The model of a mots fléchés grid.
+ */
+public class ModeleGrille {
+
+	/**
+	 * Value of an empty letter cell.
+	 */
+	public static final char EMPTY = 0;
+
+	/**
+	 * Flag of a definition cell in {@link #cells}.
+	 */
+	private static final byte DEFINITION = 0x40;
+
+	/**
+	 * Bits of the direction of the first and of the second definition: 0 for none, ordinal + 1 otherwise.
+	 */
+	private static final int DIRECTION_BITS = 3;
+	private static final int DIRECTION_MASK = (1 << DIRECTION_BITS) - 1;
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	/**
+	 * Listener notified when cells of the grid change.
+	 */
+	public interface Listener {
+
+		/**
+		 * Called after a cell has changed.
+		 *
+		 * @param row    The row of the cell.
+		 * @param column The column of the cell.
+		 */
+		void cellChanged(int row, int column);
+
+		/**
+		 * Called after a batch of changes, with the rectangle covering the changed cells; some of the cells of
+		 * the rectangle may be unchanged. By default, every cell of the rectangle is reported as changed.
+		 *
+		 * @param firstRow    The first row of the region.
+		 * @param firstColumn The first column of the region.
+		 * @param lastRow     The last row of the region, included.
+		 * @param lastColumn  The last column of the region, included.
+		 */
+		default void regionChanged(int firstRow, int firstColumn, int lastRow, int lastColumn) {
+			for (int row = firstRow; row <= lastRow; row++) {
+				for (int column = firstColumn; column <= lastColumn; column++) {
+					cellChanged(row, column);
+				}
+			}
+		}
+	}
+
+	private final int rows;
+	private final int columns;
+	private final char[] letters;
+	private final byte[] cells;
+	private final String[] definitions;
+	private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+	// Current batch, guarded by this: its depth and the region it has changed so far
+	private int batchDepth;
+	private int firstRow;
+	private int firstColumn;
+	private int lastRow = -1;
+	private int lastColumn;
+
+	/**
+	 * Constructor of the ModeleGrille class: an empty grid.
+	 *
+	 * @param rows    The number of rows.
+	 * @param columns The number of columns.
+	 */
+	public ModeleGrille(int rows, int columns) {
+		this.rows = rows;
+		this.columns = columns;
+		letters = new char[rows * columns];
+		cells = new byte[rows * columns];
+		definitions = new String[rows * columns * 2];
+	}
+
+	public void addListener(Listener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(Listener listener) {
+		listeners.remove(listener);
+	}
+
+	public int getRows() {
+		return rows;
+	}
+
+	public int getColumns() {
+		return columns;
+	}
+
+	/**
+	 * Tells whether a position is inside the grid.
+	 *
+	 * @param row    The row.
+	 * @param column The column.
+	 * @return true if the position is a cell of the grid.
+	 */
+	public boolean contains(int row, int column) {
+		return row >= 0 && row < rows && column >= 0 && column < columns;
+	}
+
+	/**
+	 * Returns the letter of a cell.
+	 *
+	 * @param row    The row of the cell.
+	 * @param column The column of the cell.
+	 * @return The letter, {@link #EMPTY} if there is none.
+	 */
+	public char getLetter(int row, int column) {
+		return letters[row * columns + column];
+	}
+
+	/**
+	 * Sets the letter of a cell, which becomes a letter cell.
+	 *
+	 * @param row    The row of the cell.
+	 * @param column The column of the cell.
+	 * @param letter The letter, {@link #EMPTY} to clear it.
+	 */
+	public void setLetter(int row, int column, char letter) {
+		int index = row * columns + column;
+		synchronized (this) {
+			letters[index] = letter;
+			cells[index] = 0;
+			definitions[2 * index] = null;
+			definitions[2 * index + 1] = null;
+		}
+		fireCellChanged(row, column);
+	}
+
+	/**
+	 * Tells whether a cell is a definition cell.
+	 *
+	 * @param row    The row of the cell.
+	 * @param column The column of the cell.
+	 * @return true for a definition cell.
+	 */
+	public boolean isDefinition(int row, int column) {
+		return (cells[row * columns + column] & DEFINITION) != 0;
+	}
+
+	/**
+	 * Returns the text of a definition.
+	 *
+	 * @param row    The row of the definition cell.
+	 * @param column The column of the definition cell.
+	 * @param which  0 for the first definition, 1 for the second one.
+	 * @return The text, null if there is none.
+	 */
+	public String getDefinition(int row, int column, int which) {
+		return definitions[2 * (row * columns + column) + which];
+	}
+
+	/**
+	 * Returns the direction of the word of a definition.
+	 *
+	 * @param row    The row of the definition cell.
+	 * @param column The column of the definition cell.
+	 * @param which  0 for the first definition, 1 for the second one.
+	 * @return The direction, null if it is not chosen yet.
+	 */
+	public Direction getDirection(int row, int column, int which) {
+		int bits = (cells[row * columns + column] >> (which * DIRECTION_BITS)) & DIRECTION_MASK;
+		return bits == 0 ? null : DIRECTIONS[bits - 1];
+	}
+
+	/**
+	 * Turns a cell into a definition cell, or changes one of its definitions.
+	 *
+	 * @param row       The row of the cell.
+	 * @param column    The column of the cell.
+	 * @param which     0 for the first definition, 1 for the second one.
+	 * @param text      The text of the definition.
+	 * @param direction The direction of its word, null if not chosen yet.
+	 */
+	public void setDefinition(int row, int column, int which, String text, Direction direction) {
+		int index = row * columns + column;
+		int shift = which * DIRECTION_BITS;
+		synchronized (this) {
+			int bits = cells[index] & ~(DIRECTION_MASK << shift);
+			if (direction != null) {
+				bits |= (direction.ordinal() + 1) << shift;
+			}
+			cells[index] = (byte) (bits | DEFINITION);
+			letters[index] = EMPTY;
+			definitions[2 * index + which] = text;
+		}
+		fireCellChanged(row, column);
+	}
+
+	/**
+	 * Returns the number of cells available to a word defined in the given cell: the cells up to the edge of
+	 * the grid or to the next definition cell.
+	 *
+	 * @param row       The row of the definition cell.
+	 * @param column    The column of the definition cell.
+	 * @param direction The direction of the word.
+	 * @return The length of the slot.
+	 */
+	public int slotLength(int row, int column, Direction direction) {
+		int length = 0;
+		while (contains(direction.row(row, length), direction.column(column, length))
+				&& !isDefinition(direction.row(row, length), direction.column(column, length))) {
+			length++;
+		}
+		return length;
+	}
+
+	/**
+	 * Returns the slots of the grid: one for every definition whose direction is known and which has room
+	 * for at least one letter.
+	 *
+	 * @return The slots, in reading order of their definition cells.
+	 */
+	public List<Slot> slots() {
+		List<Slot> slots = new ArrayList<>();
+		for (int row = 0; row < rows; row++) {
+			for (int column = 0; column < columns; column++) {
+				if (!isDefinition(row, column)) {
+					continue;
+				}
+				for (int which = 0; which < 2; which++) {
+					Direction direction = getDirection(row, column, which);
+					int length = direction == null ? 0 : slotLength(row, column, direction);
+					if (length > 0) {
+						int[] slotCells = new int[length];
+						for (int i = 0; i < length; i++) {
+							slotCells[i] = direction.row(row, i) * columns + direction.column(column, i);
+						}
+						slots.add(new Slot(row, column, which, direction, slotCells));
+					}
+				}
+			}
+		}
+		return slots;
+	}
+
+	/**
+	 * Returns a copy of the letters of the grid, indexed by row * columns + column.
+	 *
+	 * @return The letters, {@link #EMPTY} for the empty and definition cells.
+	 */
+	public synchronized char[] copyLetters() {
+		return letters.clone();
+	}
+
+	/**
+	 * Copies the letters of the slot of a word defined in the given cell into a buffer, with
+	 * {@link WordPattern#ANY} for the empty cells, without allocating anything.
+	 *
+	 * @param row       The row of the definition cell.
+	 * @param column    The column of the definition cell.
+	 * @param direction The direction of the word.
+	 * @param pattern   The buffer receiving the letters; it must hold the whole slot.
+	 * @return The length of the slot.
+	 */
+	public int readSlot(int row, int column, Direction direction, char[] pattern) {
+		int length = slotLength(row, column, direction);
+		for (int i = 0; i < length; i++) {
+			char letter = letters[direction.row(row, i) * columns + direction.column(column, i)];
+			pattern[i] = letter == EMPTY ? WordPattern.ANY : letter;
+		}
+		return length;
+	}
+
+	/**
+	 * Writes a word in the slot of the given definition cell, within the slot, as one batch.
+	 *
+	 * @param row       The row of the definition cell.
+	 * @param column    The column of the definition cell.
+	 * @param direction The direction of the word.
+	 * @param word      The letters to write.
+	 */
+	public void placeWord(int row, int column, Direction direction, String word) {
+		int length = Math.min(word.length(), slotLength(row, column, direction));
+		batch(() -> {
+			for (int i = 0; i < length; i++) {
+				setLetter(direction.row(row, i), direction.column(column, i), word.charAt(i));
+			}
+		});
+	}
+
+	/**
+	 * Runs changes of the grid as one transaction: the listeners are notified once, when the outermost batch
+	 * ends, of the region covering all the cells changed meanwhile.
+	 *
+	 * @param changes The changes to make.
+	 */
+	public void batch(Runnable changes) {
+		synchronized (this) {
+			batchDepth++;
+		}
+		try {
+			changes.run();
+		} finally {
+			int[] region = null;
+			synchronized (this) {
+				if (--batchDepth == 0 && lastRow >= 0) {
+					region = new int[]{firstRow, firstColumn, lastRow, lastColumn};
+					lastRow = -1;
+				}
+			}
+			if (region != null) {
+				for (Listener listener : listeners) {
+					listener.regionChanged(region[0], region[1], region[2], region[3]);
+				}
+			}
+		}
+	}
+
+	private void fireCellChanged(int row, int column) {
+		synchronized (this) {
+			if (batchDepth > 0) {
+				if (lastRow < 0) {
+					firstRow = lastRow = row;
+					firstColumn = lastColumn = column;
+				} else {
+					firstRow = Math.min(firstRow, row);
+					firstColumn = Math.min(firstColumn, column);
+					lastRow = Math.max(lastRow, row);
+					lastColumn = Math.max(lastColumn, column);
+				}
+				return;
+			}
+		}
+		for (Listener listener : listeners) {
+			listener.cellChanged(row, column);
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package fr.limayrac.b3rpi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModeleGrilleTest {
+
+    @Test
+    void slots() {
+        ModeleGrille grid = new ModeleGrille(5, 6);
+        grid.setDefinition(0, 0, 0, "Végétal", Direction.DROITE);
+        grid.setDefinition(0, 0, 1, "Avant", Direction.BAS);
+        grid.setDefinition(3, 0, 0, "Bout", null);
+        assertEquals(5, grid.slotLength(0, 0, Direction.DROITE));
+        assertEquals(2, grid.slotLength(0, 0, Direction.BAS));
+        assertEquals(Direction.BAS, grid.getDirection(0, 0, 1));
+        assertNull(grid.getDirection(3, 0, 0));
+
+        grid.placeWord(0, 0, Direction.DROITE, "ARBRE");
+        grid.setLetter(1, 0, 'N');
+        char[] pattern = new char[6];
+        assertEquals(5, grid.readSlot(0, 0, Direction.DROITE, pattern));
+        assertEquals("ARBRE", new String(pattern, 0, 5));
+        assertEquals(2, grid.readSlot(0, 0, Direction.BAS, pattern));
+        assertEquals("N?", new String(pattern, 0, 2));
+    }
+
+    @Test
+    void listeners() {
+        ModeleGrille grid = new ModeleGrille(3, 3);
+        List<String> changes = new ArrayList<>();
+        grid.addListener((row, column) -> changes.add(row + "," + column));
+        grid.setDefinition(0, 0, 0, "Def", Direction.BAS_DROITE);
+        grid.placeWord(0, 0, Direction.BAS_DROITE, "OUI");
+        assertEquals(List.of("0,0", "1,0", "1,1", "1,2"), changes);
+        assertFalse(grid.isDefinition(1, 0));
+        assertEquals('I', grid.getLetter(1, 2));
+    }
+
+    @Test
+    void batch() {
+        ModeleGrille grid = new ModeleGrille(4, 4);
+        List<String> changes = new ArrayList<>();
+        grid.addListener(new ModeleGrille.Listener() {
+            @Override
+            public void cellChanged(int row, int column) {
+                changes.add(row + "," + column);
+            }
+
+            @Override
+            public void regionChanged(int firstRow, int firstColumn, int lastRow, int lastColumn) {
+                changes.add(firstRow + "," + firstColumn + "-" + lastRow + "," + lastColumn);
+            }
+        });
+        grid.batch(() -> {
+            grid.setDefinition(0, 0, 0, "Def", Direction.DROITE);
+            grid.placeWord(0, 0, Direction.DROITE, "NON");
+            grid.setLetter(2, 1, 'A');
+        });
+        assertEquals(List.of("0,0-2,3"), changes);
+        grid.setLetter(3, 3, 'B');
+        assertEquals(List.of("0,0-2,3", "3,3"), changes);
+    }
+}
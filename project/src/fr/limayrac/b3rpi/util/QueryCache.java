@@ -0,0 +1,205 @@
+/**
+ * "QueryCache" class keeps the results of the latest pattern queries, so repeated lookups of the same slot
+ * cost a hash lookup.
+ *
+ * Results are keyed by the compiled pattern, which is normalized (folded letters, length bounds), and are
+ * evicted in least recently used order once their estimated size exceeds the capacity of the cache. Every
+ * entry records the generation of the dictionary it was computed on (see "Dictionary"): a result of an older
+ * dictionary is never returned, and can be dropped at once when the dictionary is replaced. A cache shared by
+ * many threads is split into segments with their own lock.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A bounded LRU cache of query results.
+ */
+public class QueryCache {
+
+	/**
+	 * Default capacity of a cache, in bytes.
+	 */
+	public static final long DEFAULT_CAPACITY = 16L << 20;
+
+	private static final Metrics.Counter HITS = Metrics.counter("cache.hits");
+	private static final Metrics.Counter MISSES = Metrics.counter("cache.misses");
+	private static final Metrics.Counter EVICTIONS = Metrics.counter("cache.evictions");
+
+	private static final class Entry {
+		final long generation;
+		final QueryResult result;
+		long weight;
+
+		Entry(long generation, QueryResult result) {
+			this.generation = generation;
+			this.result = result;
+			this.weight = result.weight();
+		}
+	}
+
+	/**
+	 * A part of the cache, with its own lock and its share of the capacity.
+	 */
+	private static final class Segment {
+
+		private final long capacity;
+		private final LinkedHashMap<WordPattern, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+		private long size;
+
+		Segment(long capacity) {
+			this.capacity = capacity;
+		}
+
+		QueryResult get(WordPattern pattern, long generation, Function<WordPattern, QueryResult> query) {
+			synchronized (this) {
+				Entry entry = entries.get(pattern);
+				if (entry != null && entry.generation == generation) {
+					HITS.increment();
+					// The words of the result may have been built since it was cached
+					long weight = entry.result.weight();
+					size += weight - entry.weight;
+					entry.weight = weight;
+					evict();
+					return entry.result;
+				}
+			}
+			MISSES.increment();
+			QueryResult result = query.apply(pattern);
+			synchronized (this) {
+				Entry previous = entries.put(pattern, new Entry(generation, result));
+				if (previous != null) {
+					size -= previous.weight;
+				}
+				size += result.weight();
+				evict();
+			}
+			return result;
+		}
+
+		synchronized void invalidateBefore(long generation) {
+			for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+				Entry entry = it.next();
+				if (entry.generation < generation) {
+					size -= entry.weight;
+					it.remove();
+				}
+			}
+		}
+
+		synchronized int size() {
+			return entries.size();
+		}
+
+		synchronized long weight() {
+			return size;
+		}
+
+		private void evict() {
+			for (Iterator<Map.Entry<WordPattern, Entry>> it = entries.entrySet().iterator(); size > capacity && it.hasNext(); ) {
+				size -= it.next().getValue().weight;
+				it.remove();
+				EVICTIONS.increment();
+			}
+		}
+	}
+
+	private final Segment[] segments;
+
+	/**
+	 * Constructor of the QueryCache class, for a cache used by one thread at a time.
+	 *
+	 * @param capacity The maximum estimated size of the cached results, in bytes.
+	 */
+	public QueryCache(long capacity) {
+		this(capacity, 1);
+	}
+
+	/**
+	 * Constructor of the QueryCache class, for a cache shared by many threads. The patterns are spread over
+	 * segments which have their own lock and an equal share of the capacity, so threads looking up different
+	 * patterns rarely wait for each other.
+	 *
+	 * @param capacity The maximum estimated size of the cached results, in bytes.
+	 * @param segments The number of segments, rounded up to a power of two.
+	 */
+	public QueryCache(long capacity, int segments) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Capacité du cache invalide : " + capacity);
+		}
+		if (segments < 1 || segments > 1 << 16) {
+			throw new IllegalArgumentException("Nombre de segments du cache invalide : " + segments);
+		}
+		int count = 1;
+		while (count < segments) {
+			count <<= 1;
+		}
+		this.segments = new Segment[count];
+		for (int i = 0; i < count; i++) {
+			this.segments[i] = new Segment(capacity / count);
+		}
+	}
+
+	/**
+	 * Returns the cached result of a query on the given generation of the dictionary, or computes and caches it.
+	 * The computation runs outside the lock of the cache, so two threads missing the same query may both compute it.
+	 *
+	 * @param pattern    The compiled pattern.
+	 * @param generation The generation of the dictionary queried.
+	 * @param query      The query, run on a miss.
+	 * @return The shared result.
+	 */
+	public QueryResult get(WordPattern pattern, long generation, Function<WordPattern, QueryResult> query) {
+		return segment(pattern).get(pattern, generation, query);
+	}
+
+	/**
+	 * Drops the results computed on dictionaries older than the given generation.
+	 *
+	 * @param generation The current generation of the dictionary.
+	 */
+	public void invalidateBefore(long generation) {
+		for (Segment segment : segments) {
+			segment.invalidateBefore(generation);
+		}
+	}
+
+	/**
+	 * Returns the number of cached results.
+	 *
+	 * @return The number of entries.
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			size += segment.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Returns the estimated size of the cached results.
+	 *
+	 * @return The size, in bytes.
+	 */
+	public long weight() {
+		long weight = 0;
+		for (Segment segment : segments) {
+			weight += segment.weight();
+		}
+		return weight;
+	}
+
+	private Segment segment(WordPattern pattern) {
+		int hash = pattern.hashCode();
+		return segments[(hash ^ hash >>> 16) & (segments.length - 1)];
+	}
+}
@@ -0,0 +1,60 @@
+package fr.limayrac.b3rpi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCacheTest {
+
+    private final Dictionary dictionary = Dictionary.of(List.of("arbre", "arc", "autre", "bar", "barre"));
+
+    @Test
+    void hitsShareTheResult() {
+        QueryEngine engine = new QueryEngine(dictionary);
+        QueryResult first = engine.query(WordPattern.compile("a", 1, 5));
+        assertEquals(List.of("arbre", "arc", "autre"), first.words());
+        assertSame(first, engine.query(WordPattern.compile("A", 1, 5)));
+        assertSame(first.words(), engine.query(WordPattern.compile("a", 1, 5)).words());
+        assertThrows(UnsupportedOperationException.class, () -> first.words().add("x"));
+    }
+
+    @Test
+    void generation() {
+        QueryCache cache = new QueryCache(QueryCache.DEFAULT_CAPACITY);
+        QueryEngine engine = new QueryEngine(dictionary, cache);
+        QueryResult old = engine.query(WordPattern.compile("bar"));
+        Dictionary newer = Dictionary.of(List.of("bar", "bas"));
+        assertTrue(newer.getGeneration() > dictionary.getGeneration());
+        QueryEngine reloaded = new QueryEngine(newer, cache);
+        assertEquals(0, cache.size());
+        assertNotSame(old, reloaded.query(WordPattern.compile("bar")));
+    }
+
+    @Test
+    void capacity() {
+        QueryCache cache = new QueryCache(200);
+        QueryEngine engine = new QueryEngine(dictionary, cache);
+        engine.query(WordPattern.compile("a", 1, 5));
+        engine.query(WordPattern.compile("b", 1, 5));
+        engine.query(WordPattern.compile("?", 1, 5));
+        assertTrue(cache.weight() <= 200);
+        assertTrue(cache.size() < 3);
+    }
+
+    @Test
+    void segments() {
+        QueryCache cache = new QueryCache(QueryCache.DEFAULT_CAPACITY, 5);
+        QueryEngine engine = new QueryEngine(dictionary, cache);
+        for (String pattern : List.of("a", "b", "?", "ar", "ba")) {
+            QueryResult result = engine.query(WordPattern.compile(pattern, 1, 5));
+            assertSame(result, engine.query(WordPattern.compile(pattern, 1, 5)));
+        }
+        assertEquals(5, cache.size());
+        engine = new QueryEngine(Dictionary.of(List.of("bar")), cache);
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weight());
+        assertThrows(IllegalArgumentException.class, () -> new QueryCache(100, 0));
+    }
+}
@@ -0,0 +1,418 @@
+/**
+ * "QueryEngine" class answers dictionary pattern queries without any dependency on the graphical interface.
+ *
+ * The engine works on the dictionary graph and its (length, position, letter) index, both over the folded search
+ * keys: the letters of the pattern are folded when it is compiled, so a query allocates nothing to compare them. A fixed prefix is resolved
+ * first by a single descent of the graph into a range of identifiers. Then, for every allowed length, it keeps
+ * the other fixed letters that fall inside the word and lets the index intersect the matching posting lists,
+ * starting from the most selective one, so the cost of a query follows the size of its result rather than the
+ * size of the dictionary.
+ *
+ * Results can also be read lazily, through a cursor which merges the matches of every length in dictionary
+ * order as it advances: a page of a result, or its first match, costs the rows read, and the best k matches
+ * for a score are kept in a bounded heap instead of sorting the whole result.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A headless query engine over an indexed word list.
+ */
+public class QueryEngine {
+
+	/**
+	 * Shapes of patterns, for the metrics: no fixed letter, fixed letters forming a prefix only, other letters.
+	 */
+	private static final String[] SHAPES = {"longueur", "prefixe", "motif"};
+	private static final Metrics.Histogram[] FIND_TIMES = histograms("query.find.");
+	private static final Metrics.Histogram[] COUNT_TIMES = histograms("query.count.");
+	private static final Metrics.Counter RETURNED = Metrics.counter("query.returned");
+
+	/**
+	 * A score of the matching keys, for {@link #top(WordPattern, int, Score)}.
+	 */
+	@FunctionalInterface
+	public interface Score {
+
+		/**
+		 * Scores a matching key; the higher, the better.
+		 *
+		 * @param id     The key identifier.
+		 * @param length The length of the key.
+		 * @return The score.
+		 */
+		int score(int id, int length);
+	}
+
+	/**
+	 * Scores favouring the longest and the shortest words.
+	 */
+	public static final Score LONGEST = (id, length) -> length;
+	public static final Score SHORTEST = (id, length) -> -length;
+
+	private final Dictionary dictionary;
+	private final Dawg words;
+	private final WordIndex index;
+	private final QueryCache cache;
+
+	/**
+	 * Constructor of the QueryEngine class.
+	 *
+	 * @param dictionary The dictionary; the identifier of a word is the rank of its search key.
+	 */
+	public QueryEngine(Dictionary dictionary) {
+		this(dictionary, new QueryCache(QueryCache.DEFAULT_CAPACITY));
+	}
+
+	/**
+	 * Constructor of the QueryEngine class, with a result cache which may be shared with other engines.
+	 * The results of older dictionaries are dropped from the cache.
+	 *
+	 * @param dictionary The dictionary; the identifier of a word is the rank of its search key.
+	 * @param cache      The cache of the results of {@link #query(WordPattern)}.
+	 */
+	public QueryEngine(Dictionary dictionary, QueryCache cache) {
+		this.dictionary = dictionary;
+		this.words = dictionary.getWords();
+		this.index = dictionary.getIndex();
+		this.cache = cache;
+		cache.invalidateBefore(dictionary.getGeneration());
+	}
+
+	public Dictionary getDictionary() {
+		return dictionary;
+	}
+
+	/**
+	 * Returns the words matching the pattern, as they are written in the dictionary, in dictionary order.
+	 *
+	 * @param pattern The compiled pattern.
+	 * @return The matching words (unmodifiable).
+	 */
+	public List<String> find(WordPattern pattern) {
+		int[] ids = findIds(pattern);
+		List<String> result = new ArrayList<>(ids.length);
+		for (int id : ids) {
+			dictionary.addDisplayForms(id, result);
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * Returns a page of the words matching the pattern, reading only the matches up to the end of the page.
+	 *
+	 * @param pattern The compiled pattern.
+	 * @param offset  The number of words to skip.
+	 * @param limit   The maximum number of words returned.
+	 * @return The words of the page, in dictionary order.
+	 */
+	public List<String> find(WordPattern pattern, int offset, int limit) {
+		return stream(pattern).skip(offset).limit(limit).collect(Collectors.toList());
+	}
+
+	/**
+	 * Returns a lazy cursor over the identifiers of the keys matching the pattern, in dictionary order.
+	 *
+	 * @param pattern The compiled pattern.
+	 * @return The cursor.
+	 */
+	public Cursor cursor(WordPattern pattern) {
+		return new Cursor(pattern);
+	}
+
+	/**
+	 * Returns the identifiers of the keys matching the pattern as a lazy stream, in dictionary order.
+	 * Short-circuiting operations such as limit or findFirst stop the reading of the index.
+	 *
+	 * @param pattern The compiled pattern.
+	 * @return The stream of key identifiers.
+	 */
+	public IntStream streamIds(WordPattern pattern) {
+		Spliterator.OfInt spliterator = Spliterators.spliteratorUnknownSize(cursor(pattern),
+				Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL);
+		return StreamSupport.intStream(spliterator, false);
+	}
+
+	/**
+	 * Returns the words matching the pattern as a lazy stream, in dictionary order.
+	 *
+	 * @param pattern The compiled pattern.
+	 * @return The stream of display forms.
+	 */
+	public Stream<String> stream(WordPattern pattern) {
+		return streamIds(pattern).mapToObj(id -> {
+			List<String> forms = new ArrayList<>(1);
+			dictionary.addDisplayForms(id, forms);
+			return forms;
+		}).flatMap(List::stream);
+	}
+
+	/**
+	 * Returns the k best keys matching the pattern for a score, ties going to the first key in dictionary
+	 * order. The matches are read once, and only the k best are kept, in a heap.
+	 *
+	 * @param pattern The compiled pattern.
+	 * @param k       The number of keys wanted.
+	 * @param score   The score of the keys.
+	 * @return The identifiers of the best keys, best first.
+	 */
+	public int[] top(WordPattern pattern, int k, Score score) {
+		if (k <= 0) {
+			return new int[0];
+		}
+		// Min-heap of (score, reversed identifier) packed in longs: the root is the worst key kept
+		long[] heap = new long[k];
+		int size = 0;
+		Cursor cursor = cursor(pattern);
+		while (cursor.hasNext()) {
+			int id = cursor.nextInt();
+			long entry = (long) score.score(id, cursor.length()) << 32 | (~id & 0xFFFFFFFFL);
+			if (size < k) {
+				heap[size] = entry;
+				siftUp(heap, size++);
+			} else if (entry > heap[0]) {
+				heap[0] = entry;
+				siftDown(heap, 0, size);
+			}
+		}
+		int[] best = new int[size];
+		for (int i = size - 1; i >= 0; i--) {
+			best[i] = ~(int) heap[0];
+			heap[0] = heap[i];
+			siftDown(heap, 0, i);
+		}
+		return best;
+	}
+
+	/**
+	 * Returns the result of the pattern, from the cache when the same query was asked recently.
+	 * The result is shared: its identifiers and words are read-only.
+	 *
+	 * @param pattern The compiled pattern.
+	 * @return The matching keys and their words.
+	 */
+	public QueryResult query(WordPattern pattern) {
+		return cache.get(pattern, dictionary.getGeneration(), p -> new QueryResult(dictionary, findIds(p)));
+	}
+
+	/**
+	 * Returns the number of distinct search keys matching the pattern, that is, the number of distinct fills.
+	 *
+	 * @param pattern The compiled pattern.
+	 * @return The number of matching keys.
+	 */
+	public int count(WordPattern pattern) {
+		long start = System.nanoTime();
+		int prefixLength = prefixLength(pattern);
+		int[] range = prefixRange(pattern, prefixLength);
+		int[] positions = new int[pattern.constraintCount()];
+		char[] letters = new char[pattern.constraintCount()];
+		int total = 0;
+		int minLength = Math.max(pattern.getMinLength(), prefixLength);
+		for (int length = minLength; length <= Math.min(pattern.getMaxLength(), index.maxLength()) && range[0] < range[1]; length++) {
+			int used = constraints(pattern, prefixLength, length, positions, letters);
+			total += index.countMatches(length, positions, letters, used, range[0], range[1]);
+		}
+		COUNT_TIMES[shape(pattern, prefixLength)].recordSince(start);
+		return total;
+	}
+
+	/**
+	 * Returns the sorted identifiers of the search keys matching the pattern.
+	 *
+	 * @param pattern The compiled pattern.
+	 * @return The identifiers, in dictionary order.
+	 */
+	public int[] findIds(WordPattern pattern) {
+		long start = System.nanoTime();
+		int prefixLength = prefixLength(pattern);
+		int[] range = prefixRange(pattern, prefixLength);
+		int[] positions = new int[pattern.constraintCount()];
+		char[] letters = new char[pattern.constraintCount()];
+		int[] ids = new int[0];
+		int lengths = 0;
+		int minLength = Math.max(pattern.getMinLength(), prefixLength);
+		for (int length = minLength; length <= Math.min(pattern.getMaxLength(), index.maxLength()) && range[0] < range[1]; length++) {
+			int used = constraints(pattern, prefixLength, length, positions, letters);
+			int[] matches = index.match(length, positions, letters, used, range[0], range[1]);
+			if (matches.length > 0) {
+				int previous = ids.length;
+				ids = Arrays.copyOf(ids, previous + matches.length);
+				System.arraycopy(matches, 0, ids, previous, matches.length);
+				lengths++;
+			}
+		}
+		if (lengths > 1) {
+			Arrays.sort(ids);
+		}
+		long nanos = FIND_TIMES[shape(pattern, prefixLength)].recordSince(start);
+		RETURNED.add(ids.length);
+		if (Metrics.tracing()) {
+			Metrics.trace("Motif %s : %d mots en %d µs", pattern, ids.length, nanos / 1_000);
+		}
+		return ids;
+	}
+
+	private static void siftUp(long[] heap, int i) {
+		while (i > 0 && heap[(i - 1) / 2] > heap[i]) {
+			long parent = heap[(i - 1) / 2];
+			heap[(i - 1) / 2] = heap[i];
+			heap[i] = parent;
+			i = (i - 1) / 2;
+		}
+	}
+
+	private static void siftDown(long[] heap, int i, int size) {
+		while (2 * i + 1 < size) {
+			int child = 2 * i + 1;
+			if (child + 1 < size && heap[child + 1] < heap[child]) {
+				child++;
+			}
+			if (heap[i] <= heap[child]) {
+				return;
+			}
+			long value = heap[i];
+			heap[i] = heap[child];
+			heap[child] = value;
+			i = child;
+		}
+	}
+
+	private static int shape(WordPattern pattern, int prefixLength) {
+		if (pattern.constraintCount() == 0) {
+			return 0;
+		}
+		return prefixLength == pattern.constraintCount() ? 1 : 2;
+	}
+
+	private static Metrics.Histogram[] histograms(String prefix) {
+		Metrics.Histogram[] histograms = new Metrics.Histogram[SHAPES.length];
+		for (int i = 0; i < SHAPES.length; i++) {
+			histograms[i] = Metrics.histogram(prefix + SHAPES[i]);
+		}
+		return histograms;
+	}
+
+	/**
+	 * Returns the number of leading fixed letters of the pattern, which form a prefix.
+	 */
+	private static int prefixLength(WordPattern pattern) {
+		int prefixLength = 0;
+		while (prefixLength < pattern.constraintCount() && pattern.position(prefixLength) == prefixLength) {
+			prefixLength++;
+		}
+		return prefixLength;
+	}
+
+	/**
+	 * Resolves the prefix of the pattern by a single descent of the graph into a range of identifiers.
+	 */
+	private int[] prefixRange(WordPattern pattern, int prefixLength) {
+		if (prefixLength == 0) {
+			return new int[]{0, words.size()};
+		}
+		char[] prefix = new char[prefixLength];
+		for (int i = 0; i < prefixLength; i++) {
+			prefix[i] = pattern.letter(i);
+		}
+		return words.prefixRange(CharBuffer.wrap(prefix));
+	}
+
+	/**
+	 * Copies the fixed letters after the prefix that fall inside a word of the given length.
+	 *
+	 * @return The number of constraints copied.
+	 */
+	private static int constraints(WordPattern pattern, int prefixLength, int length, int[] positions, char[] letters) {
+		int used = 0;
+		for (int i = prefixLength; i < pattern.constraintCount(); i++) {
+			if (pattern.position(i) < length) {
+				positions[used] = pattern.position(i);
+				letters[used++] = pattern.letter(i);
+			}
+		}
+		return used;
+	}
+
+	/**
+	 * A lazy cursor over the keys matching a pattern: it merges, in dictionary order, the iterators of the index
+	 * for every allowed length, taking the smallest head at each step.
+	 */
+	public final class Cursor implements PrimitiveIterator.OfInt {
+		private final PrimitiveIterator.OfInt[] iterators;
+		private final int[] heads;
+		private final int minLength;
+		private int length = -1;
+
+		private Cursor(WordPattern pattern) {
+			int prefixLength = prefixLength(pattern);
+			int[] range = prefixRange(pattern, prefixLength);
+			int[] positions = new int[pattern.constraintCount()];
+			char[] letters = new char[pattern.constraintCount()];
+			minLength = Math.max(pattern.getMinLength(), prefixLength);
+			int maxLength = Math.min(pattern.getMaxLength(), index.maxLength());
+			iterators = new PrimitiveIterator.OfInt[Math.max(0, maxLength - minLength + 1)];
+			heads = new int[iterators.length];
+			for (int i = 0; i < iterators.length; i++) {
+				int used = constraints(pattern, prefixLength, minLength + i, positions, letters);
+				iterators[i] = index.iterator(minLength + i, positions, letters, used, range[0], range[1]);
+				heads[i] = iterators[i].hasNext() ? iterators[i].nextInt() : Integer.MAX_VALUE;
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			for (int head : heads) {
+				if (head != Integer.MAX_VALUE) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public int nextInt() {
+			int smallest = -1;
+			for (int i = 0; i < heads.length; i++) {
+				if (heads[i] != Integer.MAX_VALUE && (smallest < 0 || heads[i] < heads[smallest])) {
+					smallest = i;
+				}
+			}
+			if (smallest < 0) {
+				throw new NoSuchElementException();
+			}
+			int id = heads[smallest];
+			heads[smallest] = iterators[smallest].hasNext() ? iterators[smallest].nextInt() : Integer.MAX_VALUE;
+			length = minLength + smallest;
+			RETURNED.increment();
+			return id;
+		}
+
+		/**
+		 * Returns the length of the key returned by the last call to {@link #nextInt()}.
+		 *
+		 * @return The length, -1 before the first key.
+		 */
+		public int length() {
+			return length;
+		}
+	}
+}
@@ -0,0 +1,54 @@
+package fr.limayrac.b3rpi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryEngineTest {
+
+    private final List<String> words = List.of("abord", "air", "aller", "arbre", "arc", "autre", "bar");
+    private final QueryEngine engine = new QueryEngine(Dictionary.of(words));
+
+    @Test
+    void find() {
+        assertEquals(List.of("abord", "arbre", "autre"), engine.find(WordPattern.compile("a??r?")));
+        assertEquals(List.of("abord", "air", "arbre", "arc", "autre"), engine.find(WordPattern.compile("a??r", 1, 7)));
+        assertEquals(List.of("air", "arc", "bar"), engine.find(WordPattern.compile("???")));
+        assertEquals(List.of(), engine.find(WordPattern.compile("z", 1, 5)));
+    }
+
+    @Test
+    void findFoldsAccentsAndCase() {
+        QueryEngine accented = new QueryEngine(Dictionary.of(List.of("Aaron", "pécher", "pêcher", "porte-clé", "abaisse")));
+        assertEquals(List.of("pécher", "pêcher"), accented.find(WordPattern.compile("PECHER")));
+        assertEquals(List.of("Aaron", "abaisse"), accented.find(WordPattern.compile("a", 1, 10)));
+        assertEquals(List.of("porte-clé"), accented.find(WordPattern.compile("?????CLE")));
+        assertEquals(1, accented.count(WordPattern.compile("p?cher")));
+    }
+
+    @Test
+    void count() {
+        assertEquals(6, engine.count(WordPattern.compile("a", 1, 10)));
+    }
+
+    @Test
+    void stream() {
+        WordPattern pattern = WordPattern.compile("a", 1, 10);
+        assertArrayEquals(engine.findIds(pattern), engine.streamIds(pattern).toArray());
+        assertEquals(List.of("air", "aller", "arbre"), engine.find(pattern, 1, 3));
+        assertEquals(List.of("abord"), engine.stream(pattern).limit(1).collect(java.util.stream.Collectors.toList()));
+        QueryEngine.Cursor cursor = engine.cursor(pattern);
+        assertEquals(0, cursor.nextInt());
+        assertEquals(5, cursor.length());
+    }
+
+    @Test
+    void top() {
+        WordPattern pattern = WordPattern.compile("a", 1, 10);
+        assertArrayEquals(new int[]{1, 4}, engine.top(pattern, 2, QueryEngine.SHORTEST));
+        assertArrayEquals(new int[]{0, 2}, engine.top(pattern, 2, QueryEngine.LONGEST));
+        assertEquals(6, engine.top(pattern, 10, QueryEngine.LONGEST).length);
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * "QueryResult" class is the immutable result of a pattern query: the sorted identifiers of the matching keys,
+ * and, built on first use, the list of their display forms.
+ *
+ * A result is shared by every caller asking the same query, through the query cache (see "QueryCache"), so
+ * nothing in it can be modified: the identifiers are only read through accessors or copied, and the list of
+ * words is unmodifiable.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The shared result of a query.
+ */
+public final class QueryResult {
+
+	private final Dictionary dictionary;
+	private final int[] ids;
+	private volatile List<String> words;
+
+	/**
+	 * Constructor of the QueryResult class.
+	 *
+	 * @param dictionary The dictionary the identifiers refer to.
+	 * @param ids        The sorted key identifiers; the array is kept and must not be modified afterwards.
+	 */
+	QueryResult(Dictionary dictionary, int[] ids) {
+		this.dictionary = dictionary;
+		this.ids = ids;
+	}
+
+	public Dictionary getDictionary() {
+		return dictionary;
+	}
+
+	/**
+	 * Returns the number of matching keys.
+	 *
+	 * @return The number of keys.
+	 */
+	public int size() {
+		return ids.length;
+	}
+
+	/**
+	 * Returns the identifier of the i-th matching key.
+	 *
+	 * @param i The position in the result.
+	 * @return The key identifier.
+	 */
+	public int idAt(int i) {
+		return ids[i];
+	}
+
+	/**
+	 * Returns a copy of the identifiers of the matching keys.
+	 *
+	 * @return The sorted identifiers.
+	 */
+	public int[] toArray() {
+		return ids.clone();
+	}
+
+	/**
+	 * Returns the identifiers without copying them, for the classes of the package which only read them.
+	 */
+	int[] ids() {
+		return ids;
+	}
+
+	/**
+	 * Returns the display forms of the matching keys, in dictionary order. The list is built on the first call
+	 * and then shared.
+	 *
+	 * @return The words (unmodifiable).
+	 */
+	public List<String> words() {
+		List<String> result = words;
+		if (result == null) {
+			List<String> forms = new ArrayList<>(ids.length);
+			for (int id : ids) {
+				dictionary.addDisplayForms(id, forms);
+			}
+			result = Collections.unmodifiableList(forms);
+			words = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns an estimate of the memory used by the result, its words included once they are built.
+	 *
+	 * @return The size, in bytes.
+	 */
+	long weight() {
+		long weight = 64 + 4L * ids.length;
+		if (words != null) {
+			// Reference, string header and characters of every display form
+			weight += 72L * words.size();
+		}
+		return weight;
+	}
+}
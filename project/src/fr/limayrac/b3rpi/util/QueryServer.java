@@ -0,0 +1,549 @@
+/**
+ * "QueryServer" class is the headless mode of the application: an HTTP server answering, in JSON, the dictionary
+ * queries and the grid operations of the Swing view, for a view written in HTML and CSS.
+ *
+ * The server runs on the HTTP server of the JDK and on the shared dictionary (see "DictionaryService"), whose
+ * repository answers the pattern queries. Every request gets a thread of its own, a virtual thread when the JDK has
+ * them, so a request waiting on a slow client holds no thread of a pool. Lists of words are written to the client
+ * while they are read from the repository, in chunks, so a large result is never held in memory.
+ *
+ * The server has no authentication: it listens on the loopback interface only, unless another address is given
+ * explicitly.
+ *
+ * Endpoints, whose parameters are given in the query string:
+ * - GET /api/mots?motif=A??R&min=1&max=7&offset=0&limit=100: the words matching a pattern, {"mots": [...]}
+ * - GET /api/compte?motif=A??R&min=1&max=7: the number of keys matching a pattern, {"compte": n}
+ * - POST /api/grilles?lignes=10&colonnes=10: creates an empty grid, {"id": n}
+ * - GET /api/grilles/{id}: the cells of a grid, row by row
+ * - DELETE /api/grilles/{id}: forgets a grid
+ * - POST /api/grilles/{id}/definition?ligne&colonne&index&texte&sens: sets a definition of a cell
+ * - POST /api/grilles/{id}/mot?ligne&colonne&sens&mot: writes a word in the slot of a definition
+ * - GET /api/grilles/{id}/candidats?ligne&colonne&sens&lettre&limit: the words which fit the slot of a definition
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The HTTP server of the headless mode.
+ */
+public class QueryServer implements AutoCloseable {
+
+	/**
+	 * Default port of the server.
+	 */
+	public static final int DEFAULT_PORT = 8080;
+
+	/**
+	 * Maximum number of connections waiting to be accepted.
+	 */
+	private static final int BACKLOG = 1024;
+
+	/**
+	 * Maximum number of grids kept by the server, and maximum side of a grid.
+	 */
+	private static final int MAX_GRIDS = 10_000;
+	private static final int MAX_SIZE = 100;
+
+	/**
+	 * Size of the buffer of a response: the response is sent in chunks of this size.
+	 */
+	private static final int CHUNK_SIZE = 8192;
+
+	private static final Metrics.Histogram REQUEST_TIME = Metrics.histogram("server.request");
+	private static final Metrics.Counter ERRORS = Metrics.counter("server.errors");
+
+	static {
+		// The JDK server writes the headers and the chunks of a response separately: without this, Nagle's
+		// algorithm holds the last write until the client acknowledges the previous one, some 40 ms later
+		if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+			System.setProperty("sun.net.httpserver.nodelay", "true");
+		}
+	}
+
+	private final DictionaryService service;
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final ConcurrentMap<Integer, ModeleGrille> grids = new ConcurrentHashMap<>();
+	private final AtomicInteger nextId = new AtomicInteger(1);
+
+	/**
+	 * An error of the request, reported to the client with its HTTP status.
+	 */
+	private static final class RequestException extends RuntimeException {
+
+		private final int status;
+
+		RequestException(int status, String message) {
+			super(message);
+			this.status = status;
+		}
+	}
+
+	/**
+	 * Constructor of the QueryServer class: binds the port of the loopback interface, so that only the local
+	 * machine reaches the server, without accepting requests yet.
+	 *
+	 * @param service The dictionary to query.
+	 * @param port    The port, 0 for any free port.
+	 * @throws IOException If the port cannot be bound.
+	 */
+	public QueryServer(DictionaryService service, int port) throws IOException {
+		this(service, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+	}
+
+	/**
+	 * Constructor of the QueryServer class: binds the given address, such as "0.0.0.0" for every interface,
+	 * without accepting requests yet.
+	 *
+	 * @param service The dictionary to query.
+	 * @param address The address and the port.
+	 * @throws IOException If the address cannot be bound.
+	 */
+	public QueryServer(DictionaryService service, InetSocketAddress address) throws IOException {
+		this.service = service;
+		server = HttpServer.create(address, BACKLOG);
+		executor = requestExecutor();
+		server.setExecutor(executor);
+		server.createContext("/api/", this::handle);
+	}
+
+	/**
+	 * Returns an executor running every request on a new virtual thread. The JDK of the build has no virtual
+	 * threads, so they are looked up at run time; without them, requests run on a pool of cached threads.
+	 *
+	 * @return The executor of the requests.
+	 */
+	static ExecutorService requestExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			AtomicInteger threads = new AtomicInteger();
+			return Executors.newCachedThreadPool(runnable -> {
+				Thread thread = new Thread(runnable, "http-" + threads.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+
+	/**
+	 * Starts accepting requests.
+	 */
+	public void start() {
+		server.start();
+	}
+
+	/**
+	 * Returns the port the server listens on.
+	 *
+	 * @return The port.
+	 */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Returns the address the server listens on.
+	 *
+	 * @return The address and the port.
+	 */
+	public InetSocketAddress getAddress() {
+		return server.getAddress();
+	}
+
+	/**
+	 * Stops the server, after the requests in progress or one second at most.
+	 */
+	@Override
+	public void close() {
+		server.stop(1);
+		executor.shutdown();
+	}
+
+	/**
+	 * Routes a request to its endpoint, and reports its errors as JSON.
+	 */
+	private void handle(HttpExchange exchange) throws IOException {
+		long start = System.nanoTime();
+		try {
+			exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+			exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+			String[] path = exchange.getRequestURI().getPath().substring("/api/".length()).split("/");
+			Map<String, String> parameters = parameters(exchange.getRequestURI().getRawQuery());
+			String method = exchange.getRequestMethod();
+			if (path.length == 1 && path[0].equals("mots")) {
+				expect(method, "GET");
+				words(exchange, parameters);
+			} else if (path.length == 1 && path[0].equals("compte")) {
+				expect(method, "GET");
+				count(exchange, parameters);
+			} else if (path.length == 1 && path[0].equals("grilles")) {
+				expect(method, "POST");
+				createGrid(exchange, parameters);
+			} else if (path.length == 2 && path[0].equals("grilles")) {
+				if (method.equals("DELETE")) {
+					if (grids.remove(gridId(path[1])) == null) {
+						throw new RequestException(404, "Grille inconnue : " + path[1]);
+					}
+					send(exchange, 200, "{}");
+				} else {
+					expect(method, "GET");
+					grid(exchange, grid(path[1]));
+				}
+			} else if (path.length == 3 && path[0].equals("grilles")) {
+				ModeleGrille grid = grid(path[1]);
+				switch (path[2]) {
+					case "definition":
+						expect(method, "POST");
+						setDefinition(exchange, grid, parameters);
+						break;
+					case "mot":
+						expect(method, "POST");
+						placeWord(exchange, grid, parameters);
+						break;
+					case "candidats":
+						expect(method, "GET");
+						candidates(exchange, grid, parameters);
+						break;
+					default:
+						throw new RequestException(404, "Ressource inconnue : " + exchange.getRequestURI().getPath());
+				}
+			} else {
+				throw new RequestException(404, "Ressource inconnue : " + exchange.getRequestURI().getPath());
+			}
+		} catch (RequestException e) {
+			ERRORS.increment();
+			sendError(exchange, e.status, e.getMessage());
+		} catch (IllegalArgumentException e) {
+			ERRORS.increment();
+			sendError(exchange, 400, e.getMessage());
+		} catch (RuntimeException e) {
+			Metrics.failure(ERRORS, "Requête en échec : " + exchange.getRequestMethod() + " " + exchange.getRequestURI(), e);
+			sendError(exchange, 500, "Erreur interne du serveur");
+		} finally {
+			exchange.close();
+			long nanos = REQUEST_TIME.recordSince(start);
+			if (Metrics.tracing()) {
+				Metrics.trace("%s %s en %d µs", exchange.getRequestMethod(), exchange.getRequestURI(), nanos / 1_000);
+			}
+		}
+	}
+
+	/**
+	 * Streams a page of the words matching a pattern.
+	 */
+	private void words(HttpExchange exchange, Map<String, String> parameters) throws IOException {
+		WordPattern pattern = pattern(parameters);
+		int offset = integer(parameters, "offset", 0);
+		int limit = integer(parameters, "limit", Integer.MAX_VALUE);
+		Iterator<String> words = service.repository().stream(pattern, offset, limit).iterator();
+		try (Writer writer = stream(exchange)) {
+			writer.write("{\"motif\":");
+			writer.write(quote(parameters.get("motif")));
+			writer.write(",\"mots\":[");
+			for (boolean first = true; words.hasNext(); first = false) {
+				if (!first) {
+					writer.write(',');
+				}
+				writer.write(quote(words.next()));
+			}
+			writer.write("]}");
+		}
+	}
+
+	private void count(HttpExchange exchange, Map<String, String> parameters) throws IOException {
+		WordPattern pattern = pattern(parameters);
+		send(exchange, 200, "{\"motif\":" + quote(parameters.get("motif")) + ",\"compte\":" + service.repository().count(pattern) + "}");
+	}
+
+	private void createGrid(HttpExchange exchange, Map<String, String> parameters) throws IOException {
+		int rows = integer(parameters, "lignes", -1);
+		int columns = integer(parameters, "colonnes", -1);
+		if (rows <= 0 || columns <= 0 || rows > MAX_SIZE || columns > MAX_SIZE) {
+			throw new RequestException(400, "Dimensions de grille non valides, entre 1 et " + MAX_SIZE + " attendues");
+		}
+		if (grids.size() >= MAX_GRIDS) {
+			throw new RequestException(503, "Trop de grilles ouvertes");
+		}
+		int id = nextId.getAndIncrement();
+		grids.put(id, new ModeleGrille(rows, columns));
+		send(exchange, 201, "{\"id\":" + id + ",\"lignes\":" + rows + ",\"colonnes\":" + columns + "}");
+	}
+
+	/**
+	 * Streams the cells of a grid, row by row: a letter cell is {"lettre": "A"} (null when empty), a definition
+	 * cell {"definitions": [{"texte": ..., "sens": ...}, ...]}.
+	 */
+	private void grid(HttpExchange exchange, ModeleGrille grid) throws IOException {
+		try (Writer writer = stream(exchange)) {
+			writer.write("{\"lignes\":" + grid.getRows() + ",\"colonnes\":" + grid.getColumns() + ",\"cases\":[");
+			for (int row = 0; row < grid.getRows(); row++) {
+				writer.write(row == 0 ? "[" : ",[");
+				for (int column = 0; column < grid.getColumns(); column++) {
+					if (column > 0) {
+						writer.write(',');
+					}
+					if (grid.isDefinition(row, column)) {
+						writer.write("{\"definitions\":[");
+						for (int which = 0; which < 2; which++) {
+							String text = grid.getDefinition(row, column, which);
+							Direction direction = grid.getDirection(row, column, which);
+							if (which == 1 && text == null && direction == null) {
+								break;
+							}
+							writer.write(which == 0 ? "{\"texte\":" : ",{\"texte\":");
+							writer.write(text == null ? "null" : quote(text));
+							writer.write(",\"sens\":");
+							writer.write(direction == null ? "null" : quote(direction.getLabel()));
+							writer.write('}');
+						}
+						writer.write("]}");
+					} else {
+						char letter = grid.getLetter(row, column);
+						writer.write(letter == ModeleGrille.EMPTY ? "{\"lettre\":null}"
+								: "{\"lettre\":" + quote(String.valueOf(letter)) + "}");
+					}
+				}
+				writer.write(']');
+			}
+			writer.write("]}");
+		}
+	}
+
+	private void setDefinition(HttpExchange exchange, ModeleGrille grid, Map<String, String> parameters)
+			throws IOException {
+		int[] cell = cell(grid, parameters);
+		int which = integer(parameters, "index", 0);
+		if (which != 0 && which != 1) {
+			throw new RequestException(400, "Index de définition invalide : " + which);
+		}
+		String direction = parameters.get("sens");
+		grid.setDefinition(cell[0], cell[1], which, parameters.get("texte"),
+				direction == null ? null : direction(direction));
+		send(exchange, 200, "{}");
+	}
+
+	private void placeWord(HttpExchange exchange, ModeleGrille grid, Map<String, String> parameters) throws IOException {
+		int[] cell = cell(grid, parameters);
+		Direction direction = direction(required(parameters, "sens"));
+		String word = WordFolding.fold(required(parameters, "mot"));
+		if (!grid.isDefinition(cell[0], cell[1])) {
+			throw new RequestException(400, "La case n'est pas une définition");
+		}
+		grid.placeWord(cell[0], cell[1], direction, word);
+		send(exchange, 200, "{\"longueur\":" + Math.min(word.length(), grid.slotLength(cell[0], cell[1], direction)) + "}");
+	}
+
+	/**
+	 * Streams the words which fit the slot of a definition, as the word dialog of the Swing view proposes them.
+	 */
+	private void candidates(HttpExchange exchange, ModeleGrille grid, Map<String, String> parameters)
+			throws IOException {
+		int[] cell = cell(grid, parameters);
+		Direction direction = direction(required(parameters, "sens"));
+		int limit = Math.max(0, integer(parameters, "limit", Integer.MAX_VALUE));
+		QueryResult result = new FileUtil(service).printWordsStartingWith(parameters.get("lettre"),
+				grid.slotLength(cell[0], cell[1], direction), cell[0], cell[1], direction.getLabel(), grid);
+		List<String> forms = new ArrayList<>(2);
+		try (Writer writer = stream(exchange)) {
+			writer.write("{\"mots\":[");
+			int written = 0;
+			for (int i = 0; i < result.size() && written < limit; i++) {
+				forms.clear();
+				result.getDictionary().addDisplayForms(result.idAt(i), forms);
+				for (int j = 0; j < forms.size() && written < limit; j++, written++) {
+					if (written > 0) {
+						writer.write(',');
+					}
+					writer.write(quote(forms.get(j)));
+				}
+			}
+			writer.write("]}");
+		}
+	}
+
+	private ModeleGrille grid(String id) {
+		ModeleGrille grid = grids.get(gridId(id));
+		if (grid == null) {
+			throw new RequestException(404, "Grille inconnue : " + id);
+		}
+		return grid;
+	}
+
+	private static int gridId(String id) {
+		try {
+			return Integer.parseInt(id);
+		} catch (NumberFormatException e) {
+			throw new RequestException(404, "Grille inconnue : " + id);
+		}
+	}
+
+	private static int[] cell(ModeleGrille grid, Map<String, String> parameters) {
+		int row = integer(parameters, "ligne", -1);
+		int column = integer(parameters, "colonne", -1);
+		if (!grid.contains(row, column)) {
+			throw new RequestException(400, "Case hors de la grille : " + row + ", " + column);
+		}
+		return new int[]{row, column};
+	}
+
+	private static Direction direction(String label) {
+		Direction direction = Direction.fromLabel(label);
+		if (direction == null) {
+			throw new RequestException(400, "Sens inconnu : " + label);
+		}
+		return direction;
+	}
+
+	private static WordPattern pattern(Map<String, String> parameters) {
+		String pattern = required(parameters, "motif");
+		return WordPattern.compile(pattern, integer(parameters, "min", pattern.length()),
+				integer(parameters, "max", pattern.length()));
+	}
+
+	private static void expect(String method, String expected) {
+		if (!method.equals(expected)) {
+			throw new RequestException(405, "Méthode non autorisée : " + method);
+		}
+	}
+
+	private static String required(Map<String, String> parameters, String name) {
+		String value = parameters.get(name);
+		if (value == null) {
+			throw new RequestException(400, "Paramètre manquant : " + name);
+		}
+		return value;
+	}
+
+	private static int integer(Map<String, String> parameters, String name, int defaultValue) {
+		String value = parameters.get(name);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new RequestException(400, "Paramètre " + name + " invalide : " + value);
+		}
+	}
+
+	/**
+	 * Decodes the parameters of a query string.
+	 */
+	static Map<String, String> parameters(String query) {
+		Map<String, String> parameters = new HashMap<>();
+		if (query == null || query.isEmpty()) {
+			return parameters;
+		}
+		for (String parameter : query.split("&")) {
+			int equals = parameter.indexOf('=');
+			String name = equals < 0 ? parameter : parameter.substring(0, equals);
+			String value = equals < 0 ? "" : parameter.substring(equals + 1);
+			parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+		}
+		return parameters;
+	}
+
+	/**
+	 * Starts a chunked response and returns a writer sending it chunk by chunk.
+	 */
+	private static Writer stream(HttpExchange exchange) throws IOException {
+		exchange.sendResponseHeaders(200, 0);
+		return new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8), CHUNK_SIZE);
+	}
+
+	private static void send(HttpExchange exchange, int status, String json) throws IOException {
+		byte[] body = json.getBytes(StandardCharsets.UTF_8);
+		exchange.sendResponseHeaders(status, body.length);
+		exchange.getResponseBody().write(body);
+	}
+
+	/**
+	 * Reports an error to the client, unless the response has already started; the client then sees the response
+	 * cut short.
+	 */
+	private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+		if (exchange.getResponseCode() == -1) {
+			send(exchange, status, "{\"erreur\":" + quote(message) + "}");
+		}
+	}
+
+	/**
+	 * Returns a string as a JSON string literal, or null.
+	 */
+	static String quote(String text) {
+		if (text == null) {
+			return "null";
+		}
+		StringBuilder json = new StringBuilder(text.length() + 2).append('"');
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+				case '"':
+					json.append("\\\"");
+					break;
+				case '\\':
+					json.append("\\\\");
+					break;
+				case '\n':
+					json.append("\\n");
+					break;
+				case '\r':
+					json.append("\\r");
+					break;
+				case '\t':
+					json.append("\\t");
+					break;
+				default:
+					if (c < 0x20) {
+						json.append(String.format("\\u%04x", (int) c));
+					} else {
+						json.append(c);
+					}
+			}
+		}
+		return json.append('"').toString();
+	}
+
+	/**
+	 * Starts the headless mode.
+	 *
+	 * @param args The port, optional, then the address to listen on, optional (the loopback interface by default).
+	 * @throws IOException If the port cannot be bound.
+	 */
+	public static void main(String[] args) throws IOException {
+		Metrics.install();
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		QueryServer server = args.length > 1
+				? new QueryServer(DictionaryService.shared(), new InetSocketAddress(args[1], port))
+				: new QueryServer(DictionaryService.shared(), port);
+		server.start();
+		System.out.println("Serveur de mots fléchés sur " + server.getAddress());
+	}
+}
@@ -0,0 +1,112 @@
+package fr.limayrac.b3rpi.util;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryServerTest {
+
+    private static QueryServer server;
+    private static final HttpClient CLIENT = HttpClient.newHttpClient();
+
+    @BeforeAll
+    static void start() throws Exception {
+        server = new QueryServer(new DictionaryService(FileUtil.class.getResource(FileUtil.FILE_PATH)), 0);
+        server.start();
+    }
+
+    @AfterAll
+    static void stop() {
+        server.close();
+    }
+
+    @Test
+    void words() throws Exception {
+        HttpResponse<String> response = send("GET", "/api/mots?motif=A%3F%3FR&min=1&max=7&limit=3");
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"motif\":\"A??R\",\"mots\":[\"abc\",\"aber\",\"abord\"]}", response.body());
+        assertEquals("chunked", response.headers().firstValue("Transfer-Encoding").orElse(null));
+        assertEquals("{\"motif\":\"?????\",\"compte\":1938}", send("GET", "/api/compte?motif=%3F%3F%3F%3F%3F").body());
+    }
+
+    @Test
+    void grid() throws Exception {
+        HttpResponse<String> created = send("POST", "/api/grilles?lignes=2&colonnes=4");
+        assertEquals(201, created.statusCode());
+        String id = created.body().replaceAll("^\\{\"id\":(\\d+),.*$", "$1");
+        assertEquals(200, send("POST", "/api/grilles/" + id + "/definition?ligne=0&colonne=0&texte=Saison&sens=DROITE")
+                .statusCode());
+        assertEquals("{\"mots\":[\"abc\",\"ADN\"]}",
+                send("GET", "/api/grilles/" + id + "/candidats?ligne=0&colonne=0&sens=DROITE&lettre=a&limit=2").body());
+        assertEquals(200, send("POST", "/api/grilles/" + id + "/mot?ligne=0&colonne=0&sens=DROITE&mot=%C3%A9t%C3%A9")
+                .statusCode());
+        assertEquals("{\"lignes\":2,\"colonnes\":4,\"cases\":[[{\"definitions\":[{\"texte\":\"Saison\",\"sens\":\"DROITE\"}]},"
+                + "{\"lettre\":\"E\"},{\"lettre\":\"T\"},{\"lettre\":\"E\"}],"
+                + "[{\"lettre\":null},{\"lettre\":null},{\"lettre\":null},{\"lettre\":null}]]}",
+                send("GET", "/api/grilles/" + id).body());
+        assertEquals(200, send("DELETE", "/api/grilles/" + id).statusCode());
+        assertEquals(404, send("GET", "/api/grilles/" + id).statusCode());
+    }
+
+    @Test
+    void errors() throws Exception {
+        HttpResponse<String> response = send("GET", "/api/mots");
+        assertEquals(400, response.statusCode());
+        assertEquals("{\"erreur\":\"Paramètre manquant : motif\"}", response.body());
+        assertEquals(400, send("POST", "/api/grilles?lignes=0&colonnes=4").statusCode());
+        assertEquals(405, send("POST", "/api/compte?motif=a").statusCode());
+        assertEquals(404, send("GET", "/api/inconnu").statusCode());
+    }
+
+    @Test
+    void internalError() throws Exception {
+        DictionaryRepository failing = new MemoryDictionaryRepository(new QueryEngine(Dictionary.of(List.of("arbre")))) {
+            @Override
+            public int count(WordPattern pattern) {
+                throw new IllegalStateException("Base indisponible");
+            }
+        };
+        try (QueryServer other = new QueryServer(
+                new DictionaryService(FileUtil.class.getResource(FileUtil.FILE_PATH), failing), 0)) {
+            other.start();
+            HttpResponse<String> response = send(other, "GET", "/api/compte?motif=a");
+            assertEquals(500, response.statusCode());
+            assertEquals("{\"erreur\":\"Erreur interne du serveur\"}", response.body());
+        }
+    }
+
+    @Test
+    void listensOnLoopback() {
+        assertTrue(server.getAddress().getAddress().isLoopbackAddress());
+    }
+
+    @Test
+    void helpers() {
+        assertEquals(Map.of("motif", "A??R", "texte", "Un arbre"), QueryServer.parameters("motif=A%3F%3FR&texte=Un+arbre"));
+        assertEquals("\"a\\\"b\\\\c\\n\\u0001\"", QueryServer.quote("a\"b\\c\n\u0001"));
+        assertEquals("null", QueryServer.quote(null));
+        ExecutorService executor = QueryServer.requestExecutor();
+        assertNotNull(executor);
+        executor.shutdown();
+    }
+
+    private static HttpResponse<String> send(String method, String path) throws Exception {
+        return send(server, method, path);
+    }
+
+    private static HttpResponse<String> send(QueryServer server, String method, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .method(method, HttpRequest.BodyPublishers.noBody()).build();
+        return CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
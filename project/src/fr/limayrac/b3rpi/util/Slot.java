@@ -0,0 +1,81 @@
+/**
+ * "Slot" class describes the place of a word in the grid: its definition cell, its direction and its cells.
+ *
+ * Slots are computed from the grid model (see "ModeleGrille.slots") for every definition whose direction is known.
+ * The cells are given as flat indexes (row * columns + column), like the arrays of the model.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+/**
+ * An immutable word slot of a grid.
+ */
+public final class Slot {
+
+	private final int row;
+	private final int column;
+	private final int which;
+	private final Direction direction;
+	private final int[] cells;
+
+	/**
+	 * Constructor of the Slot class.
+	 *
+	 * @param row       The row of the definition cell.
+	 * @param column    The column of the definition cell.
+	 * @param which     0 for the first definition of the cell, 1 for the second one.
+	 * @param direction The direction of the word.
+	 * @param cells     The flat indexes of the cells of the word, in order.
+	 */
+	public Slot(int row, int column, int which, Direction direction, int[] cells) {
+		this.row = row;
+		this.column = column;
+		this.which = which;
+		this.direction = direction;
+		this.cells = cells;
+	}
+
+	public int getRow() {
+		return row;
+	}
+
+	public int getColumn() {
+		return column;
+	}
+
+	public int getWhich() {
+		return which;
+	}
+
+	public Direction getDirection() {
+		return direction;
+	}
+
+	/**
+	 * Returns the number of letters of the word.
+	 *
+	 * @return The length of the slot.
+	 */
+	public int length() {
+		return cells.length;
+	}
+
+	/**
+	 * Returns the flat index of the i-th cell of the word.
+	 *
+	 * @param i The position in the word.
+	 * @return The index of the cell in the grid arrays.
+	 */
+	public int cell(int i) {
+		return cells[i];
+	}
+
+	@Override
+	public String toString() {
+		return "(" + row + ", " + column + ") " + direction.getLabel() + " " + cells.length;
+	}
+}
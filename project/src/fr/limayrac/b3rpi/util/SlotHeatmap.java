@@ -0,0 +1,320 @@
+/**
+ * "SlotHeatmap" class keeps, for every slot of a grid, the number of dictionary words that still fit it.
+ *
+ * The heatmap listens to the grid model. Changed cells are collected and handed to a single background
+ * thread, which recomputes only the slots crossing them; the whole list of slots is rebuilt only when a
+ * definition cell changes. Counts come from the pattern index and are cached by pattern, so placing a word
+ * and removing it again costs no query. Each update publishes an immutable snapshot to the listeners,
+ * from the background thread.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The live candidate counts of the slots of a grid.
+ */
+public class SlotHeatmap implements ModeleGrille.Listener {
+
+	/**
+	 * Maximum number of patterns whose count is kept.
+	 */
+	private static final int CACHE_SIZE = 4096;
+
+	/**
+	 * Value of {@link Snapshot#cellCount(int, int)} for a cell which belongs to no slot.
+	 */
+	public static final int NO_SLOT = -1;
+
+	/**
+	 * Listener notified when new counts are available.
+	 */
+	public interface Listener {
+
+		/**
+		 * Called, from the background thread, after the counts have been updated.
+		 *
+		 * @param snapshot The new counts.
+		 */
+		void heatmapChanged(Snapshot snapshot);
+	}
+
+	/**
+	 * Immutable counts of the slots of the grid at a given time.
+	 */
+	public static final class Snapshot {
+
+		private final int columns;
+		private final List<Slot> slots;
+		private final int[] counts;
+		private final int[] cellCounts;
+
+		private Snapshot(int columns, List<Slot> slots, int[] counts, int[] cellCounts) {
+			this.columns = columns;
+			this.slots = slots;
+			this.counts = counts;
+			this.cellCounts = cellCounts;
+		}
+
+		public List<Slot> getSlots() {
+			return slots;
+		}
+
+		/**
+		 * Returns the number of words which fit the i-th slot.
+		 *
+		 * @param i The index of the slot in {@link #getSlots()}.
+		 * @return The number of candidates.
+		 */
+		public int count(int i) {
+			return counts[i];
+		}
+
+		/**
+		 * Returns the smallest number of candidates among the slots going through a cell.
+		 *
+		 * @param row    The row of the cell.
+		 * @param column The column of the cell.
+		 * @return The number of candidates, {@link #NO_SLOT} if no slot goes through the cell.
+		 */
+		public int cellCount(int row, int column) {
+			return cellCounts[row * columns + column];
+		}
+	}
+
+	private final ModeleGrille grid;
+	private final QueryEngine engine;
+	private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+	private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "heatmap");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	// Pending changes, guarded by this
+	private final BitSet dirty = new BitSet();
+	private boolean scheduled;
+
+	// State of the background thread
+	private final Map<WordPattern, Integer> cache = new LinkedHashMap<>(256, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<WordPattern, Integer> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+	private final int[] structure;
+	private List<Slot> slots = new ArrayList<>();
+	private int[][] slotsByCell;
+	private int[] counts = new int[0];
+	private final char[] pattern;
+
+	private volatile Snapshot snapshot;
+
+	/**
+	 * Constructor of the SlotHeatmap class: subscribes to the grid and computes the first counts.
+	 *
+	 * @param grid   The grid model.
+	 * @param engine The query engine of the dictionary.
+	 */
+	public SlotHeatmap(ModeleGrille grid, QueryEngine engine) {
+		this.grid = grid;
+		this.engine = engine;
+		int cells = grid.getRows() * grid.getColumns();
+		structure = new int[cells];
+		Arrays.fill(structure, Integer.MIN_VALUE);
+		pattern = new char[Math.max(grid.getRows(), grid.getColumns())];
+		snapshot = new Snapshot(grid.getColumns(), List.of(), counts, filled(cells));
+		synchronized (this) {
+			dirty.set(0, cells);
+			schedule();
+		}
+		grid.addListener(this);
+	}
+
+	public void addListener(Listener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(Listener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Returns the latest counts, which may not include the changes still being processed.
+	 *
+	 * @return The current snapshot.
+	 */
+	public Snapshot getSnapshot() {
+		return snapshot;
+	}
+
+	/**
+	 * Waits until the changes made so far have been processed.
+	 *
+	 * @return The snapshot including them.
+	 */
+	public Snapshot awaitSnapshot() {
+		try {
+			worker.submit(() -> { }).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Unsubscribes from the grid and stops the background thread.
+	 */
+	public void close() {
+		grid.removeListener(this);
+		worker.shutdownNow();
+	}
+
+	@Override
+	public synchronized void cellChanged(int row, int column) {
+		dirty.set(row * grid.getColumns() + column);
+		schedule();
+	}
+
+	@Override
+	public synchronized void regionChanged(int firstRow, int firstColumn, int lastRow, int lastColumn) {
+		for (int row = firstRow; row <= lastRow; row++) {
+			dirty.set(row * grid.getColumns() + firstColumn, row * grid.getColumns() + lastColumn + 1);
+		}
+		schedule();
+	}
+
+	private void schedule() {
+		if (!scheduled && !worker.isShutdown()) {
+			scheduled = true;
+			worker.execute(this::update);
+		}
+	}
+
+	/**
+	 * Recomputes the counts of the slots crossing the changed cells, then publishes them.
+	 */
+	private void update() {
+		long start = System.nanoTime();
+		BitSet changed;
+		synchronized (this) {
+			changed = (BitSet) dirty.clone();
+			dirty.clear();
+			scheduled = false;
+		}
+		boolean rebuild = false;
+		for (int cell = changed.nextSetBit(0); cell >= 0; cell = changed.nextSetBit(cell + 1)) {
+			int kind = kind(cell / grid.getColumns(), cell % grid.getColumns());
+			if (kind != structure[cell]) {
+				structure[cell] = kind;
+				rebuild = true;
+			}
+		}
+		if (rebuild) {
+			rebuildSlots();
+		} else {
+			counts = counts.clone();
+			BitSet slotsToCount = new BitSet(slots.size());
+			for (int cell = changed.nextSetBit(0); cell >= 0; cell = changed.nextSetBit(cell + 1)) {
+				for (int i : slotsByCell[cell]) {
+					slotsToCount.set(i);
+				}
+			}
+			for (int i = slotsToCount.nextSetBit(0); i >= 0; i = slotsToCount.nextSetBit(i + 1)) {
+				counts[i] = count(slots.get(i));
+			}
+		}
+		int[] cellCounts = filled(structure.length);
+		for (int i = 0; i < slots.size(); i++) {
+			Slot slot = slots.get(i);
+			for (int j = 0; j < slot.length(); j++) {
+				int cell = slot.cell(j);
+				if (cellCounts[cell] == NO_SLOT || counts[i] < cellCounts[cell]) {
+					cellCounts[cell] = counts[i];
+				}
+			}
+		}
+		snapshot = new Snapshot(grid.getColumns(), slots, counts, cellCounts);
+		Metrics.histogram("grid.heatmap").recordSince(start);
+		for (Listener listener : listeners) {
+			listener.heatmapChanged(snapshot);
+		}
+	}
+
+	/**
+	 * Rebuilds the slots of the grid after a definition cell has changed, and counts them all.
+	 */
+	private void rebuildSlots() {
+		slots = List.copyOf(grid.slots());
+		counts = new int[slots.size()];
+		int[] sizes = new int[structure.length];
+		for (Slot slot : slots) {
+			for (int j = 0; j < slot.length(); j++) {
+				sizes[slot.cell(j)]++;
+			}
+		}
+		slotsByCell = new int[structure.length][];
+		for (int cell = 0; cell < structure.length; cell++) {
+			slotsByCell[cell] = new int[sizes[cell]];
+		}
+		for (int i = 0; i < slots.size(); i++) {
+			Slot slot = slots.get(i);
+			for (int j = 0; j < slot.length(); j++) {
+				int cell = slot.cell(j);
+				slotsByCell[cell][slotsByCell[cell].length - sizes[cell]--] = i;
+			}
+			counts[i] = count(slot);
+		}
+	}
+
+	/**
+	 * Counts the words of the exact length of the slot which agree with its letters.
+	 */
+	private int count(Slot slot) {
+		int columns = grid.getColumns();
+		for (int j = 0; j < slot.length(); j++) {
+			char letter = grid.getLetter(slot.cell(j) / columns, slot.cell(j) % columns);
+			pattern[j] = letter == ModeleGrille.EMPTY ? WordPattern.ANY : letter;
+		}
+		WordPattern key = WordPattern.compile(pattern, slot.length(), slot.length(), slot.length());
+		return cache.computeIfAbsent(key, engine::count);
+	}
+
+	/**
+	 * Returns what the slots depend on in a cell: -1 for a letter cell, the directions of its definitions
+	 * for a definition cell.
+	 */
+	private int kind(int row, int column) {
+		if (!grid.isDefinition(row, column)) {
+			return -1;
+		}
+		int kind = 0;
+		for (int which = 0; which < 2; which++) {
+			Direction direction = grid.getDirection(row, column, which);
+			kind = kind << 3 | (direction == null ? 0 : direction.ordinal() + 1);
+		}
+		return kind;
+	}
+
+	private static int[] filled(int cells) {
+		int[] cellCounts = new int[cells];
+		Arrays.fill(cellCounts, NO_SLOT);
+		return cellCounts;
+	}
+}
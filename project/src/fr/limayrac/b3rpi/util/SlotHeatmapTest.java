@@ -0,0 +1,43 @@
+package fr.limayrac.b3rpi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotHeatmapTest {
+
+    private final QueryEngine engine = new QueryEngine(Dictionary.of(List.of("ami", "arc", "are", "cre", "ire", "mer", "rer", "rue")));
+
+    @Test
+    void counts() {
+        ModeleGrille grid = new ModeleGrille(4, 4);
+        grid.setDefinition(0, 0, 0, "", null);
+        for (int i = 1; i < 4; i++) {
+            grid.setDefinition(0, i, 0, "v" + i, Direction.BAS);
+            grid.setDefinition(i, 0, 0, "h" + i, Direction.DROITE);
+        }
+        SlotHeatmap heatmap = new SlotHeatmap(grid, engine);
+        try {
+            SlotHeatmap.Snapshot snapshot = heatmap.awaitSnapshot();
+            assertEquals(6, snapshot.getSlots().size());
+            assertEquals(8, snapshot.cellCount(2, 2));
+            assertEquals(SlotHeatmap.NO_SLOT, snapshot.cellCount(0, 0));
+
+            grid.placeWord(1, 0, Direction.DROITE, "ARE");
+            snapshot = heatmap.awaitSnapshot();
+            assertEquals(1, snapshot.cellCount(1, 1));
+            assertEquals(3, snapshot.cellCount(2, 1));
+            assertEquals(2, snapshot.cellCount(3, 2));
+            assertEquals(0, snapshot.cellCount(3, 3));
+
+            grid.setDefinition(3, 3, 0, "Fin", null);
+            snapshot = heatmap.awaitSnapshot();
+            assertEquals(SlotHeatmap.NO_SLOT, snapshot.cellCount(3, 3));
+            assertEquals(0, snapshot.cellCount(2, 3));
+        } finally {
+            heatmap.close();
+        }
+    }
+}
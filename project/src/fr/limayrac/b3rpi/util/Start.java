@@ -14,40 +14,94 @@
 package fr.limayrac.b3rpi.util;
 
 import javax.swing.*;
+import javax.swing.event.MenuEvent;
+import javax.swing.event.MenuListener;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
+import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.awt.Font;
 
 public class Start extends JFrame {
 
 	FileUtil f = new FileUtil();
 	private CustomDialog customDialog;
-	private JPanel[][] gridPanels;
-	private JLabel[][] letter;
-	private Font arrowFont;
+	private ModeleGrille model;
+	private volatile SlotHeatmap heatmap;
+	private GrilleView view;
+	private GrilleJournal journal;
+	private boolean switchingJournal;
+	private final GrilleJournal.FailureListener journalFailure = error -> SwingUtilities.invokeLater(
+			() -> showFileError("Les dernières modifications n'ont pas pu être enregistrées", error));
+	private GrilleHistorique history;
+	private LiveDictionary.Listener dictionaryListener;
+	private boolean disposed;
 
 	private int rows;
 	private int columns;
 	int size = 0;
 	private static final int CELL_SIZE = 70;
+	private static final int MIN_CELL_SIZE = 36;
+	private static final int MAX_SIZE = 100;
+	private static final long FILL_BUDGET_MILLIS = 5000;
+	private static final Metrics.Histogram DISPLAY_WORD_TIME = Metrics.histogram("ui.displayWord");
 
 	public Start() {
-		customDialog = new CustomDialog(this, new ArrayList<>());
+		getGridDimensions();
+		init(new ModeleGrille(rows, columns), null);
+	}
 
-		// Initialize the arrowFont
-		arrowFont = new Font(Font.SANS_SERIF, Font.PLAIN, 30);
+	/**
+	 * Constructor of a window editing a saved grid.
+	 *
+	 * @param journal The journal of the grid, opened from its file.
+	 */
+	public Start(GrilleJournal journal) {
+		init(journal.getGrid(), journal);
+	}
+
+	/**
+	 * Builds the window around a grid model.
+	 *
+	 * @param model   The grid model.
+	 * @param journal The journal of the grid, null if it is not saved yet.
+	 */
+	private void init(ModeleGrille model, GrilleJournal journal) {
+		this.model = model;
+		this.journal = journal;
+		if (journal != null) {
+			journal.addFailureListener(journalFailure);
+		}
+		rows = model.getRows();
+		columns = model.getColumns();
+		history = new GrilleHistorique(model);
+		customDialog = new CustomDialog(this, new ArrayList<>());
 
-		setTitle("Création de Mots fléchés");
+		setTitle(journal == null ? "Création de Mots fléchés" : title(journal.getFile()));
 		setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+		addWindowListener(new WindowAdapter() {
+			@Override
+			public void windowClosing(WindowEvent e) {
+				closeJournal();
+				dispose();
+			}
+		});
 
-		getGridDimensions();
 		initializeGrid();
+		initializeMenu();
+		f.whenReady().thenAccept(engine -> SwingUtilities.invokeLater(this::startHeatmap));
+		dictionaryListener = engine -> SwingUtilities.invokeLater(this::startHeatmap);
+		f.getDictionary().addListener(dictionaryListener);
 
-		// Set GridLayout for the main panel
-		setLayout(new GridLayout(rows, columns));
 		pack();
 
 		// Set the frame to fullscreen mode
@@ -58,22 +112,22 @@ public class Start extends JFrame {
 
 	/**
 	 * Prompts the user to enter the dimensions (rows and columns) for the crossword puzzle grid.
-	 * The method will re-prompt until valid numeric values between 1 and 10 are provided.
+	 * The method will re-prompt until valid numeric values between 1 and 100 are provided.
 	 */
 	private void getGridDimensions() {
 		JTextField rowsField = new JTextField();
 		JTextField columnsField = new JTextField();
 		Object[] message = {
-				"Saisissez le nombre de lignes (1 à 10)", rowsField,
-				"Saisissez le nombre de colonnes (1 à 10)", columnsField
+				"Saisissez le nombre de lignes (1 à " + MAX_SIZE + ")", rowsField,
+				"Saisissez le nombre de colonnes (1 à " + MAX_SIZE + ")", columnsField
 		};
 		int option = JOptionPane.showConfirmDialog(null, message, "Taille de la grille", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
 		if (option == JOptionPane.OK_OPTION) {
 			try {
 				rows = Integer.parseInt(rowsField.getText());
 				columns = Integer.parseInt(columnsField.getText());
-				if (rows <= 0 || columns <= 0 || rows > 10 || columns > 10) {
-					JOptionPane.showMessageDialog(null, "Dimensions de grille non valides. Veuillez entrer des valeurs entre 1 et 10.", "Erreur :/", JOptionPane.ERROR_MESSAGE);
+				if (rows <= 0 || columns <= 0 || rows > MAX_SIZE || columns > MAX_SIZE) {
+					JOptionPane.showMessageDialog(null, "Dimensions de grille non valides. Veuillez entrer des valeurs entre 1 et " + MAX_SIZE + ".", "Erreur :/", JOptionPane.ERROR_MESSAGE);
 					getGridDimensions(); // Re-prompt for input
 				}
 			} catch (NumberFormatException e) {
@@ -86,47 +140,332 @@ public class Start extends JFrame {
 	}
 
 	/**
-	 * Initializes the crossword puzzle grid by creating the required panels and labels.
+	 * Initializes the crossword puzzle grid: a single view painting the grid model, in a scroll pane.
+	 * The cells shrink for large grids, down to a size where the letters and arrows stay readable.
 	 */
 	private void initializeGrid() {
-		gridPanels = new JPanel[rows][columns];
-		letter = new JLabel[rows][columns];
-		for (int x = 0; x < rows; x++) {
-			for (int y = 0; y < columns; y++) {
-				gridPanels[x][y] = new JPanel();
-				gridPanels[x][y].setPreferredSize(new Dimension(CELL_SIZE, CELL_SIZE));
-				gridPanels[x][y].setBorder(BorderFactory.createLineBorder(Color.BLACK));
-				letter[x][y] = new JLabel(" ");
-				gridPanels[x][y].add(letter[x][y]);
-				gridPanels[x][y].addMouseListener(new PanelMouseListener(x, y));
-				add(gridPanels[x][y]);
+		int cellSize = Math.max(MIN_CELL_SIZE, Math.min(CELL_SIZE, 900 / Math.max(rows, columns)));
+		view = new GrilleView(model, cellSize);
+		view.addMouseListener(new GridMouseListener());
+		JScrollPane scrollPane = new JScrollPane(view);
+		scrollPane.getVerticalScrollBar().setUnitIncrement(cellSize / 2);
+		scrollPane.getHorizontalScrollBar().setUnitIncrement(cellSize / 2);
+		add(scrollPane);
+	}
+
+	/**
+	 * Initializes the menu bar, with the grid files, the undo history and the fill assistant.
+	 */
+	private void initializeMenu() {
+		JMenuBar menuBar = new JMenuBar();
+		JMenu fileMenu = new JMenu("Fichier");
+		JMenuItem openItem = new JMenuItem("Ouvrir...");
+		openItem.addActionListener(e -> openGrid());
+		fileMenu.add(openItem);
+		JMenuItem saveItem = new JMenuItem("Enregistrer");
+		saveItem.addActionListener(e -> saveGrid());
+		fileMenu.add(saveItem);
+		JMenuItem saveAsItem = new JMenuItem("Enregistrer sous...");
+		saveAsItem.addActionListener(e -> saveGridAs());
+		fileMenu.add(saveAsItem);
+		menuBar.add(fileMenu);
+		JMenu editMenu = new JMenu("Édition");
+		int shortcut = Toolkit.getDefaultToolkit().getMenuShortcutKeyMaskEx();
+		JMenuItem undoItem = new JMenuItem("Annuler");
+		undoItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_Z, shortcut));
+		undoItem.addActionListener(e -> history.undo());
+		editMenu.add(undoItem);
+		JMenuItem redoItem = new JMenuItem("Rétablir");
+		redoItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_Y, shortcut));
+		redoItem.addActionListener(e -> history.redo());
+		editMenu.add(redoItem);
+		editMenu.addMenuListener(new MenuListener() {
+			@Override
+			public void menuSelected(MenuEvent e) {
+				undoItem.setEnabled(history.canUndo());
+				redoItem.setEnabled(history.canRedo());
+			}
+
+			@Override
+			public void menuDeselected(MenuEvent e) {
+				undoItem.setEnabled(true);
+				redoItem.setEnabled(true);
+			}
+
+			@Override
+			public void menuCanceled(MenuEvent e) {
+				menuDeselected(e);
 			}
+		});
+		menuBar.add(editMenu);
+		JMenu assistantMenu = new JMenu("Assistant");
+		JMenuItem fillItem = new JMenuItem("Chercher un remplissage de la grille");
+		fillItem.addActionListener(e -> fillGrid());
+		assistantMenu.add(fillItem);
+		menuBar.add(assistantMenu);
+		setJMenuBar(menuBar);
+	}
+
+	/**
+	 * Opens a saved grid in a new window, which replaces this one. The file is read in the background.
+	 */
+	private void openGrid() {
+		Path file = chooseFile(false);
+		if (file == null) {
+			return;
 		}
+		CompletableFuture.supplyAsync(() -> {
+			try {
+				return GrilleJournal.open(file);
+			} catch (IOException e) {
+				throw new IllegalStateException(e.getMessage(), e);
+			}
+		}).whenComplete((opened, error) -> SwingUtilities.invokeLater(() -> {
+			if (error != null) {
+				showFileError("Impossible d'ouvrir la grille", error);
+				return;
+			}
+			new Start(opened);
+			if (journal != null) {
+				CompletableFuture.runAsync(journal::close);
+			}
+			dispose();
+		}));
 	}
 
 	/**
-	 * A MouseAdapter to handle mouse events on the crossword puzzle grid panels.
+	 * Saves the grid: the edits are already recorded in its journal as they are made, so this only writes a new
+	 * snapshot, in the background. A grid never saved asks for its file first.
 	 */
-	private class PanelMouseListener extends MouseAdapter {
-		private final int x;
-		private final int y;
+	private void saveGrid() {
+		if (journal == null) {
+			saveGridAs();
+			return;
+		}
+		journal.save().whenComplete((saved, error) -> {
+			if (error != null) {
+				SwingUtilities.invokeLater(() -> showFileError("Impossible d'enregistrer la grille", error));
+			}
+		});
+	}
 
-		public PanelMouseListener(int x, int y) {
-			this.x = x;
-			this.y = y;
+	/**
+	 * Saves the grid to a new file, in the background; its next edits are recorded in the journal of that file.
+	 * The journal of the previous file is kept until the new one is created, and stays the journal of the grid if
+	 * the new file cannot be written.
+	 */
+	private void saveGridAs() {
+		if (switchingJournal) {
+			return;
+		}
+		Path file = chooseFile(true);
+		if (file == null) {
+			return;
+		}
+		switchingJournal = true;
+		CompletableFuture.supplyAsync(() -> {
+			try {
+				return GrilleJournal.create(file, model);
+			} catch (IOException e) {
+				throw new IllegalStateException(e.getMessage(), e);
+			}
+		}).whenComplete((created, error) -> SwingUtilities.invokeLater(() -> {
+			switchingJournal = false;
+			if (error != null) {
+				showFileError("Impossible d'enregistrer la grille", error);
+				return;
+			}
+			if (disposed) {
+				CompletableFuture.runAsync(created::close);
+				return;
+			}
+			GrilleJournal previous = journal;
+			journal = created;
+			created.addFailureListener(journalFailure);
+			setTitle(title(file));
+			if (previous != null) {
+				previous.removeFailureListener(journalFailure);
+				CompletableFuture.runAsync(previous::close);
+			}
+		}));
+	}
+
+	/**
+	 * Asks for a grid file.
+	 *
+	 * @param save true to choose the file to save to, false to choose the file to open.
+	 * @return The file, with the grid extension, null if the user cancelled.
+	 */
+	private Path chooseFile(boolean save) {
+		JFileChooser chooser = new JFileChooser();
+		chooser.setFileFilter(new FileNameExtensionFilter("Grilles de mots fléchés",
+				GrilleBinaire.EXTENSION.substring(1)));
+		int option = save ? chooser.showSaveDialog(this) : chooser.showOpenDialog(this);
+		if (option != JFileChooser.APPROVE_OPTION) {
+			return null;
+		}
+		File file = chooser.getSelectedFile();
+		if (save && !file.getName().endsWith(GrilleBinaire.EXTENSION)) {
+			file = new File(file.getParentFile(), file.getName() + GrilleBinaire.EXTENSION);
+		}
+		return file.toPath();
+	}
+
+	private void showFileError(String message, Throwable error) {
+		Throwable cause = error.getCause() != null ? error.getCause() : error;
+		JOptionPane.showMessageDialog(this, message + " : " + cause.getMessage(), "Erreur :/", JOptionPane.ERROR_MESSAGE);
+	}
+
+	/**
+	 * Closes the window, and releases what it holds outside of itself: its listener on the shared dictionary, the
+	 * heatmap and its thread, and the undo history. The journal is closed by the caller, which may need to wait
+	 * for it.
+	 */
+	@Override
+	public void dispose() {
+		if (!disposed) {
+			disposed = true;
+			f.getDictionary().removeListener(dictionaryListener);
+			if (heatmap != null) {
+				heatmap.close();
+				heatmap = null;
+			}
+			history.close();
 		}
+		super.dispose();
+	}
+
+	private static String title(Path file) {
+		return "Création de Mots fléchés - " + file.getFileName();
+	}
+
+	/**
+	 * Writes the last edits of the grid and closes its journal, before the application exits.
+	 */
+	private void closeJournal() {
+		if (journal != null) {
+			journal.close();
+			journal = null;
+		}
+	}
+
+	/**
+	 * Searches, in the background, for a fill of all the words of the grid consistent with the letters already
+	 * placed, then reports the result and offers to apply it. The search runs on a copy of the grid, so the grid
+	 * can still be edited meanwhile.
+	 */
+	private void fillGrid() {
+		waitForDictionary();
+		FillEngine fillEngine = new FillEngine(f.getDictionary().current());
+		GrilleVersion searched = GrilleVersion.of(model);
+		CompletableFuture.supplyAsync(() -> fillEngine.fill(searched.toModele(), FILL_BUDGET_MILLIS, 1, null))
+				.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+					if (error != null) {
+						Throwable cause = error.getCause() != null ? error.getCause() : error;
+						JOptionPane.showMessageDialog(this, "L'assistant a échoué : " + cause, "Assistant",
+								JOptionPane.ERROR_MESSAGE);
+					} else {
+						showFillResult(result, searched);
+					}
+				}));
+	}
+
+	/**
+	 * Reports the result of the fill assistant. A fill is only applied to the grid it was searched on: if the grid
+	 * was edited during the search, the fill is refused.
+	 *
+	 * @param result   The result of the search.
+	 * @param searched The state of the grid the search was run on.
+	 */
+	private void showFillResult(FillEngine.Result result, GrilleVersion searched) {
+		if (result.getStatus() == FillEngine.Status.SOLVED) {
+			if (!searched.matches(model)) {
+				JOptionPane.showMessageDialog(this, "Un remplissage a été trouvé, mais la grille a été modifiée "
+						+ "pendant la recherche. Relancez l'assistant.", "Assistant", JOptionPane.WARNING_MESSAGE);
+				return;
+			}
+			int option = JOptionPane.showConfirmDialog(this,
+					"Un remplissage a été trouvé en " + result.getElapsedMillis() + " ms. L'appliquer à la grille ?",
+					"Assistant", JOptionPane.YES_NO_OPTION);
+			if (option == JOptionPane.YES_OPTION) {
+				result.getBest().apply(model);
+			}
+		} else if (result.getStatus() == FillEngine.Status.TIMEOUT) {
+			int filled = result.getBest() == null ? 0 : result.getBest().filledCount();
+			JOptionPane.showMessageDialog(this, "Aucun remplissage trouvé en " + result.getElapsedMillis()
+					+ " ms (au mieux " + filled + " mots).", "Assistant", JOptionPane.WARNING_MESSAGE);
+		} else {
+			JOptionPane.showMessageDialog(this, "La grille ne peut pas être complétée avec ce dictionnaire.",
+					"Assistant", JOptionPane.ERROR_MESSAGE);
+		}
+	}
+
+	/**
+	 * Starts the heatmap of the grid on the current version of the dictionary, replacing the heatmap of the
+	 * previous version after a reload.
+	 */
+	private void startHeatmap() {
+		if (disposed) {
+			return; // The dictionary was loaded or reloaded after the window was closed
+		}
+		if (heatmap != null) {
+			heatmap.close();
+		}
+		heatmap = new SlotHeatmap(model, f.getDictionary().current());
+		heatmap.addListener(snapshot -> SwingUtilities.invokeLater(this::showHeatmap));
+		showHeatmap();
+	}
+
+	/**
+	 * Shows the latest counts of the heatmap: each letter cell tells how many words still fit the most
+	 * constrained slot going through it, and is highlighted when there is one or none left.
+	 */
+	private void showHeatmap() {
+		SlotHeatmap current = heatmap;
+		if (current != null) {
+			view.setHeatmap(current.getSnapshot());
+		}
+	}
+
+	/**
+	 * Waits until the dictionary, loaded in the background, is ready.
+	 * A modal progress dialog is shown meanwhile; it keeps the event thread responsive and closes itself
+	 * as soon as the dictionary is ready.
+	 */
+	private void waitForDictionary() {
+		if (f.whenReady().isDone()) {
+			return;
+		}
+		JProgressBar progressBar = new JProgressBar();
+		progressBar.setIndeterminate(true);
+		JDialog progressDialog = new JDialog(this, "Dictionnaire", true);
+		progressDialog.setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
+		progressDialog.setLayout(new BorderLayout());
+		progressDialog.add(new JLabel("Chargement du dictionnaire..."), BorderLayout.NORTH);
+		progressDialog.add(progressBar, BorderLayout.CENTER);
+		progressDialog.pack();
+		progressDialog.setLocationRelativeTo(this);
+		f.whenReady().whenComplete((engine, error) -> SwingUtilities.invokeLater(progressDialog::dispose));
+		progressDialog.setVisible(true);
+	}
+
+	/**
+	 * A MouseAdapter to handle mouse events on the crossword puzzle grid: the clicked cell is found from the
+	 * position of the click.
+	 */
+	private class GridMouseListener extends MouseAdapter {
+		private int x;
+		private int y;
 
 		/**
 		 * Prompts the user to select a direction for adding a word and returns the chosen direction.
-		 * The size of the word is also calculated based on the selected direction.
+		 * The size of the word is also calculated based on the selected direction: the cells up to the edge of
+		 * the grid or to the next definition cell.
 		 *
 		 * @return The chosen direction as a String (DOWN, RIGHT, DOWNRIGHT, RIGHTDOWN)
 		 */
 		public String direction() {
-			String[] optionsToChoose = {"BAS", "DROITE", "BAS-DROITE", "DROITE-BAS"};
-			int right = y;
-			int down = x;
-			size = 0;
+			String[] optionsToChoose = Direction.labels();
 			String getDir = (String) JOptionPane.showInputDialog(
 					null,
 					"Dans quelle direction le mot doit-il être affiché ?",
@@ -135,30 +474,8 @@ public class Start extends JFrame {
 					null,
 					optionsToChoose,
 					optionsToChoose[0]);
-			if (Objects.equals(getDir, optionsToChoose[0])) {
-				while (down < rows - 1) {
-					size++;
-					down++;
-				}
-			}
-			if (Objects.equals(getDir, optionsToChoose[2])) {
-				while (right < rows) {
-					size++;
-					right++;
-				}
-			}
-			if (Objects.equals(getDir, optionsToChoose[1])) {
-				while (right < columns - 1) {
-					size++;
-					right++;
-				}
-			}
-			if (Objects.equals(getDir, optionsToChoose[3])) {
-				while (down < columns) {
-					size++;
-					down++;
-				}
-			}
+			Direction direction = Direction.fromLabel(getDir);
+			size = direction == null ? 0 : model.slotLength(x, y, direction);
 			return getDir;
 		}
 
@@ -180,159 +497,85 @@ public class Start extends JFrame {
 
 			if (Objects.equals(definitionType, optionsToChoose[0])) {
 				// Simple definition
-				// Ask for the definition and display it on the grid panel
+				// Ask for the definition, the view displays it from the grid model
 				String definition = JOptionPane.showInputDialog("Saississez la définition");
-				JLabel def = new JLabel(definition);
-				JPanel mainPanel = new JPanel();
-				mainPanel.setLayout(new BoxLayout(mainPanel, BoxLayout.Y_AXIS));
-				JPanel defPanel = new JPanel();
-				defPanel.setBackground(Color.YELLOW);
-				defPanel.add(def);
-				mainPanel.add(defPanel);
-
-				gridPanels[x][y].removeAll();
-				gridPanels[x][y].setLayout(new BorderLayout());
-				gridPanels[x][y].add(mainPanel);
-				gridPanels[x][y].setEnabled(false); // Make the panel non-clickable
-
+				model.setDefinition(x, y, 0, definition, null);
 			} else if (Objects.equals(definitionType, optionsToChoose[1])) {
 				// Double definition
 				String definition1 = JOptionPane.showInputDialog("Saisissez la première définition");
 				String definition2 = JOptionPane.showInputDialog("Saisissez la deuxième définition");
-				JLabel def1 = new JLabel(definition1);
-				JLabel def2 = new JLabel(definition2);
-
-				JPanel mainPanel = new JPanel();
-				mainPanel.setLayout(new BoxLayout(mainPanel, BoxLayout.Y_AXIS));
-
-				JPanel topPanel = new JPanel();
-				topPanel.setPreferredSize(new Dimension(CELL_SIZE, CELL_SIZE / 2));
-				topPanel.setBackground(Color.YELLOW);
-				topPanel.setBorder(BorderFactory.createLineBorder(Color.BLACK));
-				topPanel.add(def1);
-
-				JPanel botPanel = new JPanel();
-				botPanel.setPreferredSize(new Dimension(CELL_SIZE, CELL_SIZE / 2));
-				botPanel.setBackground(Color.YELLOW);
-				botPanel.setBorder(BorderFactory.createLineBorder(Color.BLACK));
-				botPanel.add(def2);
-
-				gridPanels[x][y].removeAll();
-
-				if (Objects.equals(direction(), "BAS") || Objects.equals(direction(), "BAS-DROITE")) {
-					// Swap the order of topPanel and botPanel for "BAS" or "BAS-DROITE" direction
-					mainPanel.add(botPanel); // Add botPanel first
-					mainPanel.add(topPanel); // Add topPanel next
-				} else {
-					mainPanel.add(topPanel); // Add topPanel first
-					mainPanel.add(botPanel); // Add botPanel next
-				}
-
-				gridPanels[x][y].setLayout(new BorderLayout()); // Use BorderLayout to ensure proper placement
-				gridPanels[x][y].add(mainPanel, BorderLayout.CENTER);
-				gridPanels[x][y].setEnabled(false);
+				model.batch(() -> {
+					model.setDefinition(x, y, 0, definition1, null);
+					model.setDefinition(x, y, 1, definition2, null);
+				});
 			}
 			return definitionType;
 		}
 
 		/**
 		 * Adds a word to the crossword puzzle grid based on user input for starting letter and direction.
-		 * The word is retrieved from a file using the "Fichier" class.
+		 * The candidate words are looked up in the dictionary through the "FileUtil" class, and the chosen word
+		 * is written in the grid model, which refreshes the grid. The time of the search, of the ranking and of
+		 * the update of the grid is recorded in the "ui.displayWord" metric, without the time spent in the dialogs.
+		 *
+		 * @param which 0 for the word of the first definition of the cell, 1 for the second one.
 		 */
-		public void displayWord() {
+		public void displayWord(int which) {
 			String input = JOptionPane.showInputDialog("Entrez une lettre :");
 			String direction = direction();
-			f.printWordsStartingWith(input, size, x, y, direction, rows, columns, gridPanels, letter);
+			waitForDictionary();
+			long start = System.nanoTime();
+			QueryResult result = f.printWordsStartingWith(input, size, x, y, direction, model);
 
 			// Update the list of words in the custom dialog box
-			DefaultComboBoxModel<String> comboBoxModel = new DefaultComboBoxModel<>(f.words.toArray(new String[0]));
-			customDialog.comboBox.setModel(comboBoxModel);
+			if (result == null) {
+				return; // No direction chosen
+			}
+			// The words leaving the most room to the crossing slots come first
+			Direction dir = Direction.fromLabel(direction);
+			customDialog.setCandidates(result, new CrossingRanker(f.getDictionary().current()).rank(model, x, y, dir, result));
+			long searchNanos = System.nanoTime() - start;
 
 			customDialog.setVisible(true);
 			String selectedValue = customDialog.getSelectedWord();
-			char[] lettres = selectedValue.toCharArray();
-			int down = x + 1;
-			int right = y + 1;
-			int downright = y;
-			int rightdown = x;
-			Font enlargedFont = new Font(letter[down][y].getFont().getName(), Font.BOLD, 20);
-
-			boolean isFirstLetter = true; // Flag to keep track of the first letter
-
-			if (direction.equals("BAS")) {
-				for (char c : lettres) {
-					if (isFirstLetter) {
-						JLabel arrowLabel = new JLabel("\u2193"); // Unicode for DOWN ARROW symbol
-						arrowLabel.setFont(arrowFont);
-						gridPanels[down][y].add(arrowLabel,letter[down][y]);
-						isFirstLetter = false; // Set the flag to false after adding the arrow
-					}
-
-					letter[down][y].setText(String.valueOf(c));
-					letter[down][y].setFont(enlargedFont); // Set the enlarged font
-					gridPanels[down][y].add(letter[down][y]);
-					down++;
-				}
-			}
-
-			if (direction.equals("BAS-DROITE")) {
-				for (char c : lettres) {
-					if (isFirstLetter) {
-						JLabel arrowLabel = new JLabel("\u21b3"); // Unicode for DOWNRIGHT ARROW symbol
-						arrowLabel.setFont(arrowFont);
-						gridPanels[down][downright].add(arrowLabel,letter[down][downright]);
-						isFirstLetter = false; // Set the flag to false after adding the arrow
-					}
-
-					letter[down][downright].setText(String.valueOf(c));
-					letter[down][downright].setFont(enlargedFont); // Set the enlarged font
-					gridPanels[down][downright].add(letter[down][downright]);
-					downright++;
-				}
-			}
-
-			if (direction.equals("DROITE")) {
-				for (char c : lettres) {
-					if (isFirstLetter) {
-						JLabel arrowLabel = new JLabel("\u2192"); // Unicode for RIGHT ARROW symbol
-						arrowLabel.setFont(arrowFont);
-						gridPanels[x][right].add(arrowLabel,letter[x][right]);
-						isFirstLetter = false; // Set the flag to false after adding the arrow
-					}
-
-					letter[x][right].setText(String.valueOf(c));
-					letter[x][right].setFont(enlargedFont); // Set the enlarged font
-					gridPanels[x][right].add(letter[x][right]);
-					right++;
-				}
-			}
-
-			if (direction.equals("DROITE-BAS")) {
-				for (char c : lettres) {
-					if (isFirstLetter) {
-						JLabel arrowLabel = new JLabel("\u21b4"); // Unicode for RIGHTDOWN ARROW symbol
-						arrowLabel.setFont(arrowFont);
-						gridPanels[rightdown][right].add(arrowLabel,letter[rightdown][right]);
-						isFirstLetter = false; // Set the flag to false after adding the arrow
-					}
-
-					letter[rightdown][right].setText(String.valueOf(c));
-					letter[rightdown][right].setVerticalAlignment(SwingConstants.CENTER); // Center the letter vertically
-					letter[rightdown][right].setFont(enlargedFont); // Set the enlarged font
-					gridPanels[rightdown][right].add(letter[rightdown][right]);
-					rightdown++;
-				}
+			if (selectedValue == null || dir == null) {
+				DISPLAY_WORD_TIME.record(searchNanos);
+				return;
 			}
+			start = System.nanoTime();
+			model.batch(() -> {
+				model.setDefinition(x, y, which, model.getDefinition(x, y, which), dir);
+				model.placeWord(x, y, dir, WordFolding.fold(selectedValue));
+			});
+			DISPLAY_WORD_TIME.record(searchNanos + System.nanoTime() - start);
 		}
 
+		/**
+		 * Handles a click on a letter cell.
+		 */
 		@Override
 		public void mouseClicked(MouseEvent e) {
+			editCell(e);
+		}
+
+		/**
+		 * Asks for the definition(s) of the clicked cell, then for their words.
+		 *
+		 * @param e The click.
+		 */
+		private void editCell(MouseEvent e) {
+			int[] cell = view.cellAt(e.getPoint());
+			if (cell == null || model.isDefinition(cell[0], cell[1])) {
+				return; // Outside the grid, or a definition cell, which is not editable
+			}
+			x = cell[0];
+			y = cell[1];
 			String def = definition();
 			if (Objects.equals(def, "Définition Double")) {
-				displayWord();
-				displayWord();
+				displayWord(0);
+				displayWord(1);
 			} else {
-				displayWord();
+				displayWord(0);
 			}
 		}
 	}
@@ -343,6 +586,7 @@ public class Start extends JFrame {
 	 * @param args The command-line arguments (not used).
 	 */
 	public static void main(String[] args) {
+		Metrics.install();
 		SwingUtilities.invokeLater(Start::new);
 	}
 }
\ No newline at end of file
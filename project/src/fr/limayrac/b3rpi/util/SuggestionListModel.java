@@ -0,0 +1,157 @@
+/**
+ * "SuggestionListModel" class is a list model reading the suggestions of an autocomplete session on demand.
+ *
+ * The model holds no copy of the candidate words: a row is a candidate key of the session, and its display text
+ * is only built when the list asks for it, that is for the visible rows. Texts are kept by pages of consecutive
+ * rows, the few pages read last being cached, so opening or scrolling the list costs time and memory in the
+ * number of visible rows, whatever the number of candidates.
+ *
+ * The rows follow the dictionary order of the session, or a ranking of the candidates (see "CrossingRanker"):
+ * the typed prefix then keeps the ranked candidates whose key is in the range of the session.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import javax.swing.AbstractListModel;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A lazy list model over the candidates of an autocomplete session.
+ */
+public class SuggestionListModel extends AbstractListModel<String> {
+
+	/**
+	 * Number of rows of a page, and number of pages kept.
+	 */
+	private static final int PAGE_SIZE = 64;
+	private static final int CACHED_PAGES = 8;
+
+	private final Dictionary dictionary;
+	private final AutocompleteSession session;
+	private final Map<Integer, String[]> pages = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, String[]> eldest) {
+			return size() > CACHED_PAGES;
+		}
+	};
+	private final int[] ranked;
+	private int[] rows;
+	private int size;
+
+	/**
+	 * Constructor of the SuggestionListModel class, in dictionary order.
+	 *
+	 * @param dictionary The dictionary of the session.
+	 * @param session    The session giving the candidates.
+	 */
+	public SuggestionListModel(Dictionary dictionary, AutocompleteSession session) {
+		this(dictionary, session, null);
+	}
+
+	/**
+	 * Constructor of the SuggestionListModel class, in the order of a ranking.
+	 *
+	 * @param dictionary The dictionary of the session.
+	 * @param session    The session giving the candidates, with no prefix typed yet.
+	 * @param ranked     The key identifiers of the candidates of the session, best first; null for the dictionary
+	 *                   order.
+	 */
+	public SuggestionListModel(Dictionary dictionary, AutocompleteSession session, int[] ranked) {
+		this.dictionary = dictionary;
+		this.session = session;
+		this.ranked = ranked;
+		this.rows = ranked;
+		this.size = session.size();
+	}
+
+	/**
+	 * Narrows the candidates to the ones starting with the given text, and tells the list.
+	 *
+	 * @param prefix The typed prefix.
+	 */
+	public void setPrefix(String prefix) {
+		session.setPrefix(prefix);
+		pages.clear();
+		int previous = size;
+		size = session.size();
+		if (ranked != null) {
+			rows = filter();
+		}
+		if (size < previous) {
+			fireIntervalRemoved(this, size, previous - 1);
+		}
+		if (size > 0) {
+			fireContentsChanged(this, 0, Math.min(size, previous) - 1);
+		}
+		if (size > previous) {
+			fireIntervalAdded(this, previous, size - 1);
+		}
+	}
+
+	/**
+	 * Keeps the ranked candidates having the prefix of the session: since the candidates of the session are sorted,
+	 * their keys are the ones between its first and its last candidate.
+	 */
+	private int[] filter() {
+		int[] filtered = new int[size];
+		if (size > 0) {
+			int first = session.keyAt(0);
+			int last = session.keyAt(size - 1);
+			int count = 0;
+			for (int key : ranked) {
+				if (key >= first && key <= last) {
+					filtered[count++] = key;
+				}
+			}
+		}
+		return filtered;
+	}
+
+	@Override
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns the text of a row: the display forms of its key, separated by slashes.
+	 */
+	@Override
+	public String getElementAt(int index) {
+		int page = index / PAGE_SIZE;
+		String[] texts = pages.get(page);
+		if (texts == null) {
+			texts = new String[Math.min(PAGE_SIZE, size - page * PAGE_SIZE)];
+			List<String> forms = new ArrayList<>(2);
+			for (int i = 0; i < texts.length; i++) {
+				forms.clear();
+				dictionary.addDisplayForms(keyAt(page * PAGE_SIZE + i), forms);
+				texts[i] = String.join(" / ", forms);
+			}
+			pages.put(page, texts);
+		}
+		return texts[index - page * PAGE_SIZE];
+	}
+
+	/**
+	 * Returns the word of a row: the first display form of its key.
+	 *
+	 * @param index The row.
+	 * @return The word.
+	 */
+	public String wordAt(int index) {
+		List<String> forms = new ArrayList<>(2);
+		dictionary.addDisplayForms(keyAt(index), forms);
+		return forms.get(0);
+	}
+
+	private int keyAt(int index) {
+		return rows == null ? session.keyAt(index) : rows[index];
+	}
+}
@@ -0,0 +1,66 @@
+package fr.limayrac.b3rpi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionListModelTest {
+
+    @Test
+    void readsRowsOnDemand() {
+        List<String> words = IntStream.range(0, 1000)
+                .mapToObj(i -> "mot" + (char) ('a' + i / 26 % 26) + (char) ('a' + i % 26))
+                .collect(Collectors.toList());
+        words.add("Été");
+        words.add("ete");
+        Dictionary dictionary = Dictionary.of(words);
+        SuggestionListModel model = new SuggestionListModel(dictionary, new AutocompleteSession(dictionary));
+        assertEquals(677, model.getSize());
+        assertEquals("ete / Été", model.getElementAt(0));
+        assertEquals("ete", model.wordAt(0));
+        assertEquals("motzz", model.getElementAt(676));
+
+        List<String> events = new ArrayList<>();
+        model.addListDataListener(new javax.swing.event.ListDataListener() {
+            public void intervalAdded(javax.swing.event.ListDataEvent e) {
+                events.add("+" + e.getIndex0() + "-" + e.getIndex1());
+            }
+
+            public void intervalRemoved(javax.swing.event.ListDataEvent e) {
+                events.add("-" + e.getIndex0() + "-" + e.getIndex1());
+            }
+
+            public void contentsChanged(javax.swing.event.ListDataEvent e) {
+                events.add("~" + e.getIndex0() + "-" + e.getIndex1());
+            }
+        });
+        model.setPrefix("motb");
+        assertEquals(26, model.getSize());
+        assertEquals("motba", model.getElementAt(0));
+        assertEquals(List.of("-26-676", "~0-25"), events);
+    }
+
+    @Test
+    void followsTheRanking() {
+        Dictionary dictionary = Dictionary.of(List.of("bac", "bal", "bar", "car", "cor"));
+        QueryResult result = new QueryEngine(dictionary).query(WordPattern.compile("", 3, 3));
+        int[] ranked = {result.idAt(4), result.idAt(1), result.idAt(3), result.idAt(0), result.idAt(2)};
+        SuggestionListModel model = new SuggestionListModel(dictionary, new AutocompleteSession(dictionary, result.ids()), ranked);
+        assertEquals(5, model.getSize());
+        assertEquals("cor", model.getElementAt(0));
+        assertEquals("bal", model.wordAt(1));
+
+        model.setPrefix("ba");
+        assertEquals(3, model.getSize());
+        assertEquals("bal", model.getElementAt(0));
+        assertEquals("bac", model.getElementAt(1));
+        assertEquals("bar", model.getElementAt(2));
+        model.setPrefix("");
+        assertEquals("car", model.getElementAt(2));
+    }
+}
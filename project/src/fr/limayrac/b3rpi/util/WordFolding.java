@@ -0,0 +1,76 @@
+/**
+ * "WordFolding" class computes the search key of a word: accents removed and letters upper-cased.
+ *
+ * Crossword grids are written in unaccented capitals, so "é", "è" and "ê" typed or placed in the grid all stand for
+ * "E". The dictionary folds every entry once, when it is loaded (NFD decomposition, combining marks removed, then
+ * upper case; hyphens, apostrophes and other non-letters are dropped as they do not take a cell), and queries
+ * compare folded letters only. Single letters are folded through a precomputed table, with no allocation.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Folding of words and letters into search keys.
+ */
+public final class WordFolding {
+
+	/**
+	 * Folded value of every char of the Latin-1 and Latin Extended-A blocks.
+	 */
+	private static final char[] TABLE = new char[0x180];
+
+	static {
+		for (char c = 0; c < TABLE.length; c++) {
+			String folded = foldSlowly(String.valueOf(c));
+			TABLE[c] = folded.isEmpty() ? c : folded.charAt(0);
+		}
+	}
+
+	private WordFolding() {
+	}
+
+	/**
+	 * Folds a word into its search key.
+	 *
+	 * @param word The word as it appears in the dictionary, for example "Abaissé" or "porte-clé".
+	 * @return The search key, for example "ABAISSE" or "PORTECLE".
+	 */
+	public static String fold(String word) {
+		boolean ascii = true;
+		for (int i = 0; i < word.length() && ascii; i++) {
+			char c = word.charAt(i);
+			ascii = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
+		}
+		return ascii ? word.toUpperCase(Locale.ROOT) : foldSlowly(word);
+	}
+
+	/**
+	 * Folds a single letter, for example 'é' into 'E'.
+	 *
+	 * @param c The letter.
+	 * @return The folded letter.
+	 */
+	public static char fold(char c) {
+		return c < TABLE.length ? TABLE[c] : Character.toUpperCase(c);
+	}
+
+	private static String foldSlowly(String word) {
+		String decomposed = Normalizer.normalize(word, Normalizer.Form.NFD)
+				.replace("œ", "oe").replace("Œ", "OE").replace("æ", "ae").replace("Æ", "AE");
+		StringBuilder key = new StringBuilder(decomposed.length());
+		for (int i = 0; i < decomposed.length(); i++) {
+			char c = decomposed.charAt(i);
+			if (Character.isLetterOrDigit(c)) {
+				key.append(c);
+			}
+		}
+		return key.toString().toUpperCase(Locale.ROOT);
+	}
+}
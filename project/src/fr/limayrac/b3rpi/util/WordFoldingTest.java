@@ -0,0 +1,25 @@
+package fr.limayrac.b3rpi.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordFoldingTest {
+
+    @Test
+    void foldWord() {
+        assertEquals("ABAISSE", WordFolding.fold("abaissé"));
+        assertEquals("AARON", WordFolding.fold("Aaron"));
+        assertEquals("PORTECLE", WordFolding.fold("porte-clé"));
+        assertEquals("OEUVRE", WordFolding.fold("œuvre"));
+        assertEquals("APERCU", WordFolding.fold("aperçu"));
+    }
+
+    @Test
+    void foldLetter() {
+        assertEquals('E', WordFolding.fold('é'));
+        assertEquals('E', WordFolding.fold('ê'));
+        assertEquals('E', WordFolding.fold('e'));
+        assertEquals('C', WordFolding.fold('ç'));
+    }
+}
@@ -0,0 +1,472 @@
+/**
+ * "WordIndex" class is an inverted index over the word list, keyed by (word length, position, letter).
+ *
+ * Each key maps to a sorted posting list of word identifiers (the index of the word in the list the index
+ * was built from). A query such as "7 letters, A at position 0, R at position 3" is answered by intersecting
+ * a few posting lists instead of rescanning the whole dictionary.
+ *
+ * The postings are stored in a single flat int array, the directory in a sorted long array, so the index
+ * costs a handful of objects whatever the size of the dictionary. As for "Dawg", the arrays are accessed
+ * through NIO buffers so that a compiled dictionary file can be read in place.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * An immutable (length, position, letter) inverted index over a list of words.
+ */
+public class WordIndex {
+
+	/**
+	 * Number of identifiers read from the posting lists, to compare with the number of words returned.
+	 */
+	private static final Metrics.Counter SCANNED = Metrics.counter("index.scanned");
+
+	/**
+	 * Sorted directory keys, see {@link #key(int, int, char)}.
+	 */
+	private final LongBuffer keys;
+
+	/**
+	 * Start offset in {@link #postings} of each key; the last entry is the total size.
+	 */
+	private final IntBuffer offsets;
+
+	/**
+	 * All posting lists, concatenated in key order. Each list is sorted by word identifier.
+	 */
+	private final IntBuffer postings;
+
+	/**
+	 * Word identifiers grouped by length: words of length l are in lengthIds[lengthOffsets[l] .. lengthOffsets[l + 1]).
+	 */
+	private final IntBuffer lengthOffsets;
+	private final IntBuffer lengthIds;
+
+	/**
+	 * Builds the index over the given words. The identifier of a word is its index in the list.
+	 *
+	 * @param words The words to index.
+	 */
+	public WordIndex(List<String> words) {
+		Map<Long, IntList> lists = new HashMap<>();
+		int maxLength = 0;
+		for (String word : words) {
+			maxLength = Math.max(maxLength, word.length());
+		}
+		int[] lengthCounts = new int[maxLength + 2];
+		for (int id = 0; id < words.size(); id++) {
+			String word = words.get(id);
+			int length = word.length();
+			lengthCounts[length + 1]++;
+			for (int position = 0; position < length; position++) {
+				lists.computeIfAbsent(key(length, position, word.charAt(position)), k -> new IntList()).add(id);
+			}
+		}
+
+		long[] keys = new long[lists.size()];
+		int i = 0;
+		for (Long key : lists.keySet()) {
+			keys[i++] = key;
+		}
+		Arrays.sort(keys);
+		int[] offsets = new int[keys.length + 1];
+		for (i = 0; i < keys.length; i++) {
+			offsets[i + 1] = offsets[i] + lists.get(keys[i]).size;
+		}
+		int[] postings = new int[offsets[keys.length]];
+		for (i = 0; i < keys.length; i++) {
+			IntList list = lists.get(keys[i]);
+			System.arraycopy(list.values, 0, postings, offsets[i], list.size);
+		}
+
+		int[] lengthOffsets = new int[maxLength + 2];
+		for (int l = 1; l < lengthOffsets.length; l++) {
+			lengthOffsets[l] = lengthOffsets[l - 1] + lengthCounts[l];
+		}
+		int[] lengthIds = new int[words.size()];
+		int[] next = Arrays.copyOf(lengthOffsets, lengthOffsets.length);
+		for (int id = 0; id < words.size(); id++) {
+			lengthIds[next[words.get(id).length()]++] = id;
+		}
+		this.keys = LongBuffer.wrap(keys);
+		this.offsets = IntBuffer.wrap(offsets);
+		this.postings = IntBuffer.wrap(postings);
+		this.lengthOffsets = IntBuffer.wrap(lengthOffsets);
+		this.lengthIds = IntBuffer.wrap(lengthIds);
+	}
+
+	/**
+	 * Creates an index reading its arrays in place from the given buffers.
+	 */
+	private WordIndex(LongBuffer keys, IntBuffer offsets, IntBuffer postings, IntBuffer lengthOffsets, IntBuffer lengthIds) {
+		this.keys = keys;
+		this.offsets = offsets;
+		this.postings = postings;
+		this.lengthOffsets = lengthOffsets;
+		this.lengthIds = lengthIds;
+	}
+
+	/**
+	 * Reads an index written by {@link #write(DataOutputStream)} in place from the buffer, without copying it.
+	 * The buffer position is moved past the index.
+	 *
+	 * @param buffer The buffer, typically a memory-mapped dictionary file.
+	 * @return The index.
+	 * @throws IOException If the arrays do not fit in the rest of the buffer.
+	 */
+	static WordIndex map(ByteBuffer buffer) throws IOException {
+		int keyCount = DictionaryFile.count(buffer);
+		int postingCount = DictionaryFile.count(buffer);
+		int lengthCount = DictionaryFile.count(buffer);
+		int wordCount = DictionaryFile.count(buffer);
+		LongBuffer keys = DictionaryFile.longs(buffer, keyCount);
+		IntBuffer offsets = DictionaryFile.ints(buffer, keyCount + 1);
+		IntBuffer postings = DictionaryFile.ints(buffer, postingCount);
+		IntBuffer lengthOffsets = DictionaryFile.ints(buffer, lengthCount);
+		IntBuffer lengthIds = DictionaryFile.ints(buffer, wordCount);
+		return new WordIndex(keys, offsets, postings, lengthOffsets, lengthIds);
+	}
+
+	/**
+	 * Writes the arrays of the index, in the layout read by {@link #map(ByteBuffer)}.
+	 *
+	 * @param out The output stream.
+	 * @throws IOException If the index cannot be written.
+	 */
+	void write(DataOutputStream out) throws IOException {
+		out.writeInt(keys.limit());
+		out.writeInt(postings.limit());
+		out.writeInt(lengthOffsets.limit());
+		out.writeInt(lengthIds.limit());
+		DictionaryFile.write(out, keys);
+		DictionaryFile.write(out, offsets);
+		DictionaryFile.write(out, postings);
+		DictionaryFile.write(out, lengthOffsets);
+		DictionaryFile.write(out, lengthIds);
+	}
+
+	/**
+	 * Packs a (length, position, letter) triple into a directory key.
+	 */
+	private static long key(int length, int position, char letter) {
+		return ((long) length << 32) | ((long) position << 16) | letter;
+	}
+
+	/**
+	 * Returns the longest word length present in the index.
+	 *
+	 * @return The maximum word length, 0 if the index is empty.
+	 */
+	public int maxLength() {
+		return lengthOffsets.limit() - 2;
+	}
+
+	/**
+	 * Returns the number of words of the given length having the given letter at the given position.
+	 *
+	 * @param length   The word length.
+	 * @param position The position of the letter (0 based).
+	 * @param letter   The letter.
+	 * @return The size of the posting list, 0 if there is none.
+	 */
+	public int count(int length, int position, char letter) {
+		int slot = find(key(length, position, letter));
+		return slot < 0 ? 0 : size(slot);
+	}
+
+	/**
+	 * Returns the number of words of the given length.
+	 *
+	 * @param length The word length.
+	 * @return The number of words of that length.
+	 */
+	public int countOfLength(int length) {
+		if (length < 0 || length > maxLength()) {
+			return 0;
+		}
+		return lengthOffsets.get(length + 1) - lengthOffsets.get(length);
+	}
+
+	/**
+	 * Returns the identifiers of the words of the given length having, for each i, the letter letters[i]
+	 * at position positions[i]. Positions outside the word are not allowed.
+	 * The smallest posting list drives the intersection, the other lists are probed by binary search.
+	 *
+	 * @param length    The word length.
+	 * @param positions The constrained positions.
+	 * @param letters   The letter expected at each constrained position.
+	 * @param count     The number of constraints to use from the two arrays.
+	 * @return The sorted identifiers of the matching words.
+	 */
+	public int[] match(int length, int[] positions, char[] letters, int count) {
+		return match(length, positions, letters, count, 0, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Same as {@link #match(int, int[], char[], int)}, restricted to the identifiers in [from, to).
+	 * Since identifiers follow the dictionary order, a prefix translates into such a range.
+	 *
+	 * @param length    The word length.
+	 * @param positions The constrained positions.
+	 * @param letters   The letter expected at each constrained position.
+	 * @param count     The number of constraints to use from the two arrays.
+	 * @param from      The first identifier allowed.
+	 * @param to        The end (exclusive) of the allowed identifiers.
+	 * @return The sorted identifiers of the matching words.
+	 */
+	public int[] match(int length, int[] positions, char[] letters, int count, int from, int to) {
+		int[] slots = slots(length, positions, letters, count, from, to);
+		if (slots == null) {
+			return new int[0];
+		}
+		int[] result = new int[bound(length, slots, count, from, to)];
+		int found = scan(length, slots, count, from, to, result);
+		return found == result.length ? result : Arrays.copyOf(result, found);
+	}
+
+	/**
+	 * Counts the words matched by {@link #match(int, int[], char[], int, int, int)}, without building the list.
+	 *
+	 * @param length    The word length.
+	 * @param positions The constrained positions.
+	 * @param letters   The letter expected at each constrained position.
+	 * @param count     The number of constraints to use from the two arrays.
+	 * @param from      The first identifier allowed.
+	 * @param to        The end (exclusive) of the allowed identifiers.
+	 * @return The number of matching words.
+	 */
+	public int countMatches(int length, int[] positions, char[] letters, int count, int from, int to) {
+		int[] slots = slots(length, positions, letters, count, from, to);
+		return slots == null ? 0 : scan(length, slots, count, from, to, null);
+	}
+
+	/**
+	 * Iterates lazily over the words matched by {@link #match(int, int[], char[], int, int, int)}, in identifier
+	 * order: the driving list is read as the iterator advances, so stopping early costs nothing more.
+	 *
+	 * @param length    The word length.
+	 * @param positions The constrained positions; the array is not kept.
+	 * @param letters   The letter expected at each constrained position; the array is not kept.
+	 * @param count     The number of constraints to use from the two arrays.
+	 * @param from      The first identifier allowed.
+	 * @param to        The end (exclusive) of the allowed identifiers.
+	 * @return The iterator over the matching identifiers.
+	 */
+	public PrimitiveIterator.OfInt iterator(int length, int[] positions, char[] letters, int count, int from, int to) {
+		return new Matches(slots(length, positions, letters, count, from, to), length, count, from, to);
+	}
+
+	/**
+	 * Finds the directory slot of every constraint; the last entry is the constraint driving the scan,
+	 * the one with the smallest posting list.
+	 *
+	 * @return The slots, null if a constraint matches no word.
+	 */
+	private int[] slots(int length, int[] positions, char[] letters, int count, int from, int to) {
+		if (length < 0 || length > maxLength() || from >= to) {
+			return null;
+		}
+		int[] slots = new int[count + 1];
+		int driver = 0;
+		for (int i = 0; i < count; i++) {
+			slots[i] = find(key(length, positions[i], letters[i]));
+			if (slots[i] < 0) {
+				return null;
+			}
+			if (size(slots[i]) < size(slots[driver])) {
+				driver = i;
+			}
+		}
+		slots[count] = driver;
+		return slots;
+	}
+
+	/**
+	 * Returns an upper bound of the number of matches: the size of the driving list within [from, to).
+	 */
+	private int bound(int length, int[] slots, int count, int from, int to) {
+		if (count == 0) {
+			return lowerBound(lengthIds, lengthOffsets.get(length), lengthOffsets.get(length + 1), to)
+					- lowerBound(lengthIds, lengthOffsets.get(length), lengthOffsets.get(length + 1), from);
+		}
+		int driver = slots[slots.length - 1];
+		return lowerBound(postings, offsets.get(slots[driver]), offsets.get(slots[driver] + 1), to)
+				- lowerBound(postings, offsets.get(slots[driver]), offsets.get(slots[driver] + 1), from);
+	}
+
+	/**
+	 * Scans the driving list and probes the other lists by binary search.
+	 *
+	 * @param result The array receiving the matching identifiers, null to count them only.
+	 * @return The number of matches.
+	 */
+	private int scan(int length, int[] slots, int count, int from, int to, int[] result) {
+		if (count == 0) {
+			int start = lowerBound(lengthIds, lengthOffsets.get(length), lengthOffsets.get(length + 1), from);
+			int end = lowerBound(lengthIds, lengthOffsets.get(length), lengthOffsets.get(length + 1), to);
+			SCANNED.add(end - start);
+			if (result != null) {
+				lengthIds.get(start, result, 0, end - start);
+			}
+			return end - start;
+		}
+		int driver = slots[count];
+		int start = lowerBound(postings, offsets.get(slots[driver]), offsets.get(slots[driver] + 1), from);
+		int end = lowerBound(postings, offsets.get(slots[driver]), offsets.get(slots[driver] + 1), to);
+		SCANNED.add(end - start);
+		int found = 0;
+		for (int p = start; p < end; p++) {
+			int id = postings.get(p);
+			boolean matches = true;
+			for (int i = 0; i < count && matches; i++) {
+				if (i != driver) {
+					int at = lowerBound(postings, offsets.get(slots[i]), offsets.get(slots[i] + 1), id);
+					matches = at < offsets.get(slots[i] + 1) && postings.get(at) == id;
+				}
+			}
+			if (matches) {
+				if (result != null) {
+					result[found] = id;
+				}
+				found++;
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Returns the index of the first value greater than or equal to the given value in a sorted slice.
+	 */
+	private static int lowerBound(IntBuffer values, int from, int to, int value) {
+		int low = from;
+		int high = to;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (values.get(mid) < value) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the size of the posting list at the given directory slot.
+	 */
+	private int size(int slot) {
+		return offsets.get(slot + 1) - offsets.get(slot);
+	}
+
+	/**
+	 * Returns the directory slot of the given key, -1 if it is absent.
+	 */
+	private int find(long key) {
+		int low = 0;
+		int high = keys.limit() - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			long value = keys.get(mid);
+			if (value < key) {
+				low = mid + 1;
+			} else if (value > key) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * The lazy iterator of {@link #iterator(int, int[], char[], int, int, int)}: the next match is looked for
+	 * only when it is asked for.
+	 */
+	private final class Matches implements PrimitiveIterator.OfInt {
+		private final int[] slots;
+		private final int count;
+		private int position;
+		private final int end;
+		private int next = -1;
+
+		private Matches(int[] slots, int length, int count, int from, int to) {
+			this.slots = slots;
+			this.count = count;
+			if (slots == null) {
+				end = 0;
+			} else if (count == 0) {
+				position = lowerBound(lengthIds, lengthOffsets.get(length), lengthOffsets.get(length + 1), from);
+				end = lowerBound(lengthIds, lengthOffsets.get(length), lengthOffsets.get(length + 1), to);
+			} else {
+				int driver = slots[count];
+				position = lowerBound(postings, offsets.get(slots[driver]), offsets.get(slots[driver] + 1), from);
+				end = lowerBound(postings, offsets.get(slots[driver]), offsets.get(slots[driver] + 1), to);
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (next < 0 && position < end) {
+				SCANNED.increment();
+				if (count == 0) {
+					next = lengthIds.get(position++);
+					break;
+				}
+				int id = postings.get(position++);
+				boolean matches = true;
+				for (int i = 0; i < count && matches; i++) {
+					if (i != slots[count]) {
+						int at = lowerBound(postings, offsets.get(slots[i]), offsets.get(slots[i] + 1), id);
+						matches = at < offsets.get(slots[i] + 1) && postings.get(at) == id;
+					}
+				}
+				if (matches) {
+					next = id;
+				}
+			}
+			return next >= 0;
+		}
+
+		@Override
+		public int nextInt() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			int id = next;
+			next = -1;
+			return id;
+		}
+	}
+
+	/**
+	 * A minimal growable int array used while building the index.
+	 */
+	private static final class IntList {
+		private int[] values = new int[4];
+		private int size;
+
+		private void add(int value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package fr.limayrac.b3rpi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordIndexTest {
+
+    private final WordIndex index = new WordIndex(List.of("arbre", "abord", "aller", "autre", "bar", "arc"));
+
+    @Test
+    void match() {
+        assertArrayEquals(new int[]{0, 1, 3}, index.match(5, new int[]{0, 3}, new char[]{'a', 'r'}, 2));
+        assertArrayEquals(new int[]{4}, index.match(3, new int[]{1}, new char[]{'a'}, 1));
+        assertArrayEquals(new int[0], index.match(5, new int[]{0}, new char[]{'z'}, 1));
+        assertArrayEquals(new int[]{4, 5}, index.match(3, new int[0], new char[0], 0));
+    }
+
+    @Test
+    void count() {
+        assertEquals(4, index.count(5, 0, 'a'));
+        assertEquals(0, index.count(9, 0, 'a'));
+        assertEquals(2, index.countOfLength(3));
+        assertEquals(5, index.maxLength());
+        assertEquals(3, index.countMatches(5, new int[]{0, 3}, new char[]{'a', 'r'}, 2, 0, 6));
+        assertEquals(2, index.countMatches(5, new int[]{0, 3}, new char[]{'a', 'r'}, 2, 1, 6));
+        assertEquals(2, index.countMatches(3, new int[0], new char[0], 0, 0, 6));
+    }
+}
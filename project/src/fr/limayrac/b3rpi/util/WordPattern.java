@@ -0,0 +1,158 @@
+/**
+ * "WordPattern" class is a compiled dictionary query: a pattern such as "A??R???" plus length bounds.
+ *
+ * Each letter of the pattern fixes the letter at that position, each '?' (or '.') leaves it free.
+ * A fixed letter only applies to the words long enough to reach its position, so "A??R" with a length
+ * between 1 and 7 matches "AIR" as well as "ARBRE" and "ABORD".
+ *
+ * Letters are folded when the pattern is compiled ("é" or "e" stand for "E"), see "WordFolding".
+ *
+ * This covers the queries the dictionary must answer: n letters ("?????"), starting with a letter ("A",
+ * any length), n letters with the letter i at position p, and the letters i1..in at positions p1..pn.
+ *
+ * @version 1.0
+ * @since 2026-10-17
+ * @author ARZEL Mattéo
+ */
+
+package fr.limayrac.b3rpi.util;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * An immutable compiled pattern with length bounds.
+ */
+public final class WordPattern {
+
+	/**
+	 * The character standing for a free position.
+	 */
+	public static final char ANY = '?';
+
+	private final int[] positions;
+	private final char[] letters;
+	private final int minLength;
+	private final int maxLength;
+
+	private WordPattern(CharSequence pattern, int length, int minLength, int maxLength) {
+		this.minLength = Math.max(minLength, 1);
+		this.maxLength = maxLength;
+		int[] p = new int[length];
+		char[] l = new char[length];
+		int count = 0;
+		for (int i = 0; i < length; i++) {
+			char c = pattern.charAt(i);
+			if (c != ANY && c != '.') {
+				p[count] = i;
+				l[count++] = WordFolding.fold(c);
+			}
+		}
+		positions = Arrays.copyOf(p, count);
+		letters = Arrays.copyOf(l, count);
+	}
+
+	/**
+	 * Compiles a pattern matching only the words of exactly the pattern's length.
+	 *
+	 * @param pattern The pattern, for example "A??R???".
+	 * @return The compiled pattern.
+	 */
+	public static WordPattern compile(String pattern) {
+		return compile(pattern, pattern.length(), pattern.length());
+	}
+
+	/**
+	 * Compiles a pattern matching the words whose length is between the given bounds (inclusive).
+	 *
+	 * @param pattern   The pattern, for example "A??R".
+	 * @param minLength The minimum word length.
+	 * @param maxLength The maximum word length.
+	 * @return The compiled pattern.
+	 */
+	public static WordPattern compile(String pattern, int minLength, int maxLength) {
+		if (minLength > maxLength) {
+			throw new IllegalArgumentException("Bornes de longueur invalides : " + minLength + " > " + maxLength);
+		}
+		return new WordPattern(pattern, pattern.length(), minLength, maxLength);
+	}
+
+	/**
+	 * Compiles a pattern read from a buffer, for example a slot of the grid (see "ModeleGrille.readSlot").
+	 *
+	 * @param pattern   The buffer holding the pattern.
+	 * @param length    The length of the pattern in the buffer.
+	 * @param minLength The minimum word length.
+	 * @param maxLength The maximum word length.
+	 * @return The compiled pattern.
+	 */
+	public static WordPattern compile(char[] pattern, int length, int minLength, int maxLength) {
+		if (minLength > maxLength) {
+			throw new IllegalArgumentException("Bornes de longueur invalides : " + minLength + " > " + maxLength);
+		}
+		return new WordPattern(CharBuffer.wrap(pattern), length, minLength, maxLength);
+	}
+
+	/**
+	 * Returns the number of fixed letters.
+	 *
+	 * @return The number of constraints.
+	 */
+	public int constraintCount() {
+		return positions.length;
+	}
+
+	/**
+	 * Returns the position of the i-th fixed letter.
+	 *
+	 * @param i The constraint index.
+	 * @return The position (0 based).
+	 */
+	public int position(int i) {
+		return positions[i];
+	}
+
+	/**
+	 * Returns the i-th fixed letter, folded.
+	 *
+	 * @param i The constraint index.
+	 * @return The letter.
+	 */
+	public char letter(int i) {
+		return letters[i];
+	}
+
+	public int getMinLength() {
+		return minLength;
+	}
+
+	public int getMaxLength() {
+		return maxLength;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (!(o instanceof WordPattern)) {
+			return false;
+		}
+		WordPattern other = (WordPattern) o;
+		return minLength == other.minLength && maxLength == other.maxLength
+				&& Arrays.equals(positions, other.positions) && Arrays.equals(letters, other.letters);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * (31 * Arrays.hashCode(positions) + Arrays.hashCode(letters)) + 31 * minLength + maxLength;
+	}
+
+	@Override
+	public String toString() {
+		int length = positions.length == 0 ? 0 : positions[positions.length - 1] + 1;
+		char[] pattern = new char[length];
+		Arrays.fill(pattern, ANY);
+		for (int i = 0; i < positions.length; i++) {
+			pattern[positions[i]] = letters[i];
+		}
+		return new String(pattern) + " [" + minLength + ".." + maxLength + "]";
+	}
+}
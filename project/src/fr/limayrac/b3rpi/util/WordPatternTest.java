@@ -0,0 +1,19 @@
+package fr.limayrac.b3rpi.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordPatternTest {
+
+    @Test
+    void compile() {
+        WordPattern pattern = WordPattern.compile("A??R.??");
+        assertEquals(2, pattern.constraintCount());
+        assertEquals(3, pattern.position(1));
+        assertEquals('R', pattern.letter(1));
+        assertEquals(7, pattern.getMinLength());
+        assertEquals(pattern, WordPattern.compile("A??R???"));
+        assertThrows(IllegalArgumentException.class, () -> WordPattern.compile("A", 5, 2));
+    }
+}